@@ -26,6 +26,37 @@ function loadJSON(fname) {
   });
 }
 
+// converts the files of an authorship.json of any format version into the run-length-encoded form, in which
+// consecutive lines of a file with the same author are grouped into a single run
+function decodeAuthorship(authorship) {
+  if (!Array.isArray(authorship)) {
+    // format version 2 onwards is already run-length-encoded
+    return authorship.files;
+  }
+
+  // format version 1 stores every line with its own author
+  return authorship.map((file) => {
+    const authorRuns = [];
+    file.lines.forEach((line) => {
+      const author = line.author ? line.author.gitId : undefined;
+      const lastRun = authorRuns[authorRuns.length - 1];
+      if (lastRun && lastRun.author === author) {
+        lastRun.lineCount += 1;
+      } else {
+        authorRuns.push({ author, lineCount: 1 });
+      }
+    });
+
+    return {
+      path: file.path,
+      fileType: file.fileType,
+      authorRuns,
+      contents: file.lines.map((line) => line.content),
+      authorContributionMap: file.authorContributionMap,
+    };
+  });
+}
+
 window.api = {
   loadSummary() {
     window.REPOS = {};
@@ -94,7 +125,8 @@ window.api = {
   loadAuthorship(repoName) {
     const folderName = window.REPOS[repoName].outputFolderName;
     return loadJSON(`${REPORT_DIR}/${folderName}/authorship.json`)
-        .then((files) => {
+        .then((authorship) => {
+          const files = decodeAuthorship(authorship);
           window.REPOS[repoName].files = files;
           return files;
         });
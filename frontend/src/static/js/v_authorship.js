@@ -121,15 +121,16 @@ window.vAuthorship = {
       return false;
     },
 
-    splitSegments(lines) {
+    splitSegments(file) {
       // split into segments separated by authored
       let lastState;
       let lastId = -1;
       const segments = [];
       let blankLineCount = 0;
+      let lineCount = 0;
 
-      lines.forEach((line, lineCount) => {
-        const authored = (line.author && line.author.gitId === this.info.author);
+      file.authorRuns.forEach((run) => {
+        const authored = run.author === this.info.author;
 
         if (authored !== lastState || lastId === -1) {
           segments.push({
@@ -142,13 +143,16 @@ window.vAuthorship = {
           lastState = authored;
         }
 
-        const content = line.content || ' ';
-        segments[lastId].lines.push(content);
+        for (let i = 0; i < run.lineCount; i += 1) {
+          const lineContent = file.contents[lineCount];
+          segments[lastId].lines.push(lineContent || ' ');
 
-        segments[lastId].lineNumbers.push(lineCount + 1);
+          lineCount += 1;
+          segments[lastId].lineNumbers.push(lineCount);
 
-        if (line.content === '' && authored) {
-          blankLineCount += 1;
+          if (lineContent === '' && authored) {
+            blankLineCount += 1;
+          }
         }
       });
 
@@ -173,7 +177,7 @@ window.vAuthorship = {
           out.lineCount = lineCnt;
           out.fileType = file.fileType;
 
-          const segmentInfo = this.splitSegments(file.lines);
+          const segmentInfo = this.splitSegments(file);
           out.segments = segmentInfo.segments;
           totalBlankLineCount += segmentInfo.blankLineCount;
 
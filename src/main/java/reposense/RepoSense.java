@@ -6,10 +6,12 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import net.sourceforge.argparse4j.helper.HelpScreenException;
+import reposense.authorship.BlameCache;
 import reposense.model.AuthorConfiguration;
 import reposense.model.CliArguments;
 import reposense.model.ConfigCliArguments;
@@ -24,6 +26,7 @@ import reposense.parser.GroupConfigCsvParser;
 import reposense.parser.InvalidLocationException;
 import reposense.parser.ParseException;
 import reposense.parser.RepoConfigCsvParser;
+import reposense.report.CloneCache;
 import reposense.report.ReportGenerator;
 import reposense.system.LogsManager;
 import reposense.system.ReportServer;
@@ -38,6 +41,7 @@ public class RepoSense {
     private static final int SERVER_PORT_NUMBER = 9000;
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("E MMM d HH:mm:ss yyyy z");
     private static final String VERSION_UNSPECIFIED = "unspecified";
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
 
     /**
      * The entry point of the program.
@@ -68,7 +72,10 @@ public class RepoSense {
                     cliArguments.getOutputFilePath().toAbsolutePath().toString(),
                     formatter.format(ZonedDateTime.now(cliArguments.getZoneId())),
                     cliArguments.getSinceDate(), cliArguments.getUntilDate(),
-                    cliArguments.isSinceDateProvided(), cliArguments.isUntilDateProvided());
+                    cliArguments.isSinceDateProvided(), cliArguments.isUntilDateProvided(),
+                    cliArguments.getNumThreads(), cliArguments.getNumCloneThreads(),
+                    cliArguments.getNumAnalysisThreads(), getCloneCache(cliArguments), getBlameCache(cliArguments),
+                    cliArguments.isCompactJson());
             FileUtil.zipFoldersAndFiles(reportFoldersAndFiles, cliArguments.getOutputFilePath().toAbsolutePath(),
                     ".json");
 
@@ -131,6 +138,22 @@ public class RepoSense {
         return configs;
     }
 
+    /**
+     * Returns the {@code CloneCache} at the clone cache path of {@code cliArguments}, if one is provided.
+     */
+    private static Optional<CloneCache> getCloneCache(CliArguments cliArguments) {
+        return cliArguments.getCloneCachePath().map(path ->
+                new CloneCache(path.toAbsolutePath(), cliArguments.getCloneCacheLimit() * BYTES_PER_MEGABYTE));
+    }
+
+    /**
+     * Returns the {@code BlameCache} at the blame cache path of {@code cliArguments}, if one is provided.
+     */
+    private static Optional<BlameCache> getBlameCache(CliArguments cliArguments) {
+        return cliArguments.getBlameCachePath().map(path ->
+                new BlameCache(path.toAbsolutePath(), cliArguments.getBlameCacheLimit() * BYTES_PER_MEGABYTE));
+    }
+
     public static String getVersion() {
         String version = RepoSense.class.getPackage().getImplementationVersion();
 
@@ -0,0 +1,338 @@
+package reposense.authorship;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import reposense.RepoSense;
+import reposense.authorship.model.FileInfo;
+import reposense.authorship.model.FileResult;
+import reposense.authorship.model.LineStore;
+import reposense.git.GitBlame;
+import reposense.git.GitLog;
+import reposense.git.GitRevParse;
+import reposense.model.Author;
+import reposense.model.RepoConfiguration;
+import reposense.system.LogsManager;
+import reposense.util.FileUtil;
+import reposense.util.StringsUtil;
+
+/**
+ * Records the authorship analysis of each file of a repo as of the analyzed commit, keyed by the path of the file and
+ * the hash of its blob, so that the next analysis of the repo can reuse the results of the files whose contents and
+ * history are unchanged instead of blaming them again. The blob hash alone does not suffice, as the result of git
+ * blame depends on the history of the file, e.g. a file that is edited and then reverted has the same blob, but its
+ * reverted lines are attributed to the author of the revert. Hence the results of the files modified by any commit
+ * between the previously analyzed commit and the current one are not reused either.
+ *
+ * The manifest as a whole is only valid for the same analysis inputs, which are the commit the blame traversal is
+ * bounded by, the authors with their emails, aliases and ignore globs, the ignored commits and whether annotations
+ * overwrite authorship. Any change in them discards every recorded result. Each run only records the files it
+ * analyzed, hence results of deleted files do not accumulate.
+ */
+public class AuthorshipManifest {
+    public static final String MANIFEST_FILE_NAME = "authorship.manifest";
+
+    private static final String MESSAGE_ERROR_READING =
+            "Error reading authorship manifest %s, will analyze all files again.";
+    private static final String MESSAGE_ERROR_WRITING = "Error writing authorship manifest %s.";
+
+    private static final int FORMAT_VERSION = 3;
+    private static final int NO_AUTHOR_INDEX = -1;
+
+    private static final Logger logger = LogsManager.getLogger(AuthorshipManifest.class);
+
+    private final String inputsHash;
+    private final String untilCommitHash;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Entry> entries;
+
+    private AuthorshipManifest(String inputsHash, String untilCommitHash, Map<String, Entry> previousEntries) {
+        this.inputsHash = inputsHash;
+        this.untilCommitHash = untilCommitHash;
+        this.previousEntries = previousEntries;
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Loads the manifest at {@code manifestPath} recorded by a previous analysis of the repo in {@code config}
+     * with the git blame traversal bounded by {@code sinceCommitHash}, for the analysis of the files as of the
+     * {@code untilCommitHash} commit. Returns a manifest without any recorded results if there is no such file,
+     * it cannot be read, or it was recorded with different analysis inputs.
+     */
+    public static AuthorshipManifest load(Path manifestPath, RepoConfiguration config, String sinceCommitHash,
+            String untilCommitHash) {
+        String resolvedUntilCommitHash = untilCommitHash.isEmpty()
+                ? ""
+                : GitRevParse.getCommitHash(config.getRepoRoot(), untilCommitHash);
+        return load(manifestPath, config, sinceCommitHash, resolvedUntilCommitHash, previousUntilCommitHash ->
+                GitLog.getModifiedFilePaths(config.getRepoRoot(), previousUntilCommitHash, resolvedUntilCommitHash));
+    }
+
+    /**
+     * Loads the manifest at {@code manifestPath} in the same way as {@link #load(Path, RepoConfiguration, String,
+     * String)}, with {@code untilCommitHash} being a full commit hash and {@code getModifiedFilePaths} returning the
+     * paths of the files modified by the commits between the given previously analyzed commit and the
+     * {@code untilCommitHash} commit. The modified files are only looked up if the recorded results could be reused.
+     */
+    static AuthorshipManifest load(Path manifestPath, RepoConfiguration config, String sinceCommitHash,
+            String untilCommitHash, Function<String, Set<String>> getModifiedFilePaths) {
+        String inputsHash = getInputsHash(config, sinceCommitHash);
+        Map<String, Author> authorsByGitId = new HashMap<>();
+        authorsByGitId.put(Author.UNKNOWN_AUTHOR.getGitId(), Author.UNKNOWN_AUTHOR);
+        config.getAuthorList().forEach(author -> authorsByGitId.put(author.getGitId(), author));
+
+        Map<String, Entry> previousEntries;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(manifestPath))))) {
+            previousEntries = readEntries(in, inputsHash, untilCommitHash, getModifiedFilePaths, authorsByGitId);
+        } catch (NoSuchFileException nsfe) {
+            previousEntries = new HashMap<>();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_READING, manifestPath), e);
+            previousEntries = new HashMap<>();
+        }
+        return new AuthorshipManifest(inputsHash, untilCommitHash, previousEntries);
+    }
+
+    /**
+     * Returns the recorded analysis of the file in {@code fileInfo} if it was recorded for the same path and blob
+     * and the file has not been modified since, or an empty {@code Optional} if the file has to be analyzed again.
+     */
+    public Optional<Entry> get(FileInfo fileInfo) {
+        Entry entry = previousEntries.get(fileInfo.getPath());
+        if (entry == null || fileInfo.getBlobHash() == null || !entry.blobHash.equals(fileInfo.getBlobHash())
+                || (entry.hasFileResult() && entry.getLineCount() != fileInfo.getLineStore().size())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * Records the analysis of the file in {@code fileInfo}, whose {@code fileResult} is null if the file was not
+     * reported. Files not read from the object store are not recorded, as their contents cannot be identified.
+     */
+    public void put(FileInfo fileInfo, FileResult fileResult) {
+        if (fileInfo.getBlobHash() == null) {
+            return;
+        }
+
+        if (fileResult == null) {
+            entries.put(fileInfo.getPath(), new Entry(fileInfo.getBlobHash(), null, null));
+            return;
+        }
+
+        LineStore lines = fileInfo.getLineStore();
+        List<Author> runAuthors = new ArrayList<>();
+        List<Integer> runLengths = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            Author author = lines.getAuthor(i);
+            int lastRun = runAuthors.size() - 1;
+            if (lastRun >= 0 && Objects.equals(runAuthors.get(lastRun), author)) {
+                runLengths.set(lastRun, runLengths.get(lastRun) + 1);
+            } else {
+                runAuthors.add(author);
+                runLengths.add(1);
+            }
+        }
+        entries.put(fileInfo.getPath(), new Entry(fileInfo.getBlobHash(), runAuthors.toArray(new Author[0]),
+                runLengths.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Writes the analysis of the files recorded through {@code put} to {@code manifestPath}, replacing the
+     * previous manifest atomically.
+     */
+    public void save(Path manifestPath) {
+        try {
+            FileUtil.writeGzipFileAtomically(manifestPath, this::writeEntries);
+        } catch (IOException ioe) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_WRITING, manifestPath), ioe);
+        }
+    }
+
+    /**
+     * Writes the entries recorded in this run into {@code out}, after the analyzed commit. The git ids of the authors
+     * are written once, followed by each entry with its authorship as runs of consecutive lines of the same author.
+     */
+    private void writeEntries(DataOutputStream out) throws IOException {
+        Map<Author, Integer> authorIndices = new HashMap<>();
+        List<Author> authors = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            for (Author author : (entry.hasFileResult() ? entry.runAuthors : new Author[0])) {
+                if (author != null && !authorIndices.containsKey(author)) {
+                    authorIndices.put(author, authors.size());
+                    authors.add(author);
+                }
+            }
+        }
+
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(inputsHash);
+        out.writeUTF(untilCommitHash);
+        out.writeInt(authors.size());
+        for (Author author : authors) {
+            out.writeUTF(author.getGitId());
+        }
+
+        out.writeInt(entries.size());
+        for (Map.Entry<String, Entry> pathAndEntry : new TreeMap<>(entries).entrySet()) {
+            Entry entry = pathAndEntry.getValue();
+            out.writeUTF(pathAndEntry.getKey());
+            out.writeUTF(entry.blobHash);
+            out.writeBoolean(entry.hasFileResult());
+            if (!entry.hasFileResult()) {
+                continue;
+            }
+
+            out.writeInt(entry.runAuthors.length);
+            for (int run = 0; run < entry.runAuthors.length; run++) {
+                Author author = entry.runAuthors[run];
+                out.writeInt((author == null) ? NO_AUTHOR_INDEX : authorIndices.get(author));
+                out.writeInt(entry.runLengths[run]);
+            }
+        }
+    }
+
+    /**
+     * Reads the entries written by {@code writeEntries} from {@code in}, resolving the git ids of the authors through
+     * {@code authorsByGitId}. Returns no entries if they were recorded with inputs other than {@code inputsHash}, and
+     * leaves out the entries of the files that {@code getModifiedFilePaths} returns for the recorded analyzed commit
+     * unless it is the {@code untilCommitHash} commit.
+     *
+     * @throws IOException if the manifest cannot be read or is not of the current format.
+     */
+    private static Map<String, Entry> readEntries(DataInputStream in, String inputsHash, String untilCommitHash,
+            Function<String, Set<String>> getModifiedFilePaths, Map<String, Author> authorsByGitId)
+            throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported authorship manifest format.");
+        }
+
+        Map<String, Entry> entries = new HashMap<>();
+        if (!in.readUTF().equals(inputsHash)) {
+            return entries;
+        }
+
+        String previousUntilCommitHash = in.readUTF();
+        if (previousUntilCommitHash.isEmpty() || untilCommitHash.isEmpty()) {
+            return entries;
+        }
+        Set<String> modifiedFilePaths = previousUntilCommitHash.equals(untilCommitHash)
+                ? Collections.emptySet()
+                : getModifiedFilePaths.apply(previousUntilCommitHash);
+
+        int numAuthors = in.readInt();
+        Author[] authors = new Author[numAuthors];
+        for (int i = 0; i < numAuthors; i++) {
+            String gitId = in.readUTF();
+            authors[i] = authorsByGitId.get(gitId);
+            if (authors[i] == null) {
+                throw new IOException("Unknown author " + gitId + " in authorship manifest.");
+            }
+        }
+
+        int numEntries = in.readInt();
+        for (int i = 0; i < numEntries; i++) {
+            String path = in.readUTF();
+            String blobHash = in.readUTF();
+            if (!in.readBoolean()) {
+                entries.put(path, new Entry(blobHash, null, null));
+                continue;
+            }
+
+            int numRuns = in.readInt();
+            Author[] runAuthors = new Author[numRuns];
+            int[] runLengths = new int[numRuns];
+            for (int run = 0; run < numRuns; run++) {
+                int authorIndex = in.readInt();
+                runAuthors[run] = (authorIndex == NO_AUTHOR_INDEX) ? null : authors[authorIndex];
+                runLengths[run] = in.readInt();
+            }
+            entries.put(path, new Entry(blobHash, runAuthors, runLengths));
+        }
+
+        entries.keySet().removeAll(modifiedFilePaths);
+        return entries;
+    }
+
+    /**
+     * Returns a hash of the inputs of the authorship analysis of the repo in {@code config} other than the contents
+     * and the history of the files, with the git blame traversal bounded by {@code sinceCommitHash}.
+     */
+    static String getInputsHash(RepoConfiguration config, String sinceCommitHash) {
+        StringBuilder inputs = new StringBuilder()
+                .append(FORMAT_VERSION).append('\0')
+                .append(RepoSense.getVersion()).append('\0')
+                .append(GitBlame.BLAME_OPTIONS).append('\0')
+                .append(sinceCommitHash).append('\0')
+                .append(config.isAnnotationOverwrite()).append('\0')
+                .append(config.getIgnoreCommitList()).append('\0');
+        for (Author author : config.getAuthorList()) {
+            inputs.append(author.getGitId()).append('\0')
+                    .append(author.getEmails()).append('\0')
+                    .append(author.getAuthorAliases()).append('\0')
+                    .append(author.getIgnoreGlobList()).append('\0');
+        }
+        new TreeMap<>(config.getAuthorEmailsAndAliasesMap()).forEach((emailOrAlias, author) ->
+                inputs.append(emailOrAlias).append('\0').append(author.getGitId()).append('\0'));
+        return StringsUtil.getSha1Hash(inputs.toString());
+    }
+
+    /**
+     * Holds the recorded analysis of a file, which is either not reported or has the author of each of its lines.
+     */
+    public static class Entry {
+        private final String blobHash;
+        private final Author[] runAuthors;
+        private final int[] runLengths;
+
+        Entry(String blobHash, Author[] runAuthors, int[] runLengths) {
+            this.blobHash = blobHash;
+            this.runAuthors = runAuthors;
+            this.runLengths = runLengths;
+        }
+
+        /**
+         * Returns true if the file was reported, or false if its analysis resulted in no {@code FileResult}.
+         */
+        public boolean hasFileResult() {
+            return runAuthors != null;
+        }
+
+        /**
+         * Sets the {@code Author} of each line of {@code fileInfo} to the recorded author of the line.
+         */
+        public void restoreAuthors(FileInfo fileInfo) {
+            int lineIndex = 0;
+            for (int run = 0; run < runAuthors.length; run++) {
+                for (int i = 0; i < runLengths[run]; i++) {
+                    fileInfo.setLineAuthor(lineIndex++, runAuthors[run]);
+                }
+            }
+        }
+
+        private int getLineCount() {
+            return Arrays.stream(runLengths).sum();
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package reposense.authorship;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import reposense.authorship.model.AuthorshipSummary;
 import reposense.authorship.model.FileInfo;
 import reposense.authorship.model.FileResult;
+import reposense.git.GitRevList;
+import reposense.git.exception.CommitNotFoundException;
 import reposense.model.RepoConfiguration;
+import reposense.system.RepoMetrics;
 
 /**
  * Generates the authorship summary data for each repository.
@@ -16,16 +27,129 @@ public class AuthorshipReporter {
 
     /**
      * Generates and returns the authorship summary for each repo in {@code config}.
+     * The files are analyzed concurrently on {@code executor}, which also bounds the number of git processes running
+     * at any one time. The file results are kept in the order returned by
+     * {@code FileInfoExtractor#extractFileInfos}.
      */
-    public static AuthorshipSummary generateAuthorshipSummary(RepoConfiguration config) {
-        List<FileInfo> fileInfos = FileInfoExtractor.extractFileInfos(config);
+    public static AuthorshipSummary generateAuthorshipSummary(RepoConfiguration config, ExecutorService executor) {
+        return generateAuthorshipSummary(config, executor, null);
+    }
+
+    /**
+     * Generates and returns the authorship summary for each repo in {@code config}, analyzing the files concurrently
+     * on {@code executor}. The git blame results of the files are reused from and kept in {@code blameCache},
+     * unless it is null.
+     */
+    public static AuthorshipSummary generateAuthorshipSummary(RepoConfiguration config, ExecutorService executor,
+            BlameCache blameCache) {
+        return generateAuthorshipSummary(config, executor, blameCache, null);
+    }
+
+    /**
+     * Generates and returns the authorship summary for each repo in {@code config}, analyzing the files concurrently
+     * on {@code executor} and using {@code blameCache} unless it is null.
+     * Unless {@code manifestPath} is null, the results of the files whose contents, history and analysis inputs are
+     * unchanged since the analysis recorded in the {@code AuthorshipManifest} at {@code manifestPath} are reused
+     * instead of blaming the files again, and the manifest is replaced with the results of this analysis.
+     */
+    public static AuthorshipSummary generateAuthorshipSummary(RepoConfiguration config, ExecutorService executor,
+            BlameCache blameCache, Path manifestPath) {
+        List<FileInfo> fileInfos;
+        String sinceCommitHash;
+        String untilCommitHash;
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_FILE_EXTRACTION)) {
+            try {
+                untilCommitHash = FileInfoExtractor.getUntilCommitHash(config);
+                fileInfos = FileInfoExtractor.extractFileInfos(config, untilCommitHash);
+            } catch (CommitNotFoundException cnfe) {
+                untilCommitHash = "";
+                fileInfos = Collections.emptyList();
+            }
+
+            // bounds the git blame traversal to the analysis window, as lines last modified before it are untracked
+            sinceCommitHash = GitRevList.getCommitHashBeforeDate(
+                    config.getRepoRoot(), config.getBranch(), config.getSinceDate()).trim();
+        }
 
-        List<FileResult> fileResults = fileInfos.stream()
-                .map(fileInfo -> FileInfoAnalyzer.analyzeFile(config, fileInfo))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        List<FileResult> fileResults;
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_FILE_ANALYSIS)) {
+            AuthorshipManifest manifest = (manifestPath == null)
+                    ? null
+                    : AuthorshipManifest.load(manifestPath, config, sinceCommitHash, untilCommitHash);
+            fileResults = analyzeFiles(config, fileInfos, sinceCommitHash, untilCommitHash, executor, blameCache,
+                    manifest);
+            if (manifest != null) {
+                manifest.save(manifestPath);
+            }
+        }
 
-        return FileResultAggregator.aggregateFileResult(fileResults, config.getAuthorList(),
-                config.getAllFileTypes());
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_AGGREGATION)) {
+            return FileResultAggregator.aggregateFileResult(fileResults, config.getAuthorList(),
+                    config.getAllFileTypes());
+        }
+    }
+
+    /**
+     * Analyzes {@code fileInfos} as of the {@code untilCommitHash} commit concurrently on {@code executor} and
+     * returns their {@code FileResult} in the same order, using {@code blameCache} and {@code manifest} if they are
+     * not null. The git processes run on {@code executor} are recorded under the phase of the calling thread.
+     */
+    private static List<FileResult> analyzeFiles(RepoConfiguration config, List<FileInfo> fileInfos,
+            String sinceCommitHash, String untilCommitHash, ExecutorService executor, BlameCache blameCache,
+            AuthorshipManifest manifest) {
+        List<Future<FileResult>> pendingFileResults = new ArrayList<>();
+        for (FileInfo fileInfo : fileInfos) {
+            Supplier<FileResult> fileAnalysis = RepoMetrics.propagate(() ->
+                    analyzeFile(config, fileInfo, sinceCommitHash, untilCommitHash, blameCache, manifest));
+            pendingFileResults.add(executor.submit(fileAnalysis::get));
+        }
+
+        try {
+            return pendingFileResults.stream()
+                    .map(AuthorshipReporter::getFileResult)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (RuntimeException re) {
+            // the remaining files should not hold up the shared executor once the repo analysis has failed
+            pendingFileResults.forEach(pendingFileResult -> pendingFileResult.cancel(true));
+            throw re;
+        }
+    }
+
+    /**
+     * Analyzes {@code fileInfo}, reusing its result recorded in {@code manifest} if its contents and history are
+     * unchanged, and records the result into {@code manifest}, unless {@code manifest} is null.
+     */
+    private static FileResult analyzeFile(RepoConfiguration config, FileInfo fileInfo, String sinceCommitHash,
+            String untilCommitHash, BlameCache blameCache, AuthorshipManifest manifest) {
+        if (manifest == null) {
+            return FileInfoAnalyzer.analyzeFile(config, fileInfo, sinceCommitHash, untilCommitHash, blameCache);
+        }
+
+        Optional<AuthorshipManifest.Entry> manifestEntry = manifest.get(fileInfo);
+        FileResult fileResult = manifestEntry.isPresent()
+                ? FileInfoAnalyzer.analyzeFile(config, fileInfo, manifestEntry.get())
+                : FileInfoAnalyzer.analyzeFile(config, fileInfo, sinceCommitHash, untilCommitHash, blameCache);
+        manifest.put(fileInfo, fileResult);
+        return fileResult;
+    }
+
+    /**
+     * Waits for the analysis of a file to complete and returns its {@code FileResult}.
+     *
+     * @throws RuntimeException if the analysis of the file failed or was interrupted.
+     */
+    private static FileResult getFileResult(Future<FileResult> pendingFileResult) {
+        try {
+            return pendingFileResult.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+            throw new RuntimeException(ee.getCause());
+        }
     }
 }
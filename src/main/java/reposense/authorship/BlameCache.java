@@ -0,0 +1,285 @@
+package reposense.authorship;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import reposense.git.GitBlame;
+import reposense.system.LogsManager;
+import reposense.util.FileUtil;
+import reposense.util.StringsUtil;
+
+/**
+ * Keeps the parsed git blame results of files on disk across runs, so that files are only blamed once for each
+ * commit range no matter how many runs or repos, such as forks of the same repo, analyze them.
+ *
+ * As commit hashes identify the entire history leading to them, the blame result of a file is fully determined by
+ * the commit range and the path of the file, which the entries are keyed by. Only the lines that were blamed, such as
+ * the lines inserted within the commit range, are kept, hence an entry is only usable for the lines that it covers.
+ * Only the commit, author name and author email of each line are stored, hence the authors and ignored commits of
+ * the repo being analyzed are still applied to cached results. Entries are written atomically and never modified
+ * afterwards, allowing the same cache directory to be shared by multiple RepoSense processes. Least recently used
+ * entries are evicted once the cache grows beyond its size limit.
+ */
+public class BlameCache {
+    private static final String MESSAGE_ERROR_READING =
+            "Error reading blame cache entry %s, will blame the file again.";
+    private static final String MESSAGE_ERROR_WRITING = "Error writing blame cache entry %s.";
+    private static final String MESSAGE_ERROR_EVICTING = "Error evicting blame cache entry %s.";
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int NOT_BLAMED_INDEX = -1;
+    private static final String ENTRY_SUFFIX = ".blame";
+    private static final int SHARD_NAME_LENGTH = 2;
+    private static final Pattern FULL_COMMIT_HASH_PATTERN = Pattern.compile("[0-9a-f]{40}");
+
+    private static final Logger logger = LogsManager.getLogger(BlameCache.class);
+
+    private final Path cacheDirectory;
+    private final long sizeLimitInBytes;
+
+    public BlameCache(Path cacheDirectory, long sizeLimitInBytes) {
+        this.cacheDirectory = cacheDirectory;
+        this.sizeLimitInBytes = sizeLimitInBytes;
+    }
+
+    /**
+     * Returns the cached blame result of the file at {@code filePath} as of the {@code untilCommitHash} commit,
+     * traversing only the commits after {@code sinceCommitHash}, with one {@code BlameLine} for each line of the
+     * file, which is null for the lines that were not blamed. Returns an empty {@code Optional} if there is no such
+     * entry, or the commit range is not given as full commit hashes.
+     */
+    public Optional<List<BlameLine>> get(String sinceCommitHash, String untilCommitHash, String filePath) {
+        if (!isCacheable(sinceCommitHash, untilCommitHash)) {
+            return Optional.empty();
+        }
+
+        Path entryPath = getEntryPath(sinceCommitHash, untilCommitHash, filePath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(entryPath))))) {
+            List<BlameLine> blameLines = readEntry(in);
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(blameLines);
+        } catch (NoSuchFileException nsfe) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_READING, entryPath), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores {@code blameLines} as the blame result of the file at {@code filePath} as of the
+     * {@code untilCommitHash} commit, traversing only the commits after {@code sinceCommitHash}.
+     * Does nothing if the commit range is not given as full commit hashes.
+     */
+    public void put(String sinceCommitHash, String untilCommitHash, String filePath, List<BlameLine> blameLines) {
+        if (!isCacheable(sinceCommitHash, untilCommitHash)) {
+            return;
+        }
+
+        Path entryPath = getEntryPath(sinceCommitHash, untilCommitHash, filePath);
+        try {
+            Files.createDirectories(entryPath.getParent());
+            FileUtil.writeGzipFileAtomically(entryPath, out -> writeEntry(out, blameLines));
+        } catch (IOException ioe) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_WRITING, entryPath), ioe);
+        }
+    }
+
+    /**
+     * Deletes the least recently used cache entries until the total size of the cache is within its size limit.
+     */
+    public void evict() {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        List<Path> entryPaths;
+        try (Stream<Path> paths = Files.walk(cacheDirectory)) {
+            entryPaths = paths.filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                    .sorted(Comparator.comparing(BlameCache::getLastModifiedTime))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_EVICTING, cacheDirectory), e);
+            return;
+        }
+
+        Map<Path, Long> entrySizes = new HashMap<>();
+        long totalSize = 0;
+        for (Path entryPath : entryPaths) {
+            long size = entryPath.toFile().length();
+            entrySizes.put(entryPath, size);
+            totalSize += size;
+        }
+
+        for (Path entryPath : entryPaths) {
+            if (totalSize <= sizeLimitInBytes) {
+                break;
+            }
+
+            try {
+                Files.deleteIfExists(entryPath);
+                totalSize -= entrySizes.get(entryPath);
+            } catch (IOException ioe) {
+                logger.log(Level.WARNING, String.format(MESSAGE_ERROR_EVICTING, entryPath), ioe);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the blame result of the commit range from {@code sinceCommitHash} to {@code untilCommitHash}
+     * can be cached, which requires the range to be identified by full commit hashes rather than references.
+     */
+    private static boolean isCacheable(String sinceCommitHash, String untilCommitHash) {
+        return FULL_COMMIT_HASH_PATTERN.matcher(untilCommitHash).matches()
+                && (sinceCommitHash.isEmpty() || FULL_COMMIT_HASH_PATTERN.matcher(sinceCommitHash).matches());
+    }
+
+    /**
+     * Returns the path of the cache entry of the blame result of the file at {@code filePath} for the commit range.
+     * Entries are spread into subdirectories by the first characters of their names, to keep directories small.
+     */
+    private Path getEntryPath(String sinceCommitHash, String untilCommitHash, String filePath) {
+        String entryName = StringsUtil.getSha1Hash(String.join("\0",
+                GitBlame.BLAME_OPTIONS, sinceCommitHash, untilCommitHash, filePath));
+        return cacheDirectory.resolve(entryName.substring(0, SHARD_NAME_LENGTH)).resolve(entryName + ENTRY_SUFFIX);
+    }
+
+    /**
+     * Writes {@code blameLines} into {@code out}. Each distinct commit is written once, followed by the index of the
+     * commit of each line, or {@code NOT_BLAMED_INDEX} for the lines that were not blamed.
+     */
+    private static void writeEntry(DataOutputStream out, List<BlameLine> blameLines) throws IOException {
+        Map<BlameLine, Integer> commitIndices = new HashMap<>();
+        List<BlameLine> commits = new ArrayList<>();
+        for (BlameLine blameLine : blameLines) {
+            if (blameLine != null && !commitIndices.containsKey(blameLine)) {
+                commitIndices.put(blameLine, commits.size());
+                commits.add(blameLine);
+            }
+        }
+
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(commits.size());
+        for (BlameLine commit : commits) {
+            out.writeUTF(commit.getCommitHash());
+            out.writeUTF(commit.getAuthorName());
+            out.writeUTF(commit.getAuthorEmail());
+            out.writeBoolean(commit.isBoundary());
+        }
+        out.writeInt(blameLines.size());
+        for (BlameLine blameLine : blameLines) {
+            out.writeInt((blameLine == null) ? NOT_BLAMED_INDEX : commitIndices.get(blameLine));
+        }
+    }
+
+    /**
+     * Reads the blame lines written by {@code writeEntry} from {@code in}.
+     *
+     * @throws IOException if the entry cannot be read or is not of the current format.
+     */
+    private static List<BlameLine> readEntry(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported blame cache entry format.");
+        }
+
+        int numCommits = in.readInt();
+        List<BlameLine> commits = new ArrayList<>(numCommits);
+        for (int i = 0; i < numCommits; i++) {
+            commits.add(new BlameLine(in.readUTF(), in.readUTF(), in.readUTF(), in.readBoolean()));
+        }
+
+        int numLines = in.readInt();
+        List<BlameLine> blameLines = new ArrayList<>(numLines);
+        for (int i = 0; i < numLines; i++) {
+            int commitIndex = in.readInt();
+            blameLines.add((commitIndex == NOT_BLAMED_INDEX) ? null : commits.get(commitIndex));
+        }
+        return blameLines;
+    }
+
+    private static FileTime getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException ioe) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Holds the commit that last modified a line of a file, as found by git blame.
+     */
+    public static class BlameLine {
+        private final String commitHash;
+        private final String authorName;
+        private final String authorEmail;
+        private final boolean isBoundary;
+
+        public BlameLine(String commitHash, String authorName, String authorEmail, boolean isBoundary) {
+            this.commitHash = commitHash;
+            this.authorName = authorName;
+            this.authorEmail = authorEmail;
+            this.isBoundary = isBoundary;
+        }
+
+        public String getCommitHash() {
+            return commitHash;
+        }
+
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        public String getAuthorEmail() {
+            return authorEmail;
+        }
+
+        /**
+         * Returns true if the line was last modified at or before the start of the commit range that was blamed.
+         */
+        public boolean isBoundary() {
+            return isBoundary;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof BlameLine)) {
+                return false;
+            }
+
+            BlameLine otherBlameLine = (BlameLine) other;
+            return commitHash.equals(otherBlameLine.commitHash)
+                    && authorName.equals(otherBlameLine.authorName)
+                    && authorEmail.equals(otherBlameLine.authorEmail)
+                    && isBoundary == otherBlameLine.isBoundary;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(commitHash, authorName, authorEmail, isBoundary);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package reposense.authorship;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import reposense.git.GitBlame;
+
+/**
+ * Parses the porcelain output of git blame in a single pass as it is streamed in, passing the {@code BlameLine} of
+ * each blamed line of the file to a consumer along with the index of the line.
+ *
+ * Each blamed line is described by a record of a commit hash line, which also holds the line number of the line in
+ * the file, the header lines of the commit and a line with the content of the file line prefixed by a tab.
+ * The header lines of a commit are only parsed for its first record and kept in a table, so that later records of
+ * the same commit, which may or may not repeat its header lines, share the same {@code BlameLine} without being
+ * parsed again.
+ */
+class BlamePorcelainParser implements Consumer<String> {
+    private static final String AUTHOR_NAME_PREFIX = "author ";
+    private static final String AUTHOR_EMAIL_PREFIX = "author-mail ";
+    private static final int AUTHOR_NAME_OFFSET = AUTHOR_NAME_PREFIX.length();
+    private static final int AUTHOR_EMAIL_OFFSET = AUTHOR_EMAIL_PREFIX.length();
+    private static final int FULL_COMMIT_HASH_LENGTH = 40;
+    private static final char CONTENT_LINE_PREFIX = '\t';
+
+    private final BlameLineConsumer blameLineConsumer;
+    private final Map<String, BlameCache.BlameLine> commits = new HashMap<>();
+
+    private boolean isInRecord = false;
+    private int lineIndex;
+    private String commitHash;
+    private BlameCache.BlameLine commit;
+    private String authorName;
+    private String authorEmail;
+    private boolean isBoundary;
+
+    /**
+     * Creates a {@code BlamePorcelainParser} that passes the {@code BlameLine} of each blamed line of the file to
+     * {@code blameLineConsumer}, with the same instance for all lines last modified by the same commit.
+     */
+    BlamePorcelainParser(BlameLineConsumer blameLineConsumer) {
+        this.blameLineConsumer = blameLineConsumer;
+    }
+
+    @Override
+    public void accept(String porcelainLine) {
+        if (!isInRecord) {
+            startRecord(porcelainLine);
+        } else if (!porcelainLine.isEmpty() && porcelainLine.charAt(0) == CONTENT_LINE_PREFIX) {
+            endRecord();
+        } else if (commit == null) {
+            parseHeaderLine(porcelainLine);
+        }
+    }
+
+    /**
+     * Starts the record of a file line from its {@code commitHashLine}, looking up the commit in the table.
+     */
+    private void startRecord(String commitHashLine) {
+        isInRecord = true;
+        lineIndex = parseFinalLineNumber(commitHashLine) - 1;
+        commitHash = commitHashLine.substring(0, FULL_COMMIT_HASH_LENGTH);
+        commit = commits.get(commitHash);
+        authorName = "";
+        authorEmail = "";
+        isBoundary = false;
+    }
+
+    /**
+     * Parses {@code headerLine} of a commit that is not in the table yet.
+     */
+    private void parseHeaderLine(String headerLine) {
+        if (headerLine.startsWith(AUTHOR_EMAIL_PREFIX)) {
+            authorEmail = stripAngleBrackets(headerLine, AUTHOR_EMAIL_OFFSET);
+        } else if (headerLine.startsWith(AUTHOR_NAME_PREFIX)) {
+            authorName = headerLine.substring(AUTHOR_NAME_OFFSET);
+        } else if (headerLine.equals(GitBlame.BOUNDARY_MARKER)) {
+            isBoundary = true;
+        }
+    }
+
+    /**
+     * Ends the record of a file line at its content line, adding its commit into the table if it is new.
+     */
+    private void endRecord() {
+        if (commit == null) {
+            commit = new BlameCache.BlameLine(commitHash, authorName, authorEmail, isBoundary);
+            commits.put(commitHash, commit);
+        }
+        blameLineConsumer.accept(lineIndex, commit);
+        isInRecord = false;
+    }
+
+    /**
+     * Returns the line number of the blamed line in the file from {@code commitHashLine}, which consists of the
+     * commit hash, the line number in the commit, the line number in the file and an optional number of lines.
+     */
+    private static int parseFinalLineNumber(String commitHashLine) {
+        int index = commitHashLine.indexOf(' ', FULL_COMMIT_HASH_LENGTH + 1) + 1;
+        int lineNumber = 0;
+        for (; index < commitHashLine.length() && commitHashLine.charAt(index) != ' '; index++) {
+            lineNumber = lineNumber * 10 + (commitHashLine.charAt(index) - '0');
+        }
+        return lineNumber;
+    }
+
+    /**
+     * Returns the email in {@code headerLine} from {@code beginIndex} onwards without the angle brackets around it.
+     */
+    private static String stripAngleBrackets(String headerLine, int beginIndex) {
+        int endIndex = headerLine.length();
+        if (beginIndex < endIndex && headerLine.charAt(beginIndex) == '<') {
+            beginIndex++;
+        }
+        if (beginIndex < endIndex && headerLine.charAt(endIndex - 1) == '>') {
+            endIndex--;
+        }
+        return headerLine.substring(beginIndex, endIndex);
+    }
+
+    /**
+     * Represents an operation that accepts the {@code BlameLine} of the blamed line at {@code lineIndex} of a file.
+     */
+    @FunctionalInterface
+    interface BlameLineConsumer {
+        void accept(int lineIndex, BlameCache.BlameLine blameLine);
+    }
+}
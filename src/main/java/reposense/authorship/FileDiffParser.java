@@ -0,0 +1,138 @@
+package reposense.authorship;
+
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import reposense.system.LogsManager;
+
+/**
+ * Parses the output of {@code git diff -U0} line by line as it is produced, and finds the lines of each file that were
+ * inserted, without holding the diff of a whole file in memory.
+ * The path of each file, as given in its {@code +++} header line, is passed to the file diff consumer together with
+ * the 0-based indices of its inserted lines. Deleted files and files without any line changes are skipped.
+ * The diff of a file is only complete when the diff of the next file starts, hence {@code flush} must be called after
+ * the last line of the output is consumed.
+ */
+public class FileDiffParser implements Consumer<String> {
+    private static final Logger logger = LogsManager.getLogger(FileDiffParser.class);
+
+    private static final String FILE_DIFF_HEADER_PREFIX = "diff --git ";
+    private static final String NEW_FILE_PATH_PREFIX = "+++ ";
+    private static final String NEW_FILE_PATH_MARKER = "b";
+    private static final String FILE_DELETED_SYMBOL = "/dev/null";
+    private static final String HUNK_HEADER_PREFIX = "@@ ";
+    private static final String NEW_LINE_RANGE_PREFIX = " +";
+    private static final char LINE_INSERTED_SYMBOL = '+';
+    private static final String MATCH_HUNK_HEADER_FAIL_MESSAGE_FORMAT =
+            "Failed to match the line changed group for:\n%s";
+
+    private final BiConsumer<String, BitSet> fileDiffConsumer;
+
+    private State state;
+    private String filePath;
+    private BitSet insertedLines;
+    private int nextLineIndex;
+
+    public FileDiffParser(BiConsumer<String, BitSet> fileDiffConsumer) {
+        this.fileDiffConsumer = fileDiffConsumer;
+        reset();
+    }
+
+    @Override
+    public void accept(String line) {
+        if (line.startsWith(FILE_DIFF_HEADER_PREFIX)) {
+            flush();
+            state = State.FILE_HEADER;
+            return;
+        }
+
+        switch (state) {
+        case FILE_HEADER:
+            if (line.startsWith(NEW_FILE_PATH_PREFIX)) {
+                filePath = getNewFilePath(line);
+            } else if (line.startsWith(HUNK_HEADER_PREFIX)) {
+                startHunk(line);
+                state = State.HUNK;
+            }
+            break;
+        case HUNK:
+            if (line.startsWith(HUNK_HEADER_PREFIX)) {
+                startHunk(line);
+            } else if (!line.isEmpty() && line.charAt(0) == LINE_INSERTED_SYMBOL) {
+                insertedLines.set(nextLineIndex++);
+            }
+            break;
+        default:
+            // output before the diff of the first file has no line changes
+            break;
+        }
+    }
+
+    /**
+     * Passes the diff of the file consumed so far, if any, to the file diff consumer.
+     */
+    public void flush() {
+        if (filePath != null) {
+            fileDiffConsumer.accept(filePath, insertedLines);
+        }
+        reset();
+    }
+
+    /**
+     * Discards the diff of the file consumed so far and waits for the diff of the next file.
+     */
+    private void reset() {
+        state = State.BEFORE_FIRST_FILE;
+        filePath = null;
+        insertedLines = new BitSet();
+        nextLineIndex = 0;
+    }
+
+    /**
+     * Moves on to the first line of the hunk with the {@code hunkHeader}, given in the format
+     * "{@code @@ -<old start>[,<old count>] +<new start>[,<new count>] @@}". Lines are never moved back, as hunks
+     * are in increasing order of lines.
+     */
+    private void startHunk(String hunkHeader) {
+        int startIndex = hunkHeader.indexOf(NEW_LINE_RANGE_PREFIX, HUNK_HEADER_PREFIX.length());
+        int endIndex = (startIndex == -1) ? -1 : startIndex + NEW_LINE_RANGE_PREFIX.length();
+        int startingLineNumber = 0;
+        while (endIndex != -1 && endIndex < hunkHeader.length() && Character.isDigit(hunkHeader.charAt(endIndex))) {
+            startingLineNumber = startingLineNumber * 10 + (hunkHeader.charAt(endIndex++) - '0');
+        }
+
+        if (endIndex == -1 || endIndex == startIndex + NEW_LINE_RANGE_PREFIX.length()) {
+            logger.severe(String.format(MATCH_HUNK_HEADER_FAIL_MESSAGE_FORMAT, hunkHeader));
+            throw new AssertionError("Should not have error matching line number pattern inside chunk header!");
+        }
+
+        nextLineIndex = Math.max(nextLineIndex, startingLineNumber - 1);
+    }
+
+    /**
+     * Returns the path of the file after the change given in {@code newFilePathLine}, which is in the format
+     * "{@code +++ b/<path>}", or null if the file is deleted or the path is not in the expected format.
+     */
+    private static String getNewFilePath(String newFilePathLine) {
+        String filePath = newFilePathLine.substring(NEW_FILE_PATH_PREFIX.length());
+        if (filePath.equals(FILE_DELETED_SYMBOL)) {
+            return null;
+        }
+
+        if (filePath.startsWith(NEW_FILE_PATH_MARKER)) {
+            filePath = filePath.substring(NEW_FILE_PATH_MARKER.length());
+        }
+        return filePath.startsWith("/") ? filePath.substring(1) : null;
+    }
+
+    /**
+     * Represents the part of the diff output that is being parsed.
+     */
+    private enum State {
+        BEFORE_FIRST_FILE,
+        FILE_HEADER,
+        HUNK
+    }
+}
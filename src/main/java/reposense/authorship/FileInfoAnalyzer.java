@@ -1,35 +1,31 @@
 package reposense.authorship;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import reposense.authorship.analyzer.AnnotatorAnalyzer;
 import reposense.authorship.model.FileInfo;
 import reposense.authorship.model.FileResult;
-import reposense.authorship.model.LineInfo;
+import reposense.authorship.model.LineStore;
 import reposense.git.GitBlame;
+import reposense.git.GitCheckout;
 import reposense.model.Author;
 import reposense.model.CommitHash;
 import reposense.model.RepoConfiguration;
-import reposense.system.LogsManager;
 
 /**
  * Analyzes the target and information given in the {@code FileInfo}.
  */
 public class FileInfoAnalyzer {
-    private static final Logger logger = LogsManager.getLogger(FileInfoAnalyzer.class);
-
     private static final String REUSED_TAG = "//@reused";
-    private static final int AUTHOR_NAME_OFFSET = "author ".length();
-    private static final int AUTHOR_EMAIL_OFFSET = "author-mail ".length();
-    private static final int FULL_COMMIT_HASH_LENGTH = 40;
 
     /**
      * Analyzes the lines of the file, given in the {@code fileInfo}, that has changed in the time period provided
@@ -38,12 +34,37 @@ public class FileInfoAnalyzer {
      * {@code config} contributed to the file in {@code fileInfo}.
      */
     public static FileResult analyzeFile(RepoConfiguration config, FileInfo fileInfo) {
-        String relativePath = fileInfo.getPath();
-        if (isReused(config.getRepoRoot(), relativePath)) {
+        return analyzeFile(config, fileInfo, "", GitCheckout.CHECKED_OUT_COMMIT_REFERENCE);
+    }
+
+    /**
+     * Analyzes the lines of the file, given in the {@code fileInfo}, that has changed in the time period provided
+     * by {@code config}, as of the {@code untilCommitHash} commit that {@code fileInfo} was generated from, limiting
+     * the git blame traversal to the commits after {@code sinceCommitHash}.
+     * Returns null if the file contains the reused tag, or none of the {@code Author} specified in
+     * {@code config} contributed to the file in {@code fileInfo}.
+     */
+    public static FileResult analyzeFile(RepoConfiguration config, FileInfo fileInfo, String sinceCommitHash,
+            String untilCommitHash) {
+        return analyzeFile(config, fileInfo, sinceCommitHash, untilCommitHash, null);
+    }
+
+    /**
+     * Analyzes the lines of the file, given in the {@code fileInfo}, that has changed in the time period provided
+     * by {@code config}, as of the {@code untilCommitHash} commit that {@code fileInfo} was generated from, limiting
+     * the git blame traversal to the commits after {@code sinceCommitHash}.
+     * The git blame result of the file is looked up in {@code blameCache} before blaming the file, and stored into
+     * it afterwards, unless {@code blameCache} is null.
+     * Returns null if the file contains the reused tag, or none of the {@code Author} specified in
+     * {@code config} contributed to the file in {@code fileInfo}.
+     */
+    public static FileResult analyzeFile(RepoConfiguration config, FileInfo fileInfo, String sinceCommitHash,
+            String untilCommitHash, BlameCache blameCache) {
+        if (isReused(fileInfo)) {
             return null;
         }
 
-        aggregateBlameAuthorInfo(config, fileInfo);
+        aggregateBlameAuthorInfo(config, fileInfo, sinceCommitHash, untilCommitHash, blameCache);
         fileInfo.setFileType(config.getFileType(fileInfo.getPath()));
 
         if (config.isAnnotationOverwrite()) {
@@ -57,63 +78,88 @@ public class FileInfoAnalyzer {
         return generateFileResult(fileInfo);
     }
 
+    /**
+     * Returns the {@code FileResult} of the file in {@code fileInfo} from the {@code manifestEntry} recorded by a
+     * previous analysis of the same contents with the same inputs, without blaming the file again.
+     * Returns null if the file was not reported by that analysis.
+     */
+    public static FileResult analyzeFile(RepoConfiguration config, FileInfo fileInfo,
+            AuthorshipManifest.Entry manifestEntry) {
+        if (!manifestEntry.hasFileResult()) {
+            return null;
+        }
+
+        manifestEntry.restoreAuthors(fileInfo);
+        fileInfo.setFileType(config.getFileType(fileInfo.getPath()));
+        return generateFileResult(fileInfo);
+    }
+
     /**
      * Generates and returns a {@code FileResult} with the authorship results from {@code fileInfo} consolidated.
      */
     private static FileResult generateFileResult(FileInfo fileInfo) {
+        LineStore lines = fileInfo.getLineStore();
         HashMap<Author, Integer> authorContributionMap = new HashMap<>();
-        for (LineInfo line : fileInfo.getLines()) {
-            Author author = line.getAuthor();
-            authorContributionMap.put(author, authorContributionMap.getOrDefault(author, 0) + 1);
+        int[] lineCountPerAuthor = lines.getLineCountPerAuthor();
+        for (int authorId = 0; authorId < lineCountPerAuthor.length; authorId++) {
+            if (lineCountPerAuthor[authorId] > 0) {
+                authorContributionMap.put(lines.getAuthorTable().get(authorId), lineCountPerAuthor[authorId]);
+            }
         }
-        return new FileResult(fileInfo.getPath(), fileInfo.getFileType(), fileInfo.getLines(), authorContributionMap);
+
+        int linesWithoutAuthor = lines.size() - Arrays.stream(lineCountPerAuthor).sum();
+        if (linesWithoutAuthor > 0) {
+            authorContributionMap.put(null, linesWithoutAuthor);
+        }
+        return new FileResult(fileInfo.getPath(), fileInfo.getFileType(), lines, authorContributionMap);
     }
 
     /**
-     * Sets the {@code Author} for each line in {@code fileInfo} based on the git blame analysis on the file.
+     * Sets the {@code Author} for each line in {@code fileInfo} based on the git blame analysis on the file as of the
+     * {@code untilCommitHash} commit, blaming only the lines being tracked.
+     * Lines that are not tracked, or were last modified at or before {@code sinceCommitHash}, are attributed to
+     * {@code Author#UNKNOWN_AUTHOR}. The git blame result is taken from {@code blameCache} if it is cached there for
+     * all the lines being tracked.
      */
-    private static void aggregateBlameAuthorInfo(RepoConfiguration config, FileInfo fileInfo) {
-        String blameResults = getGitBlameResult(config, fileInfo.getPath());
-        String[] blameResultLines = blameResults.split("\n");
-        Path filePath = Paths.get(fileInfo.getPath());
-
-        for (int lineCount = 0; lineCount < blameResultLines.length; lineCount += 3) {
-            String commitHash = blameResultLines[lineCount].substring(0, FULL_COMMIT_HASH_LENGTH);
-            String authorName = blameResultLines[lineCount + 1].substring(AUTHOR_NAME_OFFSET);
-            String authorEmail = blameResultLines[lineCount + 2]
-                    .substring(AUTHOR_EMAIL_OFFSET).replaceAll("<|>", "");
-            Author author = config.getAuthor(authorName, authorEmail);
-
-            if (!fileInfo.isFileLineTracked(lineCount / 3) || isAuthorIgnoringFile(author, filePath)
-                    || CommitHash.isInsideCommitList(commitHash, config.getIgnoreCommitList())) {
-                author = Author.UNKNOWN_AUTHOR;
+    private static void aggregateBlameAuthorInfo(RepoConfiguration config, FileInfo fileInfo,
+            String sinceCommitHash, String untilCommitHash, BlameCache blameCache) {
+        BitSet trackedLines = fileInfo.getLineStore().getTrackedLines();
+        Optional<List<BlameCache.BlameLine>> cachedBlameLines = (blameCache == null)
+                ? Optional.empty()
+                : blameCache.get(sinceCommitHash, untilCommitHash, fileInfo.getPath())
+                        .filter(blameLines -> isCoveringLines(blameLines, trackedLines));
+        BlameLineAttributor blameLineAttributor = new BlameLineAttributor(config, fileInfo, blameCache != null);
+        if (cachedBlameLines.isPresent()) {
+            List<BlameCache.BlameLine> blameLines = cachedBlameLines.get();
+            for (int lineIndex = 0; lineIndex < blameLines.size(); lineIndex++) {
+                if (blameLines.get(lineIndex) != null) {
+                    blameLineAttributor.accept(lineIndex, blameLines.get(lineIndex));
+                }
             }
+            return;
+        }
 
-            fileInfo.setLineAuthor(lineCount / 3, author);
+        BitSet linesToBlame = (trackedLines.cardinality() == fileInfo.getLineStore().size()) ? null : trackedLines;
+        GitBlame.blame(config.getRepoRoot(), fileInfo.getPath(), sinceCommitHash, untilCommitHash, linesToBlame,
+                new BlamePorcelainParser(blameLineAttributor));
+        if (blameCache != null) {
+            blameCache.put(sinceCommitHash, untilCommitHash, fileInfo.getPath(), blameLineAttributor.getBlameLines());
         }
     }
 
     /**
-     * Returns the analysis result from running git blame on {@code filePath}.
+     * Returns true if {@code blameLines} has the {@code BlameLine} of every line whose index is set in {@code lines}.
      */
-    private static String getGitBlameResult(RepoConfiguration config, String filePath) {
-        return GitBlame.blame(config.getRepoRoot(), filePath);
+    private static boolean isCoveringLines(List<BlameCache.BlameLine> blameLines, BitSet lines) {
+        return lines.stream().allMatch(lineIndex -> lineIndex < blameLines.size() && blameLines.get(lineIndex) != null);
     }
 
     /**
-     * Returns true if the first line in the file at {@code repoRoot}'s {@code relativePath} contains the reused tag.
+     * Returns true if the file in {@code fileInfo} is empty or its first line contains the reused tag.
      */
-    private static boolean isReused(String repoRoot, String relativePath) {
-        Path path = Paths.get(repoRoot, relativePath);
-        try (BufferedReader br = new BufferedReader(new FileReader(path.toFile()))) {
-            String firstLine = br.readLine();
-            if (firstLine == null || firstLine.contains(REUSED_TAG)) {
-                return true;
-            }
-        } catch (IOException ioe) {
-            logger.log(Level.WARNING, ioe.getMessage(), ioe);
-        }
-        return false;
+    private static boolean isReused(FileInfo fileInfo) {
+        LineStore lines = fileInfo.getLineStore();
+        return lines.isEmpty() || lines.getContent(0).contains(REUSED_TAG);
     }
 
     /**
@@ -123,4 +169,66 @@ public class FileInfoAnalyzer {
         PathMatcher ignoreGlobMatcher = author.getIgnoreGlobMatcher();
         return ignoreGlobMatcher.matches(filePath);
     }
+
+    /**
+     * Attributes the lines of a file to their {@code Author} according to the {@code BlameLine} of each blamed line,
+     * while the lines that are not tracked are attributed to {@code Author#UNKNOWN_AUTHOR} without being blamed.
+     * The {@code Author} of each commit is resolved once, for the first line that it last modified.
+     */
+    private static class BlameLineAttributor implements BlamePorcelainParser.BlameLineConsumer {
+        private final RepoConfiguration config;
+        private final FileInfo fileInfo;
+        private final Path filePath;
+        private final BlameCache.BlameLine[] blameLines;
+        private final Map<BlameCache.BlameLine, Author> commitAuthors = new IdentityHashMap<>();
+
+        /**
+         * Creates a {@code BlameLineAttributor} for the lines of {@code fileInfo}, which keeps the {@code BlameLine}
+         * of each blamed line if {@code isKeepingBlameLines} is true.
+         */
+        BlameLineAttributor(RepoConfiguration config, FileInfo fileInfo, boolean isKeepingBlameLines) {
+            this.config = config;
+            this.fileInfo = fileInfo;
+            this.filePath = Paths.get(fileInfo.getPath());
+            this.blameLines = isKeepingBlameLines ? new BlameCache.BlameLine[fileInfo.getLineStore().size()] : null;
+
+            for (int lineIndex = 0; lineIndex < fileInfo.getLineStore().size(); lineIndex++) {
+                if (!fileInfo.isFileLineTracked(lineIndex)) {
+                    fileInfo.setLineAuthor(lineIndex, Author.UNKNOWN_AUTHOR);
+                }
+            }
+        }
+
+        /**
+         * Sets the {@code Author} of the line at {@code lineIndex} of the file according to its {@code blameLine}.
+         */
+        @Override
+        public void accept(int lineIndex, BlameCache.BlameLine blameLine) {
+            Author author = commitAuthors.computeIfAbsent(blameLine, this::getCommitAuthor);
+            fileInfo.setLineAuthor(lineIndex, fileInfo.isFileLineTracked(lineIndex) ? author : Author.UNKNOWN_AUTHOR);
+            if (blameLines != null) {
+                blameLines[lineIndex] = blameLine;
+            }
+        }
+
+        /**
+         * Returns the {@code Author} of the lines of the file last modified by the commit of {@code blameLine}.
+         */
+        private Author getCommitAuthor(BlameCache.BlameLine blameLine) {
+            Author author = config.getAuthor(blameLine.getAuthorName(), blameLine.getAuthorEmail());
+            if (blameLine.isBoundary() || isAuthorIgnoringFile(author, filePath)
+                    || CommitHash.isInsideCommitList(blameLine.getCommitHash(), config.getIgnoreCommitList())) {
+                return Author.UNKNOWN_AUTHOR;
+            }
+            return author;
+        }
+
+        /**
+         * Returns the {@code BlameLine} of each line of the file, which is null for the lines that were not blamed,
+         * if they are being kept.
+         */
+        List<BlameCache.BlameLine> getBlameLines() {
+            return (blameLines == null) ? null : Arrays.asList(blameLines);
+        }
+    }
 }
@@ -1,23 +1,25 @@
 package reposense.authorship;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import reposense.authorship.model.FileInfo;
-import reposense.authorship.model.LineInfo;
+import reposense.git.GitCatFile;
 import reposense.git.GitCheckout;
 import reposense.git.GitDiff;
 import reposense.git.GitRevList;
@@ -32,44 +34,38 @@ import reposense.util.FileUtil;
 public class FileInfoExtractor {
     private static final Logger logger = LogsManager.getLogger(FileInfoExtractor.class);
     private static final String MESSAGE_START_EXTRACTING_FILE_INFO = "Extracting relevant file info from %s (%s)...";
+    private static final String MESSAGE_FILE_NOT_FOUND = "File %s is not found in commit %s.";
 
-    private static final String DIFF_FILE_CHUNK_SEPARATOR = "\ndiff --git a/.*\n";
-    private static final String LINE_CHUNKS_SEPARATOR = "\n@@ ";
-    private static final String LINE_INSERTED_SYMBOL = "+";
-    private static final String STARTING_LINE_NUMBER_GROUP_NAME = "startingLineNumber";
-    private static final String FILE_CHANGED_GROUP_NAME = "filePath";
-    private static final String FILE_DELETED_SYMBOL = "/dev/null";
-    private static final String MATCH_GROUP_FAIL_MESSAGE_FORMAT = "Failed to match the %s group for:\n%s";
     private static final String BINARY_FILE_LINE_DIFF_RESULT = "-\t-\t";
 
-    private static final int LINE_CHANGED_HEADER_INDEX = 0;
-
-    private static final Pattern STARTING_LINE_NUMBER_PATTERN = Pattern.compile(
-            "-(\\d)+(,)?(\\d)* \\+(?<startingLineNumber>\\d+)(,)?(\\d)* @@");
-    private static final Pattern FILE_CHANGED_PATTERN = Pattern.compile("\n(\\+){3} b?/(?<filePath>.*)\n");
-
     /**
      * Extracts a list of relevant files given in {@code config}.
      */
     public static List<FileInfo> extractFileInfos(RepoConfiguration config) {
-        logger.info(String.format(MESSAGE_START_EXTRACTING_FILE_INFO, config.getLocation(), config.getBranch()));
-
-        List<FileInfo> fileInfos = new ArrayList<>();
-
-        // checks out to the latest commit of the date range to ensure the FileInfo generated correspond to the
-        // git blame file analyze output
         try {
-            GitCheckout.checkoutDate(config.getRepoRoot(), config.getBranch(), config.getUntilDate());
+            return extractFileInfos(config, getUntilCommitHash(config));
         } catch (CommitNotFoundException cnfe) {
-            return fileInfos;
+            return new ArrayList<>();
         }
+    }
+
+    /**
+     * Extracts a list of relevant files given in {@code config} as of the {@code untilCommitHash} commit.
+     * The files are read from the object store of the repo, hence the commit need not be checked out.
+     */
+    public static List<FileInfo> extractFileInfos(RepoConfiguration config, String untilCommitHash) {
+        logger.info(String.format(MESSAGE_START_EXTRACTING_FILE_INFO, config.getLocation(), config.getBranch()));
+
+        List<FileInfo> fileInfos = new ArrayList<>();
         String lastCommitHash = GitRevList.getCommitHashBeforeDate(
-                config.getRepoRoot(), config.getBranch(), config.getSinceDate());
+                config.getRepoRoot(), config.getBranch(), config.getSinceDate()).trim();
 
-        if (!lastCommitHash.isEmpty()) {
-            fileInfos = getEditedFileInfos(config, lastCommitHash);
-        } else {
-            getAllFileInfo(config, fileInfos);
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            if (!lastCommitHash.isEmpty()) {
+                fileInfos = getEditedFileInfos(config, lastCommitHash, untilCommitHash, gitCatFile);
+            } else {
+                getAllFileInfo(config, untilCommitHash, gitCatFile, fileInfos);
+            }
         }
 
         fileInfos.sort(Comparator.comparing(FileInfo::getPath));
@@ -77,56 +73,65 @@ public class FileInfoExtractor {
     }
 
     /**
-     * Generates a list of relevant {@code FileInfo} for all files that were edited in between the current
-     * commit and the {@code lastCommitHash} commit, marks each {@code LineInfo} for each {@code FileInfo} on
-     * whether they have been inserted within the commit range or not, and returns it.
+     * Returns the commit of the branch in {@code config} whose files are analyzed, which is the latest commit before
+     * the until date, or the checked out commit if there is no until date.
+     * @throws CommitNotFoundException if commits before the until date cannot be found.
      */
-    public static List<FileInfo> getEditedFileInfos(RepoConfiguration config, String lastCommitHash) {
-        List<FileInfo> fileInfos = new ArrayList<>();
-        String fullDiffResult = GitDiff.diffCommit(config.getRepoRoot(), lastCommitHash);
-
-        // no diff between the 2 commits, return an empty list
-        if (fullDiffResult.isEmpty()) {
-            return fileInfos;
+    public static String getUntilCommitHash(RepoConfiguration config) throws CommitNotFoundException {
+        if (config.getUntilDate() == null) {
+            return GitCheckout.CHECKED_OUT_COMMIT_REFERENCE;
         }
 
-        String[] fileDiffResultList = fullDiffResult.split(DIFF_FILE_CHUNK_SEPARATOR);
-        Set<Path> nonBinaryFilesSet = getNonBinaryFilesList(config);
-
-        for (String fileDiffResult : fileDiffResultList) {
-            Matcher filePathMatcher = FILE_CHANGED_PATTERN.matcher(fileDiffResult);
-
-            // diff result does not have the markers to indicate that file has any line changes, skip it
-            if (!filePathMatcher.find()) {
-                continue;
-            }
+        String untilCommitHash = GitRevList.getCommitHashUntilDate(
+                config.getRepoRoot(), config.getBranch(), config.getUntilDate()).trim();
+        if (untilCommitHash.isEmpty()) {
+            throw new CommitNotFoundException("Commit before until date is not found.");
+        }
+        return untilCommitHash;
+    }
 
-            String filePath = filePathMatcher.group(FILE_CHANGED_GROUP_NAME);
+    /**
+     * Generates a list of relevant {@code FileInfo} for all files that were edited in between the
+     * {@code untilCommitHash} commit and the {@code lastCommitHash} commit, reading the files through
+     * {@code gitCatFile}, marks each {@code LineInfo} for each {@code FileInfo} on whether they have been inserted
+     * within the commit range or not, and returns it.
+     */
+    static List<FileInfo> getEditedFileInfos(RepoConfiguration config, String lastCommitHash,
+            String untilCommitHash, GitCatFile gitCatFile) {
+        List<FileInfo> fileInfos = new ArrayList<>();
+        Set<Path> nonBinaryFilesSet = getNonBinaryFilesList(config, untilCommitHash);
 
-            // file is deleted, skip it as well
-            if (filePath.equals(FILE_DELETED_SYMBOL)) {
-                continue;
-            }
+        FileDiffParser fileDiffParser = new FileDiffParser((filePath, insertedLines) -> addEditedFileInfo(
+                config, filePath, insertedLines, nonBinaryFilesSet, untilCommitHash, gitCatFile, fileInfos));
+        GitDiff.diffCommit(config.getRepoRoot(), lastCommitHash, untilCommitHash, fileDiffParser);
+        fileDiffParser.flush();
 
-            if (!isValidAndNonBinaryFile(filePath, nonBinaryFilesSet)) {
-                continue;
-            }
+        return fileInfos;
+    }
 
-            if (config.getFileTypeManager().isInsideWhitelistedFormats(filePath)) {
-                FileInfo currentFileInfo = generateFileInfo(config.getRepoRoot(), filePath);
-                setLinesToTrack(currentFileInfo, fileDiffResult);
-                fileInfos.add(currentFileInfo);
-            }
+    /**
+     * Generates the {@code FileInfo} for the file at {@code filePath} with its {@code LineInfo} marked on whether
+     * they are among the {@code insertedLines} within the commit range or not, and adds it into {@code fileInfos} if
+     * the file is relevant.
+     */
+    private static void addEditedFileInfo(RepoConfiguration config, String filePath, BitSet insertedLines,
+            Set<Path> nonBinaryFilesSet, String untilCommitHash, GitCatFile gitCatFile, List<FileInfo> fileInfos) {
+        if (!isValidAndNonBinaryFile(filePath, nonBinaryFilesSet)) {
+            return;
         }
 
-        return fileInfos;
+        if (config.getFileTypeManager().isInsideWhitelistedFormats(filePath)) {
+            FileInfo currentFileInfo = generateFileInfo(gitCatFile, untilCommitHash, filePath);
+            setLinesToTrack(currentFileInfo, insertedLines);
+            fileInfos.add(currentFileInfo);
+        }
     }
 
     /**
-     * Returns a {@code Set} of non-binary files for the repo {@code repoConfig}.
+     * Returns a {@code Set} of non-binary files in the {@code commitHash} commit for the repo {@code repoConfig}.
      */
-    public static Set<Path> getNonBinaryFilesList(RepoConfiguration repoConfig) {
-        List<String> modifiedFileList = GitDiff.getModifiedFilesList(Paths.get(repoConfig.getRepoRoot()));
+    static Set<Path> getNonBinaryFilesList(RepoConfiguration repoConfig, String commitHash) {
+        List<String> modifiedFileList = GitDiff.getModifiedFilesList(Paths.get(repoConfig.getRepoRoot()), commitHash);
 
         // Gets rid of binary files and files with invalid directory name.
         return modifiedFileList.stream()
@@ -138,68 +143,43 @@ public class FileInfoExtractor {
     }
 
     /**
-     * Analyzes the {@code fileDiffResult} and marks each {@code LineInfo} in {@code FileInfo} on whether they were
-     * inserted in between the commit range.
+     * Marks each line in {@code FileInfo} on whether it is among the {@code insertedLines} in between the
+     * commit range.
      */
-    private static void setLinesToTrack(FileInfo fileInfo, String fileDiffResult) {
-        String[] linesChangedChunk = fileDiffResult.split(LINE_CHUNKS_SEPARATOR);
-        List<LineInfo> lineInfos = fileInfo.getLines();
-        int fileLinePointer = 0;
-
-        // skips the header, index starts from 1
-        for (int sectionIndex = 1; sectionIndex < linesChangedChunk.length; sectionIndex++) {
-            String linesChangedInSection = linesChangedChunk[sectionIndex];
-            String[] linesChanged = linesChangedInSection.split("\n");
-            int startingLineNumber = getStartingLineNumber(linesChanged[LINE_CHANGED_HEADER_INDEX]);
-
-            // mark all untouched lines between sections as untracked
-            while (fileLinePointer < startingLineNumber - 1) {
-                lineInfos.get(fileLinePointer++).setTracked(false);
-            }
-
-            // skips the header, index starts from 1
-            for (int lineIndex = 1; lineIndex < linesChanged.length; lineIndex++) {
-                String lineChanged = linesChanged[lineIndex];
-                // set line added to be tracked
-                if (lineChanged.startsWith(LINE_INSERTED_SYMBOL)) {
-                    lineInfos.get(fileLinePointer++).setTracked(true);
-                }
-            }
-        }
-
-        // set all remaining lines in file that were untouched to be untracked
-        while (fileLinePointer < lineInfos.size()) {
-            lineInfos.get(fileLinePointer++).setTracked(false);
-        }
+    private static void setLinesToTrack(FileInfo fileInfo, BitSet insertedLines) {
+        fileInfo.getLineStore().setTracked(insertedLines);
     }
 
     /**
-     * Traverses each file from the repo root directory, generates the {@code FileInfo} for each relevant file found
-     * based on {@code config} and inserts it into {@code fileInfos}.
+     * Traverses each file in the {@code untilCommitHash} commit, generates the {@code FileInfo} for each relevant file
+     * found based on {@code config}, reading it through {@code gitCatFile}, and inserts it into {@code fileInfos}.
      */
-    private static void getAllFileInfo(RepoConfiguration config, List<FileInfo> fileInfos) {
-        Set<Path> nonBinaryFilesList = getNonBinaryFilesList(config);
+    private static void getAllFileInfo(RepoConfiguration config, String untilCommitHash, GitCatFile gitCatFile,
+            List<FileInfo> fileInfos) {
+        Set<Path> nonBinaryFilesList = getNonBinaryFilesList(config, untilCommitHash);
         for (Path relativePath : nonBinaryFilesList) {
             if (config.getFileTypeManager().isInsideWhitelistedFormats(relativePath.toString())) {
-                fileInfos.add(generateFileInfo(config.getRepoRoot(), relativePath.toString()));
+                fileInfos.add(generateFileInfo(gitCatFile, untilCommitHash, relativePath.toString()));
             }
         }
     }
 
     /**
      * Generates and returns a {@code FileInfo} with a list of {@code LineInfo} for each line content in the
-     * {@code relativePath} file.
+     * {@code relativePath} file as of the {@code commitHash} commit, read from the object store through
+     * {@code gitCatFile}.
      */
-    public static FileInfo generateFileInfo(String repoRoot, String relativePath) {
+    public static FileInfo generateFileInfo(GitCatFile gitCatFile, String commitHash, String relativePath) {
         FileInfo fileInfo = new FileInfo(relativePath);
-        Path path = Paths.get(repoRoot, fileInfo.getPath());
+        Optional<GitCatFile.GitObject> blob = gitCatFile.getObject(commitHash + ":" + fileInfo.getPath());
+        if (!blob.isPresent()) {
+            logger.severe(String.format(MESSAGE_FILE_NOT_FOUND, fileInfo.getPath(), commitHash));
+            return fileInfo;
+        }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(path.toFile()))) {
-            String line;
-            int lineNum = 1;
-            while ((line = br.readLine()) != null) {
-                fileInfo.addLine(new LineInfo(lineNum++, line));
-            }
+        fileInfo.setBlobHash(blob.get().getHash());
+        try {
+            addLines(fileInfo, new InputStreamReader(new ByteArrayInputStream(blob.get().getContents())));
         } catch (IOException ioe) {
             logger.log(Level.SEVERE, ioe.getMessage(), ioe);
         }
@@ -207,18 +187,17 @@ public class FileInfoExtractor {
     }
 
     /**
-     * Returns the starting line changed number, within the file diff result, by matching the pattern inside
-     * {@code linesChanged}.
+     * Adds each line read from {@code reader} into {@code fileInfo}, closing it afterwards.
      */
-    private static int getStartingLineNumber(String linesChanged) {
-        Matcher chunkHeaderMatcher = STARTING_LINE_NUMBER_PATTERN.matcher(linesChanged);
-
-        if (!chunkHeaderMatcher.find()) {
-            logger.severe(String.format(MATCH_GROUP_FAIL_MESSAGE_FORMAT, "line changed", linesChanged));
-            throw new AssertionError("Should not have error matching line number pattern inside chunk header!");
+    private static void addLines(FileInfo fileInfo, Reader reader) throws IOException {
+        try (BufferedReader br = new BufferedReader(reader)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                fileInfo.addLine(line);
+            }
+        } finally {
+            fileInfo.getLineStore().trimToSize();
         }
-
-        return Integer.parseInt(chunkHeaderMatcher.group(STARTING_LINE_NUMBER_GROUP_NAME));
     }
 
     /**
@@ -4,7 +4,7 @@ import java.util.List;
 
 import reposense.authorship.model.AuthorshipSummary;
 import reposense.authorship.model.FileResult;
-import reposense.authorship.model.LineInfo;
+import reposense.authorship.model.LineStore;
 import reposense.model.Author;
 import reposense.model.FileType;
 
@@ -15,17 +15,22 @@ public class FileResultAggregator {
 
     /**
      * Returns the {@code AuthorshipSummary} generated from aggregating the {@code fileResults}.
+     * The lines of each file are counted per author in one pass, and only the distinct authors of the file are
+     * looked up in the summary.
      */
     public static AuthorshipSummary aggregateFileResult(List<FileResult> fileResults, List<Author> authors,
             List<FileType> fileTypes) {
         AuthorshipSummary authorContributionSummary = new AuthorshipSummary(fileResults, authors, fileTypes);
         for (FileResult fileResult : fileResults) {
-            for (LineInfo lineInfo : fileResult.getLines()) {
-                Author author = lineInfo.getAuthor();
-                if (!authors.contains(author)) {
+            LineStore lines = fileResult.getLineStore();
+            int fileTypeIndex = authorContributionSummary.getFileTypeIndex(fileResult.getFileType());
+            int[] lineCountPerAuthor = lines.getLineCountPerAuthor();
+            for (int authorId = 0; authorId < lineCountPerAuthor.length; authorId++) {
+                int authorIndex = authorContributionSummary.getAuthorIndex(lines.getAuthorTable().get(authorId));
+                if (lineCountPerAuthor[authorId] == 0 || authorIndex == -1) {
                     continue;
                 }
-                authorContributionSummary.addAuthorContributionCount(author, fileResult.getFileType());
+                authorContributionSummary.addLineCount(authorIndex, fileTypeIndex, lineCountPerAuthor[authorId]);
             }
         }
         return authorContributionSummary;
@@ -7,7 +7,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import reposense.authorship.model.FileInfo;
-import reposense.authorship.model.LineInfo;
+import reposense.authorship.model.LineStore;
 import reposense.model.Author;
 
 /**
@@ -25,13 +25,15 @@ public class AnnotatorAnalyzer {
     public static void aggregateAnnotationAuthorInfo(FileInfo fileInfo, Map<String, Author> authorAliasMap) {
         Author currentAuthor = Author.UNKNOWN_AUTHOR;
         Path filePath = Paths.get(fileInfo.getPath());
-        for (LineInfo lineInfo : fileInfo.getLines()) {
-            if (lineInfo.getContent().contains(AUTHOR_TAG)) {
-                Author newAuthor = findAuthorInLine(lineInfo.getContent(), authorAliasMap);
+        LineStore lines = fileInfo.getLineStore();
+        for (int lineIndex = 0; lineIndex < lines.size(); lineIndex++) {
+            String content = lines.getContent(lineIndex);
+            if (content.contains(AUTHOR_TAG)) {
+                Author newAuthor = findAuthorInLine(content, authorAliasMap);
 
                 if (newAuthor.equals(Author.UNKNOWN_AUTHOR)) {
                     //end of an author tag should belong to this author too.
-                    lineInfo.setAuthor(currentAuthor);
+                    lines.setAuthor(lineIndex, currentAuthor);
                 } else if (newAuthor.getIgnoreGlobMatcher().matches(filePath)) {
                     newAuthor = Author.UNKNOWN_AUTHOR;
                 }
@@ -40,7 +42,7 @@ public class AnnotatorAnalyzer {
                 currentAuthor = newAuthor;
             }
             if (!currentAuthor.equals(Author.UNKNOWN_AUTHOR)) {
-                lineInfo.setAuthor(currentAuthor);
+                lines.setAuthor(lineIndex, currentAuthor);
             }
         }
     }
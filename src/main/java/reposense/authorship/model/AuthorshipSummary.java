@@ -1,5 +1,7 @@
 package reposense.authorship.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -10,26 +12,54 @@ import reposense.model.FileType;
 
 /**
  * Stores the contribution summary of the authors in the repo.
+ * The number of lines contributed is counted in a dense table indexed by author and file type, which is only
+ * converted into maps when the summary is read.
  */
 public class AuthorshipSummary {
+    private static final int NOT_FOUND_INDEX = -1;
+
     private final List<FileResult> fileResults;
-    private final Map<Author, Integer> authorFinalContributionMap;
-    private final Map<Author, LinkedHashMap<FileType, Integer>> authorFileTypeContributionMap;
+    private final List<Author> authors;
+    private final Map<Author, Integer> authorIndices;
+    private final List<FileType> fileTypes;
+    private final Map<FileType, Integer> fileTypeIndices;
+    private final int numSpecifiedFileTypes;
+
+    // the number of lines contributed by each author to each file type, indexed by author index and file type index
+    private final int[][] lineCounts;
 
     public AuthorshipSummary(List<FileResult> fileResults, List<Author> authors, List<FileType> fileTypes) {
         this.fileResults = fileResults;
-        authorFinalContributionMap = new HashMap<>();
-        authorFileTypeContributionMap = new HashMap<>();
+        this.authors = new ArrayList<>(authors);
+        authorIndices = new HashMap<>();
+        for (int i = 0; i < authors.size(); i++) {
+            authorIndices.putIfAbsent(authors.get(i), i);
+        }
 
-        for (Author author : authors) {
-            // initialise each author contribution to be 0
-            authorFinalContributionMap.put(author, 0);
+        // file types that are not specified are only reported for the authors that contributed to them
+        this.fileTypes = new ArrayList<>();
+        fileTypeIndices = new HashMap<>();
+        fileTypes.forEach(this::addFileType);
+        numSpecifiedFileTypes = this.fileTypes.size();
+        fileResults.forEach(fileResult -> addFileType(fileResult.getFileType()));
 
-            LinkedHashMap<FileType, Integer> defaultFileTypeContribution = new LinkedHashMap<>();
+        lineCounts = new int[this.authors.size()][this.fileTypes.size()];
+    }
 
-            fileTypes.forEach(fileType -> defaultFileTypeContribution.put(fileType, 0));
-            authorFileTypeContributionMap.put(author, defaultFileTypeContribution);
-        }
+    /**
+     * Returns the index of {@code author} in the table of line counts, or -1 if it is not one of the authors of this
+     * summary.
+     */
+    public int getAuthorIndex(Author author) {
+        return authorIndices.getOrDefault(author, NOT_FOUND_INDEX);
+    }
+
+    /**
+     * Returns the index of {@code fileType} in the table of line counts, or -1 if none of the files of this summary
+     * are of that type and it is not one of the specified file types.
+     */
+    public int getFileTypeIndex(FileType fileType) {
+        return fileTypeIndices.getOrDefault(fileType, NOT_FOUND_INDEX);
     }
 
     /**
@@ -37,22 +67,58 @@ public class AuthorshipSummary {
      * {@code filePath} by one.
      */
     public void addAuthorContributionCount(Author author, FileType fileType) {
-        authorFinalContributionMap.put(author, authorFinalContributionMap.get(author) + 1);
+        addLineCount(getAuthorIndex(author), getFileTypeIndex(fileType), 1);
+    }
 
-        // Add file type contribution count
-        Map<FileType, Integer> fileTypeContributionMap = authorFileTypeContributionMap.get(author);
-        fileTypeContributionMap.put(fileType, fileTypeContributionMap.getOrDefault(fileType, 0) + 1);
+    /**
+     * Increments the contribution count of the author at {@code authorIndex} to the file type at
+     * {@code fileTypeIndex} by {@code lineCount}.
+     */
+    public void addLineCount(int authorIndex, int fileTypeIndex, int lineCount) {
+        lineCounts[authorIndex][fileTypeIndex] += lineCount;
     }
 
+    /**
+     * Returns the total number of lines contributed by each author.
+     */
     public Map<Author, Integer> getAuthorFinalContributionMap() {
+        Map<Author, Integer> authorFinalContributionMap = new HashMap<>();
+        for (Author author : authors) {
+            authorFinalContributionMap.put(author, Arrays.stream(lineCounts[getAuthorIndex(author)]).sum());
+        }
         return authorFinalContributionMap;
     }
 
+    /**
+     * Returns the number of lines contributed by each author to each file type. Every specified file type is
+     * included, while any other file type is only included for the authors that contributed to it.
+     */
     public Map<Author, LinkedHashMap<FileType, Integer>> getAuthorFileTypeContributionMap() {
+        Map<Author, LinkedHashMap<FileType, Integer>> authorFileTypeContributionMap = new HashMap<>();
+        for (Author author : authors) {
+            int[] authorLineCounts = lineCounts[getAuthorIndex(author)];
+            LinkedHashMap<FileType, Integer> fileTypeContributionMap = new LinkedHashMap<>();
+            for (int fileTypeIndex = 0; fileTypeIndex < fileTypes.size(); fileTypeIndex++) {
+                if (fileTypeIndex < numSpecifiedFileTypes || authorLineCounts[fileTypeIndex] > 0) {
+                    fileTypeContributionMap.put(fileTypes.get(fileTypeIndex), authorLineCounts[fileTypeIndex]);
+                }
+            }
+            authorFileTypeContributionMap.put(author, fileTypeContributionMap);
+        }
         return authorFileTypeContributionMap;
     }
 
     public List<FileResult> getFileResults() {
         return fileResults;
     }
+
+    /**
+     * Adds {@code fileType} to the file types of this summary if it is not among them yet.
+     */
+    private void addFileType(FileType fileType) {
+        if (!fileTypeIndices.containsKey(fileType)) {
+            fileTypeIndices.put(fileType, fileTypes.size());
+            fileTypes.add(fileType);
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package reposense.authorship.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import reposense.model.Author;
@@ -8,13 +7,14 @@ import reposense.model.FileType;
 import reposense.util.SystemUtil;
 
 /**
- * Stores the path to the file and the list of {@code LineInfo} for each line in the file.
+ * Stores the path to the file and the {@code LineStore} holding the lines in the file.
  */
 public class FileInfo {
     private final String path;
-    private final ArrayList<LineInfo> lines;
+    private final LineStore lines;
 
     private FileType fileType;
+    private String blobHash;
 
     public FileInfo(String path) {
         if (SystemUtil.isWindows()) {
@@ -23,25 +23,39 @@ public class FileInfo {
         }
 
         this.path = path;
-        lines = new ArrayList<>();
+        lines = new LineStore();
     }
 
     /**
      * Returns true if none of the {@code Author} in {@code listedAuthors} contributed to this file.
      */
     public boolean isAllAuthorsIgnored(List<Author> listedAuthors) {
-        return lines.stream().noneMatch(line -> listedAuthors.contains(line.getAuthor()));
+        List<Author> authorTable = lines.getAuthorTable();
+        int[] lineCountPerAuthor = lines.getLineCountPerAuthor();
+        for (int authorId = 0; authorId < lineCountPerAuthor.length; authorId++) {
+            if (lineCountPerAuthor[authorId] > 0 && listedAuthors.contains(authorTable.get(authorId))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public LineInfo getLine(int num) {
-        return lines.get(num - 1);
+        return lines.asLineInfos().get(num - 1);
+    }
+
+    /**
+     * Appends a line with {@code content} to this file.
+     */
+    public void addLine(String content) {
+        lines.addLine(content);
     }
 
-    public void addLine(LineInfo line) {
-        lines.add(line);
+    public List<LineInfo> getLines() {
+        return lines.asLineInfos();
     }
 
-    public ArrayList<LineInfo> getLines() {
+    public LineStore getLineStore() {
         return lines;
     }
 
@@ -58,17 +72,29 @@ public class FileInfo {
     }
 
     /**
-     * Sets the {@code Author} of the {@code LineInfo} in {@code lineNumber} for this {@code FileInfo}.
+     * Returns the hash of the git blob that the lines of this file were read from, or null if they were not read
+     * from the object store.
+     */
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public void setBlobHash(String blobHash) {
+        this.blobHash = blobHash;
+    }
+
+    /**
+     * Sets the {@code Author} of the line in {@code lineNumber} index for this {@code FileInfo}.
      */
     public void setLineAuthor(int lineNumber, Author author) {
-        lines.get(lineNumber).setAuthor(author);
+        lines.setAuthor(lineNumber, author);
     }
 
     /**
-     * Returns true if the {@code LineInfo} in {@code lineNumber} index is being tracked.
+     * Returns true if the line in {@code lineNumber} index is being tracked.
      */
     public boolean isFileLineTracked(int lineNumber) {
-        return getLines().get(lineNumber).isTracked();
+        return lines.isTracked(lineNumber);
     }
 
     @Override
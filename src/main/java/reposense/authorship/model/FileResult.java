@@ -1,6 +1,5 @@
 package reposense.authorship.model;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
@@ -13,10 +12,10 @@ import reposense.model.FileType;
 public class FileResult {
     private final String path;
     private FileType fileType;
-    private final ArrayList<LineInfo> lines;
+    private final LineStore lines;
     private final HashMap<Author, Integer> authorContributionMap;
 
-    public FileResult(String path, FileType fileType, ArrayList<LineInfo> lines,
+    public FileResult(String path, FileType fileType, LineStore lines,
             HashMap<Author, Integer> authorContributionMap) {
         this.path = path;
         this.fileType = fileType;
@@ -25,6 +24,10 @@ public class FileResult {
     }
 
     public List<LineInfo> getLines() {
+        return lines.asLineInfos();
+    }
+
+    public LineStore getLineStore() {
         return lines;
     }
 
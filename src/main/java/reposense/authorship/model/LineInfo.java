@@ -5,44 +5,40 @@ import java.util.Objects;
 import reposense.model.Author;
 
 /**
- * Stores the information of a line in a {@code FileInfo}.
+ * Provides access to the information of a line in a {@code FileInfo}, which is kept in the {@code LineStore} of the
+ * file rather than in this object.
  */
 public class LineInfo {
-    private int lineNumber;
-    private Author author;
-    private String content;
+    private final LineStore lineStore;
+    private final int index;
 
-    private transient boolean isTracked;
-
-    public LineInfo(int lineNumber, String content) {
-        this.lineNumber = lineNumber;
-        this.content = content;
-
-        isTracked = true;
+    LineInfo(LineStore lineStore, int index) {
+        this.lineStore = lineStore;
+        this.index = index;
     }
 
     public Author getAuthor() {
-        return author;
+        return lineStore.getAuthor(index);
     }
 
     public void setAuthor(Author author) {
-        this.author = author;
+        lineStore.setAuthor(index, author);
     }
 
     public int getLineNumber() {
-        return lineNumber;
+        return index + 1;
     }
 
     public String getContent() {
-        return content;
+        return lineStore.getContent(index);
     }
 
     public void setTracked(boolean isTracked) {
-        this.isTracked = isTracked;
+        lineStore.setTracked(index, isTracked);
     }
 
     public boolean isTracked() {
-        return isTracked;
+        return lineStore.isTracked(index);
     }
 
     @Override
@@ -56,10 +52,9 @@ public class LineInfo {
         }
 
         LineInfo otherLineInfo = (LineInfo) other;
-        return lineNumber == otherLineInfo.lineNumber
-                && Objects.equals(author, otherLineInfo.author)
-                && content.equals(otherLineInfo.content)
-                && isTracked == otherLineInfo.isTracked;
+        return getLineNumber() == otherLineInfo.getLineNumber()
+                && Objects.equals(getAuthor(), otherLineInfo.getAuthor())
+                && getContent().equals(otherLineInfo.getContent())
+                && isTracked() == otherLineInfo.isTracked();
     }
 }
-
@@ -0,0 +1,227 @@
+package reposense.authorship.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import reposense.model.Author;
+
+/**
+ * Stores the lines of a file column by column instead of as one object per line.
+ * The contents of all lines are kept in a single UTF-8 encoded byte buffer together with the offset at which each
+ * line ends, the author of each line is kept as an id into a table of the distinct authors of the file, and whether
+ * each line is tracked is kept as a bit.
+ * Lines are indexed from 0. Newly added lines are tracked and have no author.
+ */
+public class LineStore {
+    private static final int NO_AUTHOR_ID = -1;
+    private static final int INITIAL_LINE_CAPACITY = 16;
+    private static final int INITIAL_CONTENT_CAPACITY = 1024;
+
+    private final List<Author> authorTable;
+    private final Map<Author, Integer> authorIdMap;
+    private final BitSet trackedLines;
+
+    private byte[] contents;
+    private int[] lineEndOffsets;
+    private int[] authorIds;
+    private int size;
+
+    public LineStore() {
+        authorTable = new ArrayList<>();
+        authorIdMap = new HashMap<>();
+        trackedLines = new BitSet();
+        contents = new byte[INITIAL_CONTENT_CAPACITY];
+        lineEndOffsets = new int[INITIAL_LINE_CAPACITY];
+        authorIds = new int[INITIAL_LINE_CAPACITY];
+    }
+
+    /**
+     * Appends a line with {@code content} and returns its index.
+     */
+    public int addLine(String content) {
+        byte[] encodedContent = content.getBytes(StandardCharsets.UTF_8);
+        int startOffset = getStartOffset(size);
+        if (startOffset + encodedContent.length > contents.length) {
+            contents = Arrays.copyOf(contents, Math.max(contents.length * 2, startOffset + encodedContent.length));
+        }
+        if (size == lineEndOffsets.length) {
+            int lineCapacity = Math.max(size * 2, INITIAL_LINE_CAPACITY);
+            lineEndOffsets = Arrays.copyOf(lineEndOffsets, lineCapacity);
+            authorIds = Arrays.copyOf(authorIds, lineCapacity);
+        }
+
+        System.arraycopy(encodedContent, 0, contents, startOffset, encodedContent.length);
+        lineEndOffsets[size] = startOffset + encodedContent.length;
+        authorIds[size] = NO_AUTHOR_ID;
+        trackedLines.set(size);
+        return size++;
+    }
+
+    /**
+     * Shrinks the buffers to the space used by the lines added so far, once no more lines will be added.
+     */
+    public void trimToSize() {
+        contents = Arrays.copyOf(contents, getStartOffset(size));
+        lineEndOffsets = Arrays.copyOf(lineEndOffsets, size);
+        authorIds = Arrays.copyOf(authorIds, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the content of the line at {@code index}.
+     */
+    public String getContent(int index) {
+        checkIndex(index);
+        int startOffset = getStartOffset(index);
+        return new String(contents, startOffset, lineEndOffsets[index] - startOffset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the {@code Author} of the line at {@code index}, or null if it has none.
+     */
+    public Author getAuthor(int index) {
+        checkIndex(index);
+        int authorId = authorIds[index];
+        return (authorId == NO_AUTHOR_ID) ? null : authorTable.get(authorId);
+    }
+
+    /**
+     * Sets the {@code Author} of the line at {@code index}, adding {@code author} into the author table if it is not
+     * in it yet.
+     */
+    public void setAuthor(int index, Author author) {
+        checkIndex(index);
+        if (author == null) {
+            authorIds[index] = NO_AUTHOR_ID;
+            return;
+        }
+
+        Integer authorId = authorIdMap.get(author);
+        if (authorId == null) {
+            authorId = authorTable.size();
+            authorTable.add(author);
+            authorIdMap.put(author, authorId);
+        }
+        authorIds[index] = authorId;
+    }
+
+    /**
+     * Returns the distinct authors of this store, indexed by their ids.
+     * An author may no longer have any line if all its lines have been reattributed.
+     */
+    public List<Author> getAuthorTable() {
+        return authorTable;
+    }
+
+    /**
+     * Returns the number of lines of each author in the author table, indexed by the id of the author.
+     * Lines without an author are not counted.
+     */
+    public int[] getLineCountPerAuthor() {
+        int[] lineCounts = new int[authorTable.size()];
+        for (int i = 0; i < size; i++) {
+            if (authorIds[i] != NO_AUTHOR_ID) {
+                lineCounts[authorIds[i]]++;
+            }
+        }
+        return lineCounts;
+    }
+
+    /**
+     * Returns true if the line at {@code index} is being tracked.
+     */
+    public boolean isTracked(int index) {
+        checkIndex(index);
+        return trackedLines.get(index);
+    }
+
+    /**
+     * Returns the indices of the lines being tracked.
+     */
+    public BitSet getTrackedLines() {
+        return (BitSet) trackedLines.clone();
+    }
+
+    /**
+     * Marks the line at {@code index} as tracked or untracked according to {@code isTracked}.
+     */
+    public void setTracked(int index, boolean isTracked) {
+        checkIndex(index);
+        trackedLines.set(index, isTracked);
+    }
+
+    /**
+     * Marks each line as tracked if its index is set in {@code trackedLineIndices}, and as untracked otherwise.
+     */
+    public void setTracked(BitSet trackedLineIndices) {
+        trackedLines.clear();
+        trackedLines.or(trackedLineIndices.get(0, size));
+    }
+
+    /**
+     * Returns a view of the lines of this store as {@code LineInfo}, which are created only as they are accessed.
+     */
+    public List<LineInfo> asLineInfos() {
+        return new AbstractList<LineInfo>() {
+            @Override
+            public LineInfo get(int index) {
+                checkIndex(index);
+                return new LineInfo(LineStore.this, index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int getStartOffset(int index) {
+        return (index == 0) ? 0 : lineEndOffsets[index - 1];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof LineStore)) {
+            return false;
+        }
+
+        LineStore otherLineStore = (LineStore) other;
+        if (size != otherLineStore.size || !trackedLines.equals(otherLineStore.trackedLines)) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(getAuthor(i), otherLineStore.getAuthor(i))) {
+                return false;
+            }
+        }
+        return Arrays.equals(Arrays.copyOf(lineEndOffsets, size), Arrays.copyOf(otherLineStore.lineEndOffsets, size))
+                && Arrays.equals(Arrays.copyOf(contents, getStartOffset(size)),
+                        Arrays.copyOf(otherLineStore.contents, otherLineStore.getStartOffset(size)));
+    }
+}
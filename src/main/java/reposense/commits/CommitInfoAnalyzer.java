@@ -23,7 +23,9 @@ import reposense.system.LogsManager;
  * Analyzes commit information found in the git log.
  */
 public class CommitInfoAnalyzer {
-    public static final DateFormat GIT_STRICT_ISO_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    // DateFormat is not thread-safe, hence each thread analyzing repos gets its own instance
+    public static final ThreadLocal<DateFormat> GIT_STRICT_ISO_DATE_FORMAT =
+            ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss"));
 
     private static final Logger logger = LogsManager.getLogger(CommitInfoAnalyzer.class);
     private static final String MESSAGE_START_ANALYZING_COMMIT_INFO = "Analyzing commits info for %s (%s)...";
@@ -70,7 +72,7 @@ public class CommitInfoAnalyzer {
 
         Date date = null;
         try {
-            date = GIT_STRICT_ISO_DATE_FORMAT.parse(elements[DATE_INDEX]);
+            date = GIT_STRICT_ISO_DATE_FORMAT.get().parse(elements[DATE_INDEX]);
         } catch (ParseException pe) {
             logger.log(Level.WARNING, "Unable to parse the date from git log result for commit.", pe);
         }
@@ -2,7 +2,13 @@ package reposense.commits;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -21,21 +27,71 @@ public class CommitInfoExtractor {
     private static final Logger logger = LogsManager.getLogger(CommitInfoExtractor.class);
     private static final String MESSAGE_START_EXTRACTING_COMMIT_INFO = "Extracting commits info for %s (%s)...";
 
-    private static final Pattern TRAILING_NEWLINES_PATTERN = Pattern.compile("\n+$");
+    private static final String LOG_SPLITTER = "\\|\\n\\|";
+    private static final int AUTHOR_INDEX = 1;
+    private static final int EMAIL_INDEX = 2;
+    private static final int COMMITTER_DATE_INDEX = 3;
+
+    private static final String STAT_LINE_FORMAT = " %d files changed, %d insertions(+), %d deletions(-)";
+    private static final String BINARY_FILE_LINE_COUNT = "-";
+
+    private static final Pattern NUMSTAT_LINE_PATTERN =
+            Pattern.compile("(?<insertion>\\d+|-)\t(?<deletion>\\d+|-)\t(?<filePath>.*)");
+    private static final Pattern RENAMED_FILE_PATH_PATTERN =
+            Pattern.compile("(?<prefix>.*?)\\{.*? => (?<newName>.*?)\\}(?<suffix>.*)");
+    private static final String RENAMED_FILE_PATH_SEPARATOR = " => ";
 
     /**
-     * Extracts out and returns the raw information of each commit for the repo in {@code config}.
+     * Checks out the branch of the repo in {@code config}, then extracts out and returns the raw information of each
+     * commit for the repo.
+     * The git history is traversed only once, with each commit being attributed to its author in {@code config}.
      */
     public static List<CommitInfo> extractCommitInfos(RepoConfiguration config) {
+        GitCheckout.checkoutBranch(config.getRepoRoot(), config.getBranch());
+        return extractCommitInfos(config, null);
+    }
+
+    /**
+     * Extracts out and returns the raw information of each commit on the branch checked out in the repo in
+     * {@code config}, with each commit being attributed to its author in {@code config}.
+     * Unless {@code commitStore} is null, only the commits made after the branch tip recorded in it are logged, and
+     * it is updated with them.
+     * The working tree of the repo is not modified, so the authorship of the repo can be analyzed concurrently.
+     */
+    public static List<CommitInfo> extractCommitInfos(RepoConfiguration config, CommitStore commitStore) {
         logger.info(String.format(MESSAGE_START_EXTRACTING_COMMIT_INFO, config.getLocation(), config.getBranch()));
 
-        GitCheckout.checkoutBranch(config.getRepoRoot(), config.getBranch());
+        Map<Author, List<CommitInfo>> authorCommitInfosMap = new LinkedHashMap<>();
+        config.getAuthorList().forEach(author -> authorCommitInfosMap.put(author, new ArrayList<>()));
+        Map<Author, Predicate<String>> authorIgnoredFilePathPredicateMap = new HashMap<>();
 
-        List<CommitInfo> repoCommitInfos = new ArrayList<>();
+        Consumer<String> rawCommitInfoConsumer = rawCommitInfo -> {
+            Author author = getAuthor(config, rawCommitInfo);
+            if (!authorCommitInfosMap.containsKey(author)) {
+                return;
+            }
+
+            Predicate<String> isIgnoredFilePath = authorIgnoredFilePathPredicateMap.computeIfAbsent(
+                    author, ignoringAuthor -> GitLog.getIgnoredFilePathPredicate(config, ignoringAuthor));
+            CommitInfo commitInfo = parseRawCommitInfo(rawCommitInfo, isIgnoredFilePath);
+            if (commitInfo != null) {
+                authorCommitInfosMap.get(author).add(commitInfo);
+            }
+        };
+
+        if (commitStore == null) {
+            GitLog.getWithNumstat(config, rawCommitInfoConsumer);
+        } else {
+            commitStore.update(config);
+            commitStore.getRawCommitInfos().stream()
+                    .filter(rawCommitInfo -> isCommittedUntil(rawCommitInfo, config.getUntilDate()))
+                    .forEach(rawCommitInfoConsumer);
+        }
 
-        for (Author author : config.getAuthorList()) {
-            String gitLogResult = GitLog.get(config, author);
-            List<CommitInfo> authorCommitInfos = parseGitLogResults(gitLogResult);
+        List<CommitInfo> repoCommitInfos = new ArrayList<>();
+        for (List<CommitInfo> authorCommitInfos : authorCommitInfosMap.values()) {
+            // git log lists the latest commit first
+            Collections.reverse(authorCommitInfos);
             repoCommitInfos.addAll(authorCommitInfos);
         }
 
@@ -43,29 +99,85 @@ public class CommitInfoExtractor {
     }
 
     /**
-     * Parses the {@code gitLogResult} into a list of {@code CommitInfo} and returns it.
+     * Returns true if the commit of {@code rawCommitInfo} was committed at or before {@code untilDate}.
      */
-    private static ArrayList<CommitInfo> parseGitLogResults(String gitLogResult) {
-        ArrayList<CommitInfo> commitInfos = new ArrayList<>();
-        String[] rawCommitInfos = gitLogResult.split(GitLog.COMMIT_INFO_DELIMITER);
+    static boolean isCommittedUntil(String rawCommitInfo, Date untilDate) {
+        String[] elements = rawCommitInfo.split(LOG_SPLITTER, COMMITTER_DATE_INDEX + 2);
+        return elements.length <= COMMITTER_DATE_INDEX
+                || GitLog.isCommittedUntil(elements[COMMITTER_DATE_INDEX], untilDate);
+    }
 
-        if (rawCommitInfos.length < 2) {
-            //no log (maybe because no contribution for that file type)
-            return commitInfos;
+    /**
+     * Returns the {@code Author} in {@code config} who made the commit of {@code rawCommitInfo}.
+     */
+    private static Author getAuthor(RepoConfiguration config, String rawCommitInfo) {
+        String[] elements = rawCommitInfo.split(LOG_SPLITTER, EMAIL_INDEX + 2);
+        if (elements.length <= EMAIL_INDEX) {
+            return Author.UNKNOWN_AUTHOR;
         }
+        return config.getAuthor(elements[AUTHOR_INDEX], elements[EMAIL_INDEX]);
+    }
+
+    /**
+     * Parses the {@code rawCommitInfo} of a single commit from the git log result into a {@code CommitInfo}, whose
+     * stat line only accounts for the files that are not ignored according to {@code isIgnoredFilePath}.
+     * Returns null if all the files changed in the commit are ignored.
+     */
+    private static CommitInfo parseRawCommitInfo(String rawCommitInfo, Predicate<String> isIgnoredFilePath) {
+        StringBuilder infoBuilder = new StringBuilder();
+        int filesChanged = 0;
+        int insertions = 0;
+        int deletions = 0;
+        boolean isInStatSection = false;
 
-        // Starts from 1 as index 0 is always empty.
-        for (int i = 1; i < rawCommitInfos.length; i++) {
-            Matcher matcher = TRAILING_NEWLINES_PATTERN.matcher(rawCommitInfos[i]);
-            String rawCommitInfo = matcher.replaceAll("");
+        for (String line : rawCommitInfo.split("\n")) {
+            Matcher numstatMatcher = NUMSTAT_LINE_PATTERN.matcher(line);
+            if (!numstatMatcher.matches()) {
+                if (!isInStatSection) {
+                    infoBuilder.append(line).append('\n');
+                }
+                continue;
+            }
 
-            int statLineSeparatorIndex = rawCommitInfo.lastIndexOf("\n");
-            String infoLine = rawCommitInfo.substring(0, statLineSeparatorIndex);
-            String statLine = rawCommitInfo.substring(statLineSeparatorIndex + 1);
-            commitInfos.add(new CommitInfo(infoLine, statLine));
+            isInStatSection = true;
+            if (isIgnoredFilePath.test(getNewFilePath(numstatMatcher.group("filePath")))) {
+                continue;
+            }
+            filesChanged++;
+            insertions += getLineCount(numstatMatcher.group("insertion"));
+            deletions += getLineCount(numstatMatcher.group("deletion"));
         }
 
-        Collections.reverse(commitInfos);
-        return commitInfos;
+        if (filesChanged == 0) {
+            return null;
+        }
+
+        // the last newline separates the info from the stat
+        String infoLine = infoBuilder.substring(0, infoBuilder.length() - 1);
+        String statLine = String.format(STAT_LINE_FORMAT, filesChanged, insertions, deletions);
+        return new CommitInfo(infoLine, statLine);
+    }
+
+    /**
+     * Returns the path of the file after the change, given the {@code filePath} in the numstat output of git log,
+     * which indicates renamed files in the form of {@code old => new} or {@code dir/{old => new}/file}.
+     */
+    private static String getNewFilePath(String filePath) {
+        Matcher renamedFilePathMatcher = RENAMED_FILE_PATH_PATTERN.matcher(filePath);
+        if (renamedFilePathMatcher.matches()) {
+            String newFilePath = renamedFilePathMatcher.group("prefix") + renamedFilePathMatcher.group("newName")
+                    + renamedFilePathMatcher.group("suffix");
+            return newFilePath.replace("//", "/");
+        }
+
+        int separatorIndex = filePath.indexOf(RENAMED_FILE_PATH_SEPARATOR);
+        if (separatorIndex != -1) {
+            return filePath.substring(separatorIndex + RENAMED_FILE_PATH_SEPARATOR.length());
+        }
+        return filePath;
+    }
+
+    private static int getLineCount(String numstatLineCount) {
+        return numstatLineCount.equals(BINARY_FILE_LINE_COUNT) ? 0 : Integer.parseInt(numstatLineCount);
     }
 }
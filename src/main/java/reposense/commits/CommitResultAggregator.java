@@ -24,10 +24,11 @@ public class CommitResultAggregator {
     private static final int DAYS_IN_MS = 24 * 60 * 60 * 1000;
 
     /**
-     * Returns the {@code CommitContributionSummary} generated from aggregating the {@code commitResults}.
+     * Returns the {@code CommitContributionSummary} generated from aggregating the {@code commitResults}, which
+     * records whether {@code isAllCommittedUntil} the until date.
      */
     public static CommitContributionSummary aggregateCommitResults(
-            RepoConfiguration config, List<CommitResult> commitResults) {
+            RepoConfiguration config, List<CommitResult> commitResults, boolean isAllCommittedUntil) {
         Date startDate;
         startDate = (config.getSinceDate().equals(SinceDateArgumentType.ARBITRARY_FIRST_COMMIT_DATE))
                 ? getStartDate(commitResults)
@@ -47,7 +48,9 @@ public class CommitResultAggregator {
         return new CommitContributionSummary(
                 config.getAuthorDisplayNameMap(),
                 authorDailyContributionsMap,
-                authorContributionVariance);
+                authorContributionVariance,
+                startDate,
+                isAllCommittedUntil);
     }
 
     /**
@@ -0,0 +1,169 @@
+package reposense.commits;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+import reposense.RepoSense;
+import reposense.git.GitLog;
+import reposense.git.GitMergeBase;
+import reposense.git.GitRevParse;
+import reposense.model.RepoConfiguration;
+import reposense.system.LogsManager;
+import reposense.util.FileUtil;
+import reposense.util.StringsUtil;
+
+/**
+ * Keeps the raw git log info of the commits of a repo made since its since date, up to the tip of its branch as of the
+ * last analysis, so that later analyses only have to log the commits made after that tip.
+ *
+ * The raw info of each commit is kept as produced by {@code GitLog#getWithNumstat}, hence the authors, ignore globs
+ * and ignored commits of the repo are still applied to the kept commits, and only a change in the since date or the
+ * file formats of the repo requires the commits to be logged again. The commits are kept regardless of the until date,
+ * which is applied when the commits are read. If the previous tip is no longer part of the history of the branch,
+ * such as after a force push, all the commits are logged again.
+ */
+public class CommitStore {
+    public static final String STORE_FILE_NAME = "commits.store";
+
+    private static final Logger logger = LogsManager.getLogger(CommitStore.class);
+
+    private static final String MESSAGE_ERROR_READING = "Error reading commit store %s, will log all commits again.";
+    private static final String MESSAGE_ERROR_WRITING = "Error writing commit store %s.";
+    private static final String MESSAGE_HISTORY_REWRITTEN =
+            "History of %s (%s) no longer contains %s, will log all commits again.";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String HEAD_REVISION = "HEAD";
+
+    private final String inputsHash;
+    private String tipCommitHash;
+    private List<String> rawCommitInfos;
+
+    private CommitStore(String inputsHash, String tipCommitHash, List<String> rawCommitInfos) {
+        this.inputsHash = inputsHash;
+        this.tipCommitHash = tipCommitHash;
+        this.rawCommitInfos = rawCommitInfos;
+    }
+
+    /**
+     * Loads the commit store at {@code storePath} kept by a previous analysis of the repo in {@code config}.
+     * Returns an empty store if there is no such file, it cannot be read, or it was kept for a different since date
+     * or file formats.
+     */
+    public static CommitStore load(Path storePath, RepoConfiguration config) {
+        String inputsHash = getInputsHash(config);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(storePath))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported commit store format.");
+            }
+            if (!in.readUTF().equals(inputsHash)) {
+                return new CommitStore(inputsHash, "", new ArrayList<>());
+            }
+
+            String tipCommitHash = in.readUTF();
+            int numCommits = in.readInt();
+            List<String> rawCommitInfos = new ArrayList<>(numCommits);
+            for (int i = 0; i < numCommits; i++) {
+                byte[] rawCommitInfo = new byte[in.readInt()];
+                in.readFully(rawCommitInfo);
+                rawCommitInfos.add(new String(rawCommitInfo, StandardCharsets.UTF_8));
+            }
+            return new CommitStore(inputsHash, tipCommitHash, rawCommitInfos);
+        } catch (NoSuchFileException nsfe) {
+            return new CommitStore(inputsHash, "", new ArrayList<>());
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_READING, storePath), e);
+            return new CommitStore(inputsHash, "", new ArrayList<>());
+        }
+    }
+
+    /**
+     * Brings the kept commits up to date with the branch checked out in the repo in {@code config}. Only the commits
+     * after the previous tip are logged, unless the previous tip is not an ancestor of the current one.
+     */
+    public void update(RepoConfiguration config) {
+        String currentTipCommitHash = GitRevParse.getCommitHash(config.getRepoRoot(), HEAD_REVISION);
+        if (currentTipCommitHash.equals(tipCommitHash)) {
+            return;
+        }
+
+        List<String> newRawCommitInfos = new ArrayList<>();
+        if (!tipCommitHash.isEmpty()
+                && GitMergeBase.isAncestor(config.getRepoRoot(), tipCommitHash, currentTipCommitHash)) {
+            GitLog.getWithNumstat(config, tipCommitHash + ".." + currentTipCommitHash, newRawCommitInfos::add);
+            newRawCommitInfos.addAll(rawCommitInfos);
+        } else {
+            if (!tipCommitHash.isEmpty()) {
+                logger.info(String.format(MESSAGE_HISTORY_REWRITTEN,
+                        config.getLocation(), config.getBranch(), tipCommitHash));
+            }
+            GitLog.getWithNumstat(config, currentTipCommitHash, newRawCommitInfos::add);
+        }
+
+        tipCommitHash = currentTipCommitHash;
+        rawCommitInfos = newRawCommitInfos;
+    }
+
+    /**
+     * Returns the raw info of the kept commits, from the latest commit to the earliest one.
+     */
+    public List<String> getRawCommitInfos() {
+        return Collections.unmodifiableList(rawCommitInfos);
+    }
+
+    /**
+     * Returns true if all the kept commits were committed at or before {@code untilDate}, in which case the same
+     * commits are read for any later until date as long as the branch tip is unchanged.
+     */
+    public boolean isAllCommittedUntil(Date untilDate) {
+        return rawCommitInfos.stream()
+                .allMatch(rawCommitInfo -> CommitInfoExtractor.isCommittedUntil(rawCommitInfo, untilDate));
+    }
+
+    /**
+     * Writes the kept commits to {@code storePath}, replacing the previous store atomically.
+     * Returns true if the store is written, or false if it cannot be written.
+     */
+    public boolean save(Path storePath) {
+        try {
+            FileUtil.writeGzipFileAtomically(storePath, out -> {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(inputsHash);
+                out.writeUTF(tipCommitHash);
+                out.writeInt(rawCommitInfos.size());
+                for (String rawCommitInfo : rawCommitInfos) {
+                    byte[] encodedRawCommitInfo = rawCommitInfo.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(encodedRawCommitInfo.length);
+                    out.write(encodedRawCommitInfo);
+                }
+            });
+            return true;
+        } catch (IOException ioe) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_WRITING, storePath), ioe);
+            return false;
+        }
+    }
+
+    /**
+     * Returns a hash of the inputs of the git log of the repo in {@code config} that the kept commits depend on.
+     */
+    private static String getInputsHash(RepoConfiguration config) {
+        String inputs = String.join("\0", String.valueOf(FORMAT_VERSION), String.valueOf(RepoSense.getVersion()),
+                String.valueOf(config.getSinceDate() == null ? null : config.getSinceDate().getTime()),
+                config.getFileTypeManager().getFormats().toString());
+        return StringsUtil.getSha1Hash(inputs);
+    }
+}
@@ -1,11 +1,13 @@
 package reposense.commits;
 
+import java.nio.file.Path;
 import java.util.List;
 
 import reposense.commits.model.CommitContributionSummary;
 import reposense.commits.model.CommitInfo;
 import reposense.commits.model.CommitResult;
 import reposense.model.RepoConfiguration;
+import reposense.system.RepoMetrics;
 
 /**
  * Generates the commit summary data for each repository.
@@ -13,13 +15,53 @@ import reposense.model.RepoConfiguration;
 public class CommitsReporter {
 
     /**
-     * Generates and returns the commit contribution summary for each repo in {@code config}.
+     * Generates and returns the commit contribution summary for each repo in {@code config}, after checking out its
+     * branch.
      */
     public static CommitContributionSummary generateCommitSummary(RepoConfiguration config) {
-        List<CommitInfo> commitInfos = CommitInfoExtractor.extractCommitInfos(config);
+        List<CommitInfo> commitInfos;
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_COMMIT_EXTRACTION)) {
+            commitInfos = CommitInfoExtractor.extractCommitInfos(config);
+        }
+        return generateCommitSummary(config, commitInfos, false);
+    }
 
-        List<CommitResult> commitResults = CommitInfoAnalyzer.analyzeCommits(commitInfos, config);
+    /**
+     * Generates and returns the commit contribution summary for each repo in {@code config} from the branch checked
+     * out in the repo, only logging the commits that are not kept in the {@code CommitStore} at
+     * {@code commitStorePath} yet, unless it is null.
+     * The working tree of the repo is not modified, so the authorship of the repo can be analyzed concurrently.
+     */
+    public static CommitContributionSummary generateCommitSummary(RepoConfiguration config, Path commitStorePath) {
+        List<CommitInfo> commitInfos;
+        boolean isAllCommittedUntil = false;
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_COMMIT_EXTRACTION)) {
+            if (commitStorePath == null) {
+                commitInfos = CommitInfoExtractor.extractCommitInfos(config, null);
+            } else {
+                CommitStore commitStore = CommitStore.load(commitStorePath, config);
+                commitInfos = CommitInfoExtractor.extractCommitInfos(config, commitStore);
+                // the next run only relies on this for the commits kept in the saved store
+                isAllCommittedUntil = commitStore.save(commitStorePath)
+                        && commitStore.isAllCommittedUntil(config.getUntilDate());
+            }
+        }
+        return generateCommitSummary(config, commitInfos, isAllCommittedUntil);
+    }
+
+    /**
+     * Analyzes {@code commitInfos} of the repo in {@code config} and returns their commit contribution summary,
+     * recording whether {@code isAllCommittedUntil} the until date.
+     */
+    private static CommitContributionSummary generateCommitSummary(RepoConfiguration config,
+            List<CommitInfo> commitInfos, boolean isAllCommittedUntil) {
+        List<CommitResult> commitResults;
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_COMMIT_ANALYSIS)) {
+            commitResults = CommitInfoAnalyzer.analyzeCommits(commitInfos, config);
+        }
 
-        return CommitResultAggregator.aggregateCommitResults(config, commitResults);
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_AGGREGATION)) {
+            return CommitResultAggregator.aggregateCommitResults(config, commitResults, isAllCommittedUntil);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package reposense.commits.model;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -12,14 +13,20 @@ public class CommitContributionSummary {
     private final Map<Author, List<AuthorDailyContribution>> authorDailyContributionsMap;
     private final Map<Author, Float> authorContributionVariance;
     private final Map<Author, String> authorDisplayNameMap;
+    private final Date startDate;
+    private final boolean isAllCommittedUntil;
 
     public CommitContributionSummary(
             Map<Author, String> authorDisplayNameMap,
             Map<Author, List<AuthorDailyContribution>> authorDailyContributionsMap,
-            Map<Author, Float> authorContributionVariance) {
+            Map<Author, Float> authorContributionVariance,
+            Date startDate,
+            boolean isAllCommittedUntil) {
         this.authorDisplayNameMap = authorDisplayNameMap;
         this.authorDailyContributionsMap = authorDailyContributionsMap;
         this.authorContributionVariance = authorContributionVariance;
+        this.startDate = startDate;
+        this.isAllCommittedUntil = isAllCommittedUntil;
     }
 
     public Map<Author, String> getAuthorDisplayNameMap() {
@@ -33,4 +40,17 @@ public class CommitContributionSummary {
     public Map<Author, Float> getAuthorContributionVariance() {
         return authorContributionVariance;
     }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * Returns true if it is known that none of the commits of the repo since its since date were left out by its until
+     * date, in which case the same commits are analyzed for any later until date as long as the branch tip is
+     * unchanged.
+     */
+    public boolean isAllCommittedUntil() {
+        return isAllCommittedUntil;
+    }
 }
@@ -1,34 +1,113 @@
 package reposense.git;
 
 import static reposense.system.CommandRunner.runCommand;
-import static reposense.util.StringsUtil.addQuote;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
-
-import reposense.util.StringsUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Contains git blame related functionalities.
  * Git blame is responsible for showing which revision and author last modified each line of a file.
  */
 public class GitBlame {
+    public static final String BOUNDARY_MARKER = "boundary";
+    public static final String BLAME_OPTIONS = "-w --root";
+
+    // headers of each commit are only emitted for its first line, unlike with --line-porcelain
+    private static final String OUTPUT_FORMAT_OPTION = "--porcelain";
 
-    private static final String COMMIT_HASH_REGEX = "(^[0-9a-f]{40} .*)";
-    private static final String AUTHOR_NAME_REGEX = "(^author .*)";
-    private static final String AUTHOR_EMAIL_REGEX = "(^author-mail .*)";
-    private static final String COMBINATION_REGEX =
-            COMMIT_HASH_REGEX + "|" + AUTHOR_NAME_REGEX + "|" + AUTHOR_EMAIL_REGEX;
+    private static final String LINE_RANGE_FORMAT = "%d,%d";
+    // keeps the command within the command line length limits of all platforms
+    private static final int MAX_LINE_RANGES = 100;
 
     /**
      * Returns the raw git blame result for the {@code fileDirectory}, performed at the {@code root} directory.
      */
     public static String blame(String root, String fileDirectory) {
+        return blame(root, fileDirectory, "");
+    }
+
+    /**
+     * Returns the raw git blame result for the {@code fileDirectory}, performed at the {@code root} directory,
+     * traversing only the commits after {@code sinceCommitHash}.
+     * Commits at or before {@code sinceCommitHash} have the {@code BOUNDARY_MARKER} line in their headers.
+     * The entire history of the file is traversed if {@code sinceCommitHash} is empty.
+     */
+    public static String blame(String root, String fileDirectory, String sinceCommitHash) {
+        StringBuilder blameResult = new StringBuilder();
+        Consumer<String> lineConsumer = line -> blameResult.append(line).append('\n');
+        blame(root, fileDirectory, sinceCommitHash, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE, lineConsumer);
+        return blameResult.toString();
+    }
+
+    /**
+     * Performs git blame for the {@code fileDirectory} as of the {@code untilCommitHash} commit at the {@code root}
+     * directory, traversing only the commits after {@code sinceCommitHash}, and passes each line of the raw result to
+     * {@code lineConsumer} as it is produced, including the content line of each line of the file. The file is read
+     * from the commit, hence it need not be checked out.
+     * The result is in the porcelain format, in which the headers of each commit, such as its author, are only given
+     * for the first line that it last modified. Commits at or before {@code sinceCommitHash} have the
+     * {@code BOUNDARY_MARKER} line in their headers. The entire history of the file is traversed if
+     * {@code sinceCommitHash} is empty.
+     */
+    public static void blame(String root, String fileDirectory, String sinceCommitHash, String untilCommitHash,
+            Consumer<String> lineConsumer) {
+        blame(root, fileDirectory, sinceCommitHash, untilCommitHash, null, lineConsumer);
+    }
+
+    /**
+     * Performs git blame in the same way as {@link #blame(String, String, String, String, Consumer)}, but only for
+     * the lines of the file whose 0-based indices are set in {@code linesToBlame}, or all lines if it is null.
+     * Adjacent lines are blamed as one range, and the lines from the first to the last line to blame are blamed
+     * instead if there are too many ranges to pass to git. Nothing is blamed if {@code linesToBlame} is empty.
+     */
+    public static void blame(String root, String fileDirectory, String sinceCommitHash, String untilCommitHash,
+            BitSet linesToBlame, Consumer<String> lineConsumer) {
+        if (linesToBlame != null && linesToBlame.isEmpty()) {
+            return;
+        }
         Path rootPath = Paths.get(root);
 
-        String blameCommand = "git blame -w --line-porcelain";
-        blameCommand += " " + addQuote(fileDirectory);
+        List<String> blameCommand = new ArrayList<>(Arrays.asList("git", "blame"));
+        blameCommand.addAll(Arrays.asList(BLAME_OPTIONS.split(" ")));
+        blameCommand.add(OUTPUT_FORMAT_OPTION);
+        if (linesToBlame != null) {
+            blameCommand.addAll(getLineRangeArgs(linesToBlame));
+        }
+        blameCommand.add(sinceCommitHash.isEmpty() ? untilCommitHash : sinceCommitHash + ".." + untilCommitHash);
+        blameCommand.add("--");
+        blameCommand.add(fileDirectory);
+
+        runCommand(rootPath, blameCommand, lineConsumer);
+    }
+
+    /**
+     * Returns the -L arguments to blame the lines whose 0-based indices are set in {@code linesToBlame}, with each run
+     * of adjacent lines as one range of 1-based line numbers.
+     */
+    private static List<String> getLineRangeArgs(BitSet linesToBlame) {
+        List<String> lineRanges = new ArrayList<>();
+        for (int start = linesToBlame.nextSetBit(0); start >= 0; ) {
+            int end = linesToBlame.nextClearBit(start);
+            lineRanges.add(String.format(LINE_RANGE_FORMAT, start + 1, end));
+            start = linesToBlame.nextSetBit(end);
+        }
 
-        return StringsUtil.filterText(runCommand(rootPath, blameCommand), COMBINATION_REGEX);
+        if (lineRanges.size() > MAX_LINE_RANGES) {
+            lineRanges = Collections.singletonList(
+                    String.format(LINE_RANGE_FORMAT, linesToBlame.nextSetBit(0) + 1, linesToBlame.length()));
+        }
+        List<String> lineRangeArgs = new ArrayList<>();
+        for (String lineRange : lineRanges) {
+            lineRangeArgs.add("-L");
+            lineRangeArgs.add(lineRange);
+        }
+        return lineRangeArgs;
     }
 }
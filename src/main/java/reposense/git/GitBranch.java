@@ -4,25 +4,37 @@ import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import reposense.git.exception.GitBranchException;
-import reposense.util.StringsUtil;
 
 /**
  * Contains git branch related functionalities.
  * Git branch is responsible for list, create, or delete branches.
  */
 public class GitBranch {
+    private static final Pattern CURRENT_BRANCH_PATTERN = Pattern.compile("\\* (.*)");
 
     /**
      * Returns the current working branch of the repository at {@code root}.
      */
     public static String getCurrentBranch(String root) throws GitBranchException {
         Path rootPath = Paths.get(root);
-        String gitBranchCommand = "git branch";
+        List<String> gitBranchCommand = Arrays.asList("git", "branch");
 
+        List<String> currentBranches = new ArrayList<>();
         try {
-            return StringsUtil.filterText(runCommand(rootPath, gitBranchCommand), "\\* (.*)").split("\\*")[1].trim();
+            runCommand(rootPath, gitBranchCommand, line -> {
+                Matcher matcher = CURRENT_BRANCH_PATTERN.matcher(line);
+                if (matcher.matches()) {
+                    currentBranches.add(matcher.group(1).trim());
+                }
+            });
+            return currentBranches.get(0);
         } catch (RuntimeException rte) {
             throw new GitBranchException(rte);
         }
@@ -0,0 +1,280 @@
+package reposense.git;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import reposense.system.CommandRunner;
+import reposense.system.PhaseMetrics;
+import reposense.system.RepoMetrics;
+
+/**
+ * Contains git cat-file related functionalities.
+ * Git cat-file is responsible for reading the objects of a repository, such as blobs, trees and commits.
+ *
+ * Each {@code GitCatFile} is a session that keeps a {@code git cat-file --batch} and a
+ * {@code git cat-file --batch-check} process running for the repository, so that every object is looked up over
+ * the pipes of these processes instead of by spawning a new git process for it. Each process is started when it is
+ * first needed and terminated when the session is closed. Objects may be named in any way accepted by
+ * {@code git rev-parse}, e.g. {@code HEAD:README.md} or {@code master^{tree}}.
+ */
+public class GitCatFile implements AutoCloseable {
+    public static final String TYPE_BLOB = "blob";
+    public static final String TYPE_TREE = "tree";
+    public static final String TYPE_COMMIT = "commit";
+    public static final String TYPE_TAG = "tag";
+
+    private static final List<String> BATCH_COMMAND = Arrays.asList("git", "cat-file", "--batch");
+    private static final List<String> BATCH_CHECK_COMMAND = Arrays.asList("git", "cat-file", "--batch-check");
+    private static final String MESSAGE_INVALID_OBJECT_NAME = "Object name cannot contain line breaks: %s";
+    private static final String MESSAGE_UNEXPECTED_OUTPUT = "Unexpected output from %s: %s";
+    private static final String MESSAGE_PROCESS_ENDED = "%s ended unexpectedly.";
+
+    private final Path repoRoot;
+    private BatchProcess batchProcess = null;
+    private BatchProcess batchCheckProcess = null;
+
+    public GitCatFile(Path repoRoot) {
+        this.repoRoot = repoRoot;
+    }
+
+    /**
+     * Returns the hash, type and size of the object named {@code objectName}, or an empty {@code Optional} if there
+     * is no such object.
+     *
+     * @throws UncheckedIOException if the git cat-file process cannot be communicated with, in which case the next
+     *     request is answered by a new process.
+     */
+    public synchronized Optional<ObjectInfo> getObjectInfo(String objectName) {
+        if (batchCheckProcess == null) {
+            batchCheckProcess = new BatchProcess(repoRoot, BATCH_CHECK_COMMAND);
+        }
+
+        try {
+            return batchCheckProcess.request(objectName);
+        } catch (RuntimeException re) {
+            // the rest of the response may still be unread, which would be taken as the response to the next request
+            batchCheckProcess.close();
+            batchCheckProcess = null;
+            throw re;
+        }
+    }
+
+    /**
+     * Returns the object named {@code objectName} together with its contents, or an empty {@code Optional} if
+     * there is no such object.
+     *
+     * @throws UncheckedIOException if the git cat-file process cannot be communicated with, in which case the next
+     *     request is answered by a new process.
+     */
+    public synchronized Optional<GitObject> getObject(String objectName) {
+        if (batchProcess == null) {
+            batchProcess = new BatchProcess(repoRoot, BATCH_COMMAND);
+        }
+
+        try {
+            Optional<ObjectInfo> objectInfo = batchProcess.request(objectName);
+            if (!objectInfo.isPresent()) {
+                return Optional.empty();
+            }
+            return Optional.of(
+                    new GitObject(objectInfo.get(), batchProcess.readContents(objectInfo.get().getSize())));
+        } catch (RuntimeException re) {
+            // the rest of the response may still be unread, which would be taken as the response to the next request
+            batchProcess.close();
+            batchProcess = null;
+            throw re;
+        }
+    }
+
+    /**
+     * Terminates the git cat-file processes of this session.
+     */
+    @Override
+    public synchronized void close() {
+        if (batchProcess != null) {
+            batchProcess.close();
+            batchProcess = null;
+        }
+        if (batchCheckProcess != null) {
+            batchCheckProcess.close();
+            batchCheckProcess = null;
+        }
+    }
+
+    /**
+     * Represents a running git cat-file process, which answers each object name written to its input with a line
+     * containing the hash, type and size of the object, followed by the contents of the object in batch mode.
+     */
+    private static class BatchProcess {
+        private static final String MISSING_OBJECT_SUFFIX = " missing";
+        private static final String AMBIGUOUS_OBJECT_SUFFIX = " ambiguous";
+
+        private final String command;
+        private final Process process;
+        private final OutputStream input;
+        private final InputStream output;
+
+        BatchProcess(Path repoRoot, List<String> command) {
+            this.command = String.join(" ", command);
+            this.process = CommandRunner.spawnInteractiveProcess(repoRoot, command);
+            this.input = process.getOutputStream();
+            this.output = new BufferedInputStream(process.getInputStream());
+        }
+
+        /**
+         * Writes {@code objectName} into the input of the process and reads the information of the object from its
+         * output. In batch mode, the contents of the object must be read with {@link #readContents} before the next
+         * request.
+         */
+        Optional<ObjectInfo> request(String objectName) {
+            if (objectName.indexOf('\n') != -1 || objectName.indexOf('\r') != -1) {
+                throw new IllegalArgumentException(String.format(MESSAGE_INVALID_OBJECT_NAME, objectName));
+            }
+
+            try {
+                input.write((objectName + "\n").getBytes(StandardCharsets.UTF_8));
+                input.flush();
+
+                String header = readLine();
+                if (header.endsWith(MISSING_OBJECT_SUFFIX) || header.endsWith(AMBIGUOUS_OBJECT_SUFFIX)) {
+                    return Optional.empty();
+                }
+                return Optional.of(parseHeader(header));
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        /**
+         * Reads the {@code size} bytes of contents of the object requested last, together with the line break that
+         * terminates them.
+         */
+        byte[] readContents(long size) {
+            try {
+                byte[] contents = new byte[Math.toIntExact(size)];
+                int offset = 0;
+                while (offset < contents.length) {
+                    int count = output.read(contents, offset, contents.length - offset);
+                    if (count == -1) {
+                        throw new EOFException(String.format(MESSAGE_PROCESS_ENDED, command));
+                    }
+                    offset += count;
+                }
+                if (output.read() != '\n') {
+                    throw new IOException(String.format(MESSAGE_UNEXPECTED_OUTPUT, command, "missing line break"));
+                }
+
+                PhaseMetrics phaseMetrics = RepoMetrics.getCurrentPhase();
+                if (phaseMetrics != null) {
+                    phaseMetrics.addGitOutputBytes(size);
+                }
+                return contents;
+            } catch (IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+
+        /**
+         * Closes the input of the process, which ends it, and terminates it in case it does not end by itself.
+         */
+        void close() {
+            try {
+                input.close();
+            } catch (IOException ioe) {
+                // the process is destroyed below regardless
+            }
+            process.destroy();
+        }
+
+        /**
+         * Reads a line from the output of the process, without its trailing line break.
+         */
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = output.read()) != '\n') {
+                if (b == -1) {
+                    throw new EOFException(String.format(MESSAGE_PROCESS_ENDED, command));
+                }
+                line.write(b);
+            }
+            return new String(line.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Parses {@code header}, which is in the format "{@code <hash> <type> <size>}".
+         */
+        private ObjectInfo parseHeader(String header) throws IOException {
+            String[] fields = header.split(" ");
+            if (fields.length != 3) {
+                throw new IOException(String.format(MESSAGE_UNEXPECTED_OUTPUT, command, header));
+            }
+
+            try {
+                return new ObjectInfo(fields[0], fields[1], Long.parseLong(fields[2]));
+            } catch (NumberFormatException nfe) {
+                throw new IOException(String.format(MESSAGE_UNEXPECTED_OUTPUT, command, header), nfe);
+            }
+        }
+    }
+
+    /**
+     * Holds the hash, type and size of an object.
+     */
+    public static class ObjectInfo {
+        private final String hash;
+        private final String type;
+        private final long size;
+
+        public ObjectInfo(String hash, String type, long size) {
+            this.hash = hash;
+            this.type = type;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Holds an object together with its contents.
+     */
+    public static class GitObject extends ObjectInfo {
+        private final byte[] contents;
+
+        public GitObject(ObjectInfo objectInfo, byte[] contents) {
+            super(objectInfo.getHash(), objectInfo.getType(), objectInfo.getSize());
+            this.contents = contents;
+        }
+
+        public byte[] getContents() {
+            return contents;
+        }
+
+        /**
+         * Returns the contents of the object decoded as UTF-8 text.
+         */
+        public String getContentsAsString() {
+            return new String(contents, StandardCharsets.UTF_8);
+        }
+    }
+}
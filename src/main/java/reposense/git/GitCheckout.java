@@ -4,7 +4,9 @@ import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.logging.Logger;
 
 import reposense.commits.model.CommitResult;
@@ -16,6 +18,7 @@ import reposense.system.LogsManager;
  * Git branch is responsible for switch branches, revision or restore working tree files.
  */
 public class GitCheckout {
+    public static final String CHECKED_OUT_COMMIT_REFERENCE = "HEAD";
 
     private static final Logger logger = LogsManager.getLogger(GitCheckout.class);
 
@@ -40,7 +43,7 @@ public class GitCheckout {
      */
     public static void checkout(String root, String hash) {
         Path rootPath = Paths.get(root);
-        runCommand(rootPath, "git checkout " + hash);
+        runCommand(rootPath, Arrays.asList("git", "checkout", hash));
     }
 
     /**
@@ -59,7 +62,7 @@ public class GitCheckout {
         }
 
         Path rootPath = Paths.get(root);
-        String checkoutCommand = "git checkout " + hash;
+        List<String> checkoutCommand = Arrays.asList("git", "checkout", hash);
         runCommand(rootPath, checkoutCommand);
     }
 }
@@ -1,12 +1,13 @@
 package reposense.git;
 
 import static reposense.system.CommandRunner.runCommand;
-import static reposense.util.StringsUtil.addQuote;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,7 +52,7 @@ public class GitClone {
 
             Path rootPath = Paths.get(FileUtil.REPOS_ADDRESS, config.getRepoFolderName());
             Files.createDirectories(rootPath);
-            String command = String.format("git clone %s %s", addQuote(config.getLocation().toString()),
+            List<String> command = Arrays.asList("git", "clone", config.getLocation().toString(),
                     config.getRepoName());
             runCommand(rootPath, command);
 
@@ -86,28 +87,25 @@ public class GitClone {
         Path rootPath = Paths.get(FileUtil.REPOS_ADDRESS, config.getRepoFolderName());
         FileUtil.deleteDirectory(Paths.get(rootPath.toString(), outputFolderName).toString());
         Files.createDirectories(rootPath);
-        String command = getCloneBareCommand(config, outputFolderName);
+        List<String> command = getCloneBareCommand(config, outputFolderName);
         runCommand(rootPath, command);
     }
 
     /**
-     * Performs a full clone from {@code clonedBareRepoLocation} into the folder {@code outputFolderName} and
-     * directly branches out to {@code targetBranch}.
+     * Clones the bare repo at {@code sourceBareRepoPath} into the folder {@code outputFolderName} in
+     * {@code rootPath}, as a bare repo. Objects are hard linked instead of copied where possible.
      * @throws IOException if it fails to delete a directory.
      * @throws GitCloneException when an error occurs during command execution.
      */
-    public static void cloneFromBareAndUpdateBranch(Path rootPath, RepoConfiguration config)
+    public static void cloneBareFromPath(Path sourceBareRepoPath, Path rootPath, String outputFolderName)
             throws GitCloneException, IOException {
-        Path relativePath = rootPath.relativize(FileUtil.getBareRepoPath(config));
-        String outputFolderName = Paths.get(config.getRepoFolderName(), config.getRepoName()).toString();
-        FileUtil.deleteDirectory(Paths.get(FileUtil.REPOS_ADDRESS, outputFolderName).toString());
-        String command = String.format(
-                "git clone %s --branch %s %s", relativePath, config.getBranch(), outputFolderName);
+        FileUtil.deleteDirectory(rootPath.resolve(outputFolderName).toString());
+        Files.createDirectories(rootPath);
+        List<String> command = Arrays.asList("git", "clone", "--bare",
+                sourceBareRepoPath.toAbsolutePath().toString(), outputFolderName);
         try {
             runCommand(rootPath, command);
         } catch (RuntimeException rte) {
-            logger.severe("Exception met while cloning or checking out " + config.getDisplayName() + "."
-                    + "Analysis terminated.");
             throw new GitCloneException(rte);
         }
     }
@@ -116,7 +114,7 @@ public class GitClone {
      * Constructs the command to clone a bare repo specified in the {@code config}
      * into the folder {@code outputFolderName}.
      */
-    private static String getCloneBareCommand(RepoConfiguration config, String outputFolderName) {
-        return "git clone --bare " + config.getLocation() + " " + outputFolderName;
+    private static List<String> getCloneBareCommand(RepoConfiguration config, String outputFolderName) {
+        return Arrays.asList("git", "clone", "--bare", config.getLocation().toString(), outputFolderName);
     }
 }
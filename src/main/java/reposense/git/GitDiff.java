@@ -4,8 +4,10 @@ import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Contains git diff related functionalities.
@@ -13,14 +15,24 @@ import java.util.List;
  */
 public class GitDiff {
     private static final String EMPTY_TREE_HASH = "4b825dc642cb6eb9a060e54bf8d69288fbee4904";
-    private static final String CHECKED_OUT_COMMIT_REFERENCE = "HEAD";
 
     /**
      * Returns the git diff result of the current commit compared to {@code lastCommitHash}, without any context.
      */
     public static String diffCommit(String root, String lastCommitHash) {
         Path rootPath = Paths.get(root);
-        return runCommand(rootPath, "git diff -U0 " + lastCommitHash);
+        return runCommand(rootPath, Arrays.asList("git", "diff", "-U0", lastCommitHash));
+    }
+
+    /**
+     * Performs git diff of the {@code untilCommitHash} commit compared to {@code lastCommitHash}, without any context,
+     * and passes each line of the diff result to {@code lineConsumer} as soon as it is produced.
+     */
+    public static void diffCommit(String root, String lastCommitHash, String untilCommitHash,
+            Consumer<String> lineConsumer) {
+        Path rootPath = Paths.get(root);
+        List<String> diffCommand = Arrays.asList("git", "diff", "-U0", lastCommitHash, untilCommitHash);
+        runCommand(rootPath, diffCommand, lineConsumer);
     }
 
     /**
@@ -28,8 +40,17 @@ public class GitDiff {
      * {@code repoRoot}.
      */
     public static List<String> getModifiedFilesList(Path repoRoot) {
-        String diffCommand = String.format("git diff --numstat %s %s", EMPTY_TREE_HASH, CHECKED_OUT_COMMIT_REFERENCE);
-        String diffResult = runCommand(repoRoot.toAbsolutePath(), diffCommand);
-        return Arrays.asList(diffResult.split("\n"));
+        return getModifiedFilesList(repoRoot, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE);
+    }
+
+    /**
+     * Returns a list of the files in the {@code commitHash} commit with the corresponding number of lines added and
+     * deleted in the repo {@code repoRoot}.
+     */
+    public static List<String> getModifiedFilesList(Path repoRoot, String commitHash) {
+        List<String> diffCommand = Arrays.asList("git", "diff", "--numstat", EMPTY_TREE_HASH, commitHash);
+        List<String> modifiedFilesList = new ArrayList<>();
+        runCommand(repoRoot.toAbsolutePath(), diffCommand, modifiedFilesList::add);
+        return modifiedFilesList;
     }
 }
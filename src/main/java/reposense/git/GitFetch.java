@@ -0,0 +1,53 @@
+package reposense.git;
+
+import static reposense.system.CommandRunner.runCommand;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import reposense.system.CommandRunner;
+import reposense.system.CommandRunnerProcess;
+
+/**
+ * Contains git fetch related functionalities.
+ * Git fetch is responsible for downloading the objects and refs from the remote of a repository.
+ */
+public class GitFetch {
+    private static final List<String> FETCH_BRANCHES_AND_TAGS_COMMAND = Arrays.asList(
+            "git", "fetch", "--prune", "origin", "+refs/heads/*:refs/heads/*", "+refs/tags/*:refs/tags/*");
+    private static final Pattern REMOTE_HEAD_PATTERN = Pattern.compile("ref: (?<ref>refs/heads/\\S+)\\s+HEAD");
+
+    /**
+     * Runs "git fetch" command asynchronously to update all the branches and tags of the bare repo at
+     * {@code bareRepoPath} to those of its origin, removing those that no longer exist in the origin.
+     *
+     * @return an instance of {@code CommandRunnerProcess} to allow tracking the status of the fetching process.
+     */
+    public static CommandRunnerProcess fetchBareAsync(Path bareRepoPath) {
+        return CommandRunner.runCommandAsync(bareRepoPath, FETCH_BRANCHES_AND_TAGS_COMMAND);
+    }
+
+    /**
+     * Points the HEAD of the bare repo at {@code bareRepoPath} to the current default branch of its origin, as the
+     * default branch of the origin may have changed since the bare repo was cloned.
+     *
+     * @throws RuntimeException if the default branch of the origin cannot be obtained.
+     */
+    public static void updateHeadToRemoteDefaultBranch(Path bareRepoPath) {
+        List<String> remoteHeadRefs = new ArrayList<>();
+        runCommand(bareRepoPath, Arrays.asList("git", "ls-remote", "--symref", "origin", "HEAD"), line -> {
+            Matcher matcher = REMOTE_HEAD_PATTERN.matcher(line);
+            if (matcher.matches()) {
+                remoteHeadRefs.add(matcher.group("ref"));
+            }
+        });
+
+        if (!remoteHeadRefs.isEmpty()) {
+            runCommand(bareRepoPath, Arrays.asList("git", "symbolic-ref", "HEAD", remoteHeadRefs.get(0)));
+        }
+    }
+}
@@ -4,6 +4,18 @@ import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import reposense.model.Author;
 import reposense.model.RepoConfiguration;
@@ -15,8 +27,11 @@ import reposense.model.RepoConfiguration;
 public class GitLog {
     public static final String COMMIT_INFO_DELIMITER = "(?m)^>>>COMMIT INFO<<<\\n";
 
+    private static final Pattern COMMIT_INFO_DELIMITER_PATTERN = Pattern.compile(">>>COMMIT INFO<<<");
+
+    private static final String ISO_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssXXX";
     private static final String PRETTY_FORMAT_STRING =
-            "\">>>COMMIT INFO<<<%n%H|%n|%aN|%n|%aE|%n|%cI|%n|%s|%n|%w(0,4,4)%b%w(0,0,0)\"";
+            ">>>COMMIT INFO<<<%n%H|%n|%aN|%n|%aE|%n|%cI|%n|%s|%n|%w(0,4,4)%b%w(0,0,0)";
 
     /**
      * Returns the git commit log info of {@code Author}, in the repository specified in {@code config}.
@@ -24,16 +39,103 @@ public class GitLog {
     public static String get(RepoConfiguration config, Author author) {
         Path rootPath = Paths.get(config.getRepoRoot());
 
-        String command = "git log --no-merges -i ";
-        command += GitUtil.convertToGitDateRangeArgs(config.getSinceDate(), config.getUntilDate());
-        command += " --pretty=format:" + PRETTY_FORMAT_STRING + " --shortstat";
-        command += GitUtil.convertToFilterAuthorArgs(author);
-        command += GitUtil.convertToGitFormatsArgs(config.getFileTypeManager().getFormats());
-        command += GitUtil.convertToGitExcludeGlobArgs(rootPath.toFile(), author.getIgnoreGlobList());
+        List<String> command = new ArrayList<>(Arrays.asList("git", "log", "--no-merges", "-i"));
+        command.addAll(GitUtil.convertToGitDateRangeArgs(config.getSinceDate(), config.getUntilDate()));
+        command.add("--pretty=format:" + PRETTY_FORMAT_STRING);
+        command.add("--shortstat");
+        command.add(GitUtil.convertToFilterAuthorArg(author));
+        command.addAll(GitUtil.convertToGitFormatsArgs(config.getFileTypeManager().getFormats()));
+        command.addAll(GitUtil.convertToGitExcludeGlobArgs(rootPath.toFile(), author.getIgnoreGlobList()));
 
         return runCommand(rootPath, command);
     }
 
+    /**
+     * Obtains the git commit log info of all authors, in the repository specified in {@code config}, with the number
+     * of lines added and deleted in each file, and passes the raw info of each commit to {@code commitInfoConsumer} as
+     * soon as it is produced, from the latest commit to the earliest one.
+     * Unlike {@link #get}, the history is only traversed once regardless of the number of authors, but the commits
+     * are neither filtered by author nor by the ignore globs of their authors.
+     */
+    public static void getWithNumstat(RepoConfiguration config, Consumer<String> commitInfoConsumer) {
+        Path rootPath = Paths.get(config.getRepoRoot());
+
+        List<String> command = new ArrayList<>(Arrays.asList("git", "log", "--no-merges"));
+        command.addAll(GitUtil.convertToGitDateRangeArgs(config.getSinceDate(), config.getUntilDate()));
+        command.add("--pretty=format:" + PRETTY_FORMAT_STRING);
+        command.add("--numstat");
+        command.addAll(GitUtil.convertToGitFormatsArgs(config.getFileTypeManager().getFormats()));
+
+        runCommand(rootPath, command, COMMIT_INFO_DELIMITER_PATTERN, commitInfoConsumer);
+    }
+
+    /**
+     * Obtains the git commit log info of all authors of the commits in {@code revisionRange} made since the since date
+     * in {@code config}, in the same format as {@link #getWithNumstat(RepoConfiguration, Consumer)}.
+     * Unlike that method, the commits are not limited by the until date in {@code config}, so that they can be kept
+     * for later analyses of the repository with later until dates, which can check the commits against their until
+     * date through {@link #isCommittedUntil}.
+     */
+    public static void getWithNumstat(RepoConfiguration config, String revisionRange,
+            Consumer<String> commitInfoConsumer) {
+        Path rootPath = Paths.get(config.getRepoRoot());
+
+        List<String> command = new ArrayList<>(Arrays.asList("git", "log", "--no-merges", revisionRange));
+        command.addAll(GitUtil.convertToGitDateRangeArgs(config.getSinceDate(), null));
+        command.add("--pretty=format:" + PRETTY_FORMAT_STRING);
+        command.add("--numstat");
+        command.addAll(GitUtil.convertToGitFormatsArgs(config.getFileTypeManager().getFormats()));
+
+        runCommand(rootPath, command, COMMIT_INFO_DELIMITER_PATTERN, commitInfoConsumer);
+    }
+
+    /**
+     * Returns the paths, as listed by git, of the files modified by the commits that are reachable from either the
+     * {@code fromCommitHash} or the {@code toCommitHash} commit but not both, in the repository at {@code root}.
+     * A file that is not among them has the same history up to either commit.
+     * Merge commits count as modifying a file only if it differs from all their parents, as otherwise the history of
+     * the file is that of the parent it was taken from.
+     */
+    public static Set<String> getModifiedFilePaths(String root, String fromCommitHash, String toCommitHash) {
+        List<String> command = Arrays.asList("git", "log", "-c", "--name-only", "--no-renames", "--format=",
+                fromCommitHash + "..." + toCommitHash);
+
+        Set<String> modifiedFilePaths = new HashSet<>();
+        runCommand(Paths.get(root), command, line -> {
+            if (!line.isEmpty()) {
+                modifiedFilePaths.add(line);
+            }
+        });
+        return modifiedFilePaths;
+    }
+
+    /**
+     * Returns true if a commit with the strict ISO 8601 {@code committerDate} is listed by git log when limited by
+     * {@code untilDate}, or if {@code untilDate} is null.
+     */
+    public static boolean isCommittedUntil(String committerDate, Date untilDate) {
+        if (untilDate == null) {
+            return true;
+        }
+
+        DateFormat isoDateFormat = new SimpleDateFormat(ISO_DATE_FORMAT);
+        try {
+            Date untilTime = isoDateFormat.parse(GitUtil.GIT_LOG_UNTIL_DATE_FORMAT.get().format(untilDate));
+            return !isoDateFormat.parse(committerDate).after(untilTime);
+        } catch (ParseException pe) {
+            throw new IllegalArgumentException("Invalid committer date " + committerDate, pe);
+        }
+    }
+
+    /**
+     * Returns a {@code Predicate} that is true for the file paths, relative to the repository specified in
+     * {@code config}, that are excluded from the git commit log info of {@code author} by its ignore globs.
+     */
+    public static Predicate<String> getIgnoredFilePathPredicate(RepoConfiguration config, Author author) {
+        return GitUtil.convertToGitExcludeGlobPredicate(
+                Paths.get(config.getRepoRoot()).toFile(), author.getIgnoreGlobList());
+    }
+
     /**
      * Returns the git commit log info of {@code Author}, with the files changed, in the repository specified in
      * {@code config}.
@@ -41,12 +143,13 @@ public class GitLog {
     public static String getWithFiles(RepoConfiguration config, Author author) {
         Path rootPath = Paths.get(config.getRepoRoot());
 
-        String command = "git log --no-merges -i ";
-        command += GitUtil.convertToGitDateRangeArgs(config.getSinceDate(), config.getUntilDate());
-        command += " --pretty=format:" + PRETTY_FORMAT_STRING + " --stat";
-        command += GitUtil.convertToFilterAuthorArgs(author);
-        command += GitUtil.convertToGitFormatsArgs(config.getFileTypeManager().getFormats());
-        command += GitUtil.convertToGitExcludeGlobArgs(rootPath.toFile(), author.getIgnoreGlobList());
+        List<String> command = new ArrayList<>(Arrays.asList("git", "log", "--no-merges", "-i"));
+        command.addAll(GitUtil.convertToGitDateRangeArgs(config.getSinceDate(), config.getUntilDate()));
+        command.add("--pretty=format:" + PRETTY_FORMAT_STRING);
+        command.add("--stat");
+        command.add(GitUtil.convertToFilterAuthorArg(author));
+        command.addAll(GitUtil.convertToGitFormatsArgs(config.getFileTypeManager().getFormats()));
+        command.addAll(GitUtil.convertToGitExcludeGlobArgs(rootPath.toFile(), author.getIgnoreGlobList()));
 
         return runCommand(rootPath, command);
     }
@@ -0,0 +1,84 @@
+package reposense.git;
+
+import static reposense.system.CommandRunner.runCommand;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import reposense.model.RepoLocation;
+
+/**
+ * Contains git ls-remote related functionalities.
+ * Git ls-remote is responsible for listing the references of a repository without cloning it.
+ */
+public class GitLsRemote {
+    private static final String HEAD_REF = "HEAD";
+    private static final String BRANCH_REF_PREFIX = "refs/heads/";
+    private static final String SYMBOLIC_REF_PREFIX = "ref: ";
+    private static final String REF_SEPARATOR = "\t";
+
+    /**
+     * Returns the tips of {@code branches} and the default branch of the repository at {@code location}, which may be
+     * a remote repository or a local path, by listing its references once.
+     */
+    public static BranchTips getBranchTips(RepoLocation location, List<String> branches) {
+        List<String> command = new ArrayList<>(
+                Arrays.asList("git", "ls-remote", "--symref", location.toString(), HEAD_REF));
+        branches.stream()
+                .filter(branch -> !branch.equals(HEAD_REF))
+                .forEach(branch -> command.add(BRANCH_REF_PREFIX + branch));
+
+        BranchTips branchTips = new BranchTips();
+        runCommand(Paths.get("."), command, branchTips::addRef);
+        return branchTips;
+    }
+
+    /**
+     * Holds the commit at the tip of each branch listed by git ls-remote, and the default branch of the repository.
+     */
+    public static class BranchTips {
+        private final Map<String, String> commitHashes = new HashMap<>();
+        private String defaultBranch;
+
+        /**
+         * Records the reference listed by git ls-remote in {@code line}, if it is HEAD or a branch.
+         */
+        private void addRef(String line) {
+            String[] elements = line.split(REF_SEPARATOR, 2);
+            if (elements.length < 2) {
+                return;
+            }
+
+            if (elements[0].startsWith(SYMBOLIC_REF_PREFIX) && elements[1].equals(HEAD_REF)) {
+                String target = elements[0].substring(SYMBOLIC_REF_PREFIX.length());
+                if (target.startsWith(BRANCH_REF_PREFIX)) {
+                    defaultBranch = target.substring(BRANCH_REF_PREFIX.length());
+                }
+            } else if (elements[1].equals(HEAD_REF)) {
+                commitHashes.put(HEAD_REF, elements[0]);
+            } else if (elements[1].startsWith(BRANCH_REF_PREFIX)) {
+                commitHashes.put(elements[1].substring(BRANCH_REF_PREFIX.length()), elements[0]);
+            }
+        }
+
+        /**
+         * Returns the name of the branch that the HEAD of the repository refers to, if it is known.
+         */
+        public Optional<String> getDefaultBranch() {
+            return Optional.ofNullable(defaultBranch);
+        }
+
+        /**
+         * Returns the hash of the commit at the tip of {@code branch}, which is the default branch if {@code branch}
+         * is HEAD, if the branch exists.
+         */
+        public Optional<String> getCommitHash(String branch) {
+            return Optional.ofNullable(commitHashes.get(branch));
+        }
+    }
+}
@@ -3,6 +3,10 @@ package reposense.git;
 import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -40,30 +44,29 @@ public class GitLsTree {
             return;
         }
 
-        boolean hasError = false;
-        String[] paths = getFilePaths(clonedBareRepoDirectory, config);
-
-        for (String path : paths) {
-            path = StringsUtil.removeQuote(path);
+        List<String> invalidPaths = new ArrayList<>();
+        getFilePaths(clonedBareRepoDirectory, config, rawPath -> {
+            String path = StringsUtil.removeQuote(rawPath);
             Matcher matcher = ILLEGAL_WINDOWS_CHARACTER_PATTERN.matcher(path);
 
             if (matcher.find()) {
                 logger.log(Level.SEVERE, String.format(MESSAGE_INVALID_PATH, path, matcher.group()));
-                hasError = true;
+                invalidPaths.add(path);
             }
-        }
+        });
 
-        if (hasError) {
+        if (!invalidPaths.isEmpty()) {
             throw new InvalidFilePathException("Invalid file paths found in " + config.getLocation());
         }
     }
 
     /**
-     * Returns an Array of {@code String} containing file paths of all tracked files.
+     * Passes the file path of each tracked file to {@code pathConsumer}.
      */
-    private static String[] getFilePaths(Path clonedRepoDirectory, RepoConfiguration config) {
-        String command = "git ls-tree --name-only -r " + config.getBranch();
+    private static void getFilePaths(Path clonedRepoDirectory, RepoConfiguration config,
+            Consumer<String> pathConsumer) {
+        List<String> command = Arrays.asList("git", "ls-tree", "--name-only", "-r", config.getBranch());
 
-        return runCommand(clonedRepoDirectory, command).split("\n");
+        runCommand(clonedRepoDirectory, command, pathConsumer);
     }
 }
@@ -0,0 +1,30 @@
+package reposense.git;
+
+import static reposense.system.CommandRunner.runCommand;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contains git merge base related functionalities.
+ * Git merge base is responsible for finding the common ancestors of commits.
+ */
+public class GitMergeBase {
+
+    /**
+     * Returns true if the {@code ancestorCommitHash} commit is the same as, or an ancestor of, the
+     * {@code descendantCommitHash} commit in the repository at {@code root}.
+     * Returns false otherwise, including when either commit no longer exists after the history was rewritten.
+     */
+    public static boolean isAncestor(String root, String ancestorCommitHash, String descendantCommitHash) {
+        List<String> command =
+                Arrays.asList("git", "merge-base", "--is-ancestor", ancestorCommitHash, descendantCommitHash);
+        try {
+            runCommand(Paths.get(root), command);
+            return true;
+        } catch (RuntimeException re) {
+            return false;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Contains git rev list related functionalities.
@@ -12,7 +14,7 @@ import java.util.Date;
  */
 public class GitRevList {
 
-    private static final String REVISION_PATH_SEPARATOR = " -- ";
+    private static final String REVISION_PATH_SEPARATOR = "--";
 
     /**
      * Returns the latest commit hash before {@code date}.
@@ -24,8 +26,9 @@ public class GitRevList {
         }
 
         Path rootPath = Paths.get(root);
-        String revListCommand = "git rev-list -1 --before="
-                + GitUtil.GIT_LOG_SINCE_DATE_FORMAT.format(date) + " " + branchName + REVISION_PATH_SEPARATOR;
+        List<String> revListCommand = Arrays.asList("git", "rev-list", "-1",
+                "--before=" + GitUtil.GIT_LOG_SINCE_DATE_FORMAT.get().format(date), branchName,
+                REVISION_PATH_SEPARATOR);
         return runCommand(rootPath, revListCommand);
     }
 
@@ -39,8 +42,9 @@ public class GitRevList {
         }
 
         Path rootPath = Paths.get(root);
-        String revListCommand = "git rev-list -1 --before="
-                + GitUtil.GIT_LOG_UNTIL_DATE_FORMAT.format(date) + " " + branchName + REVISION_PATH_SEPARATOR;
+        List<String> revListCommand = Arrays.asList("git", "rev-list", "-1",
+                "--before=" + GitUtil.GIT_LOG_UNTIL_DATE_FORMAT.get().format(date), branchName,
+                REVISION_PATH_SEPARATOR);
         return runCommand(rootPath, revListCommand);
     }
 }
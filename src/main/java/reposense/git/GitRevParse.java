@@ -1,6 +1,9 @@
 package reposense.git;
 
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 import reposense.git.exception.GitBranchException;
 import reposense.model.RepoConfiguration;
@@ -16,11 +19,19 @@ public class GitRevParse {
      * @throws GitBranchException when the branch does not exist.
      */
     public static void assertBranchExists(RepoConfiguration config, Path repoRoot) throws GitBranchException {
-        String command = String.format("git rev-parse --verify %s", config.getBranch());
+        List<String> command = Arrays.asList("git", "rev-parse", "--verify", config.getBranch());
         try {
             CommandRunner.runCommand(repoRoot, command);
         } catch (RuntimeException rte) {
             throw new GitBranchException(rte);
         }
     }
+
+    /**
+     * Returns the full hash of the commit that {@code revision} refers to in the repository at {@code root}.
+     */
+    public static String getCommitHash(String root, String revision) {
+        List<String> command = Arrays.asList("git", "rev-parse", "--verify", revision);
+        return CommandRunner.runCommand(Paths.get(root), command).trim();
+    }
 }
@@ -4,10 +4,12 @@ import static reposense.system.CommandRunner.runCommand;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import reposense.model.Author;
@@ -18,30 +20,34 @@ import reposense.model.RepoConfiguration;
  * Git shortlog provides a summary of git log output.
  */
 public class GitShortlog {
+    // the author name after mapping through the .mailmap file, which is also what git shortlog groups commits by
+    private static final String AUTHOR_NAME_FORMAT = "--format=%aN";
 
     /**
      * Extracts all the author identities from the repository and date range given in {@code config}.
      */
     public static List<Author> getAuthors(RepoConfiguration config) {
-        String summary = getShortlogSummary(
-                config.getRepoRoot(), config.getSinceDate(), config.getUntilDate());
-
-        if (summary.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        String[] lines = summary.split("\n");
-        return Arrays.stream(lines)
-                .map(line -> new Author(line.split("\t")[1]))
+        return getAuthorNames(config.getRepoRoot(), config.getSinceDate(), config.getUntilDate()).stream()
+                .map(Author::new)
                 .collect(Collectors.toList());
     }
 
-    private static String getShortlogSummary(String root, Date sinceDate, Date untilDate) {
+    /**
+     * Returns the names of the authors of the commits of the repository at {@code root}, in the same order as the
+     * summary of git shortlog lists them. The author names are grouped from a single git log instead of piping the
+     * log into git shortlog, which would require the command to be run in a shell.
+     */
+    private static Set<String> getAuthorNames(String root, Date sinceDate, Date untilDate) {
         Path rootPath = Paths.get(root);
-        String command = "git log --pretty=short";
-        command += GitUtil.convertToGitDateRangeArgs(sinceDate, untilDate);
-        command += " | git shortlog --summary";
-
-        return runCommand(rootPath, command);
+        List<String> command = new ArrayList<>(Arrays.asList("git", "log", AUTHOR_NAME_FORMAT));
+        command.addAll(GitUtil.convertToGitDateRangeArgs(sinceDate, untilDate));
+
+        Set<String> authorNames = new TreeSet<>();
+        runCommand(rootPath, command, line -> {
+            if (!line.isEmpty()) {
+                authorNames.add(line);
+            }
+        });
+        return authorNames;
     }
 }
@@ -1,7 +1,5 @@
 package reposense.git;
 
-import static reposense.util.StringsUtil.addQuote;
-
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileSystem;
@@ -10,10 +8,14 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import reposense.model.Author;
 import reposense.model.FileType;
@@ -24,8 +26,11 @@ import reposense.util.StringsUtil;
  * Contains Git related utilities.
  */
 class GitUtil {
-    static final DateFormat GIT_LOG_SINCE_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss+08:00");
-    static final DateFormat GIT_LOG_UNTIL_DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss+08:00");
+    // DateFormat is not thread-safe, hence each thread analyzing repos gets its own instance
+    static final ThreadLocal<DateFormat> GIT_LOG_SINCE_DATE_FORMAT =
+            ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss+08:00"));
+    static final ThreadLocal<DateFormat> GIT_LOG_UNTIL_DATE_FORMAT =
+            ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss+08:00"));
     private static final Logger logger = LogsManager.getLogger(GitUtil.class);
 
     // ignore check against email
@@ -36,71 +41,159 @@ class GitUtil {
 
     private static final String OR_OPERATOR_PATTERN = "\\|";
 
+    private static final String PATHSPEC_SEPARATOR = "--";
+    private static final String FORMAT_PATHSPEC = "*.%s";
+    private static final String EXCLUDE_PATHSPEC = ":(exclude)%s";
+
+    private static final Pattern PATHSPEC_WILDCARD_PATTERN = Pattern.compile("[*?\\[\\\\]");
+    private static final String REGEX_META_CHARACTERS = "\\.[]{}()<>*+-=!?^$|";
+
     /**
-     * Returns the {@code String} command to specify the date range of commits to analyze for `git` commands.
+     * Returns the arguments to specify the date range of commits to analyze for `git` commands.
      */
-    static String convertToGitDateRangeArgs(Date sinceDate, Date untilDate) {
-        String gitDateRangeArgs = "";
+    static List<String> convertToGitDateRangeArgs(Date sinceDate, Date untilDate) {
+        List<String> gitDateRangeArgs = new ArrayList<>();
 
         if (sinceDate != null) {
-            gitDateRangeArgs += " --since=" + addQuote(GIT_LOG_SINCE_DATE_FORMAT.format(sinceDate));
+            gitDateRangeArgs.add("--since=" + GIT_LOG_SINCE_DATE_FORMAT.get().format(sinceDate));
         }
         if (untilDate != null) {
-            gitDateRangeArgs += " --until=" + addQuote(GIT_LOG_UNTIL_DATE_FORMAT.format(untilDate));
+            gitDateRangeArgs.add("--until=" + GIT_LOG_UNTIL_DATE_FORMAT.get().format(untilDate));
         }
 
         return gitDateRangeArgs;
     }
 
     /**
-     * Returns the {@code String} command to specify the authors to analyze for `git log` command.
+     * Returns the argument to specify the authors to analyze for `git log` command.
      */
-    static String convertToFilterAuthorArgs(Author author) {
-        StringBuilder filterAuthorArgsBuilder = new StringBuilder(" --author=\"");
+    static String convertToFilterAuthorArg(Author author) {
+        StringBuilder filterAuthorArgBuilder = new StringBuilder("--author=");
 
         // git author names and emails may contain regex meta-characters, so we need to escape those
         author.getAuthorAliases().stream()
                 .map(authorAlias -> String.format(AUTHOR_NAME_PATTERN,
                         StringsUtil.replaceSpecialSymbols(authorAlias, ".")) + OR_OPERATOR_PATTERN)
-                .forEach(filterAuthorArgsBuilder::append);
+                .forEach(filterAuthorArgBuilder::append);
         author.getEmails().stream()
                 .map(email -> String.format(AUTHOR_EMAIL_PATTERN,
                         StringsUtil.replaceSpecialSymbols(email, ".")) + OR_OPERATOR_PATTERN)
-                .forEach(filterAuthorArgsBuilder::append);
+                .forEach(filterAuthorArgBuilder::append);
 
-        filterAuthorArgsBuilder.append(
+        filterAuthorArgBuilder.append(
                 String.format(AUTHOR_NAME_PATTERN,
-                        StringsUtil.replaceSpecialSymbols(author.getGitId(), "."))).append("\"");
-        return filterAuthorArgsBuilder.toString();
+                        StringsUtil.replaceSpecialSymbols(author.getGitId(), ".")));
+        return filterAuthorArgBuilder.toString();
     }
 
     /**
-     * Returns the {@code String} command to specify the file formats to analyze for `git` commands.
+     * Returns the arguments to specify the file formats to analyze for `git` commands, which start the pathspecs of
+     * the command. Returns no arguments if {@code formats} is empty.
      */
-    public static String convertToGitFormatsArgs(List<FileType> formats) {
-        StringBuilder gitFormatsArgsBuilder = new StringBuilder();
-        final String cmdFormat = " -- " + addQuote("*.%s");
-        formats.stream()
-                .map(format -> String.format(cmdFormat, format.toString()))
-                .forEach(gitFormatsArgsBuilder::append);
+    public static List<String> convertToGitFormatsArgs(List<FileType> formats) {
+        List<String> gitFormatsArgs = new ArrayList<>();
+        if (formats.isEmpty()) {
+            return gitFormatsArgs;
+        }
 
-        return gitFormatsArgsBuilder.toString();
+        gitFormatsArgs.add(PATHSPEC_SEPARATOR);
+        formats.stream()
+                .map(format -> String.format(FORMAT_PATHSPEC, format.toString()))
+                .forEach(gitFormatsArgs::add);
+        return gitFormatsArgs;
     }
 
     /**
-     * Returns the {@code String} command to specify the globs to exclude for `git log` command.
+     * Returns the arguments to specify the globs to exclude for `git log` command, which are pathspecs that must
+     * follow those returned by {@link #convertToGitFormatsArgs}.
      * Also checks that every glob in {@code ignoreGlobList} only targets files within the given repository
      * {@code root}.
      */
-    public static String convertToGitExcludeGlobArgs(File root, List<String> ignoreGlobList) {
-        StringBuilder gitExcludeGlobArgsBuilder = new StringBuilder();
-        final String cmdFormat = " " + addQuote(":(exclude)%s");
-        ignoreGlobList.stream()
+    public static List<String> convertToGitExcludeGlobArgs(File root, List<String> ignoreGlobList) {
+        return ignoreGlobList.stream()
                 .filter(item -> isValidIgnoreGlob(root, item))
-                .map(ignoreGlob -> String.format(cmdFormat, ignoreGlob))
-                .forEach(gitExcludeGlobArgsBuilder::append);
+                .map(ignoreGlob -> String.format(EXCLUDE_PATHSPEC, ignoreGlob))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a {@code Predicate} that is true for the file paths, relative to the repository {@code root}, that are
+     * excluded by the globs returned by {@link #convertToGitExcludeGlobArgs} for the same {@code ignoreGlobList}.
+     */
+    static Predicate<String> convertToGitExcludeGlobPredicate(File root, List<String> ignoreGlobList) {
+        List<Pattern> excludePatterns = ignoreGlobList.stream()
+                .filter(item -> isValidIgnoreGlob(root, item))
+                .map(GitUtil::convertPathspecToPattern)
+                .collect(Collectors.toList());
+
+        return filePath -> excludePatterns.stream().anyMatch(pattern -> pattern.matcher(filePath).matches());
+    }
 
-        return gitExcludeGlobArgsBuilder.toString();
+    /**
+     * Converts {@code pathspec} into a {@code Pattern} that matches the same file paths as git does.
+     * A pathspec without wildcards matches the file or the directory it names, while the wildcards of a pathspec
+     * also match across directory separators.
+     */
+    private static Pattern convertPathspecToPattern(String pathspec) {
+        String normalizedPathspec = pathspec.replaceAll("^(\\./)+", "").replaceAll("/+$", "");
+
+        if (!PATHSPEC_WILDCARD_PATTERN.matcher(normalizedPathspec).find()) {
+            return Pattern.compile(Pattern.quote(normalizedPathspec) + "(/.*)?");
+        }
+
+        StringBuilder regexBuilder = new StringBuilder();
+        for (int i = 0; i < normalizedPathspec.length(); i++) {
+            char c = normalizedPathspec.charAt(i);
+            switch (c) {
+            case '*':
+                regexBuilder.append(".*");
+                break;
+            case '?':
+                regexBuilder.append('.');
+                break;
+            case '[':
+                int classEnd = normalizedPathspec.indexOf(']', i + 2);
+                if (classEnd == -1) {
+                    appendLiteral(regexBuilder, c);
+                    break;
+                }
+                regexBuilder.append('[');
+                int classStart = i + 1;
+                if (normalizedPathspec.charAt(classStart) == '!' || normalizedPathspec.charAt(classStart) == '^') {
+                    regexBuilder.append('^');
+                    classStart++;
+                }
+                for (int j = classStart; j < classEnd; j++) {
+                    char classCharacter = normalizedPathspec.charAt(j);
+                    if (classCharacter == '-' && j != classStart && j != classEnd - 1) {
+                        regexBuilder.append(classCharacter);
+                    } else {
+                        appendLiteral(regexBuilder, classCharacter);
+                    }
+                }
+                regexBuilder.append(']');
+                i = classEnd;
+                break;
+            case '\\':
+                if (i + 1 < normalizedPathspec.length()) {
+                    appendLiteral(regexBuilder, normalizedPathspec.charAt(++i));
+                }
+                break;
+            default:
+                appendLiteral(regexBuilder, c);
+            }
+        }
+        return Pattern.compile(regexBuilder.toString());
+    }
+
+    /**
+     * Appends {@code c} to {@code regexBuilder}, escaping it if it is a regex meta-character.
+     */
+    private static void appendLiteral(StringBuilder regexBuilder, char c) {
+        if (REGEX_META_CHARACTERS.indexOf(c) != -1) {
+            regexBuilder.append('\\');
+        }
+        regexBuilder.append(c);
     }
 
     /**
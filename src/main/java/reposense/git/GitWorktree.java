@@ -0,0 +1,66 @@
+package reposense.git;
+
+import static reposense.system.CommandRunner.runCommand;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import reposense.git.exception.GitCloneException;
+import reposense.model.RepoConfiguration;
+import reposense.system.LogsManager;
+import reposense.util.FileUtil;
+
+/**
+ * Contains git worktree related functionalities.
+ * Git worktree is responsible for managing working trees that share the objects and refs of a single repository.
+ */
+public class GitWorktree {
+    private static final Logger logger = LogsManager.getLogger(GitWorktree.class);
+
+    private static final List<String> PRUNE_COMMAND = Arrays.asList("git", "worktree", "prune");
+
+    /**
+     * Checks out the branch of {@code config} from its bare repo into a working tree at the repo root of
+     * {@code config}. The working tree shares the objects of the bare repo, hence none of them are copied.
+     * Replaces any working tree previously checked out at the repo root.
+     * @throws IOException if it fails to delete a directory.
+     * @throws GitCloneException when an error occurs during command execution.
+     */
+    public static void add(RepoConfiguration config) throws GitCloneException, IOException {
+        Path bareRepoPath = FileUtil.getBareRepoPath(config);
+        Path worktreePath = Paths.get(config.getRepoRoot()).toAbsolutePath();
+        FileUtil.deleteDirectory(worktreePath.toString());
+
+        try {
+            runCommand(bareRepoPath, PRUNE_COMMAND);
+            runCommand(bareRepoPath,
+                    Arrays.asList("git", "worktree", "add", worktreePath.toString(), config.getBranch()));
+        } catch (RuntimeException rte) {
+            logger.severe("Exception met while checking out " + config.getDisplayName() + "."
+                    + "Analysis terminated.");
+            throw new GitCloneException(rte);
+        }
+    }
+
+    /**
+     * Removes the working tree at the repo root of {@code config} that was checked out by {@link #add}, together
+     * with its administrative files in the bare repo.
+     */
+    public static void remove(RepoConfiguration config) {
+        Path bareRepoPath = FileUtil.getBareRepoPath(config);
+        Path worktreePath = Paths.get(config.getRepoRoot()).toAbsolutePath();
+
+        try {
+            FileUtil.deleteDirectory(worktreePath.toString());
+            runCommand(bareRepoPath, PRUNE_COMMAND);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Exception met while removing the working tree of "
+                    + config.getDisplayName() + ".", e);
+        }
+    }
+}
@@ -199,6 +199,8 @@ public class AuthorConfiguration {
     /**
      * Attempts to find matching {@code Author} given a name and an email.
      * If no matching {@code Author} is found, {@code Author#UNKNOWN_AUTHOR} is returned.
+     * Only reads the author maps, hence it is safe to be called concurrently by the file analysis threads as long as
+     * this configuration is not modified while the analysis is running.
      */
     public Author getAuthor(String name, String email) {
         if (authorEmailsAndAliasesMap.containsKey(name)) {
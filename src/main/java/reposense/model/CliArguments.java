@@ -4,6 +4,7 @@ import java.nio.file.Path;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Represents command line arguments user supplied when running the program.
@@ -18,11 +19,57 @@ public abstract class CliArguments {
     protected boolean isAutomaticallyLaunching;
     protected boolean isStandaloneConfigIgnored;
     protected ZoneId zoneId;
+    protected int numThreads;
+    protected int numCloneThreads;
+    protected int numAnalysisThreads;
+    protected Optional<Path> cloneCachePath;
+    protected int cloneCacheLimit;
+    protected Optional<Path> blameCachePath;
+    protected int blameCacheLimit;
+    protected boolean isCompactJson;
 
     public ZoneId getZoneId() {
         return zoneId;
     }
 
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    public int getNumCloneThreads() {
+        return numCloneThreads;
+    }
+
+    public int getNumAnalysisThreads() {
+        return numAnalysisThreads;
+    }
+
+    public Optional<Path> getCloneCachePath() {
+        return cloneCachePath;
+    }
+
+    /**
+     * Returns the size limit of the clone cache in megabytes.
+     */
+    public int getCloneCacheLimit() {
+        return cloneCacheLimit;
+    }
+
+    public Optional<Path> getBlameCachePath() {
+        return blameCachePath;
+    }
+
+    /**
+     * Returns the size limit of the blame cache in megabytes.
+     */
+    public int getBlameCacheLimit() {
+        return blameCacheLimit;
+    }
+
+    public boolean isCompactJson() {
+        return isCompactJson;
+    }
+
     public Path getOutputFilePath() {
         return outputFilePath;
     }
@@ -77,6 +124,14 @@ public abstract class CliArguments {
                 && this.formats.equals(otherCliArguments.formats)
                 && this.isAutomaticallyLaunching == otherCliArguments.isAutomaticallyLaunching
                 && this.isStandaloneConfigIgnored == otherCliArguments.isStandaloneConfigIgnored
-                && this.zoneId.equals(otherCliArguments.zoneId);
+                && this.zoneId.equals(otherCliArguments.zoneId)
+                && this.numThreads == otherCliArguments.numThreads
+                && this.numCloneThreads == otherCliArguments.numCloneThreads
+                && this.numAnalysisThreads == otherCliArguments.numAnalysisThreads
+                && this.cloneCachePath.equals(otherCliArguments.cloneCachePath)
+                && this.cloneCacheLimit == otherCliArguments.cloneCacheLimit
+                && this.blameCachePath.equals(otherCliArguments.blameCachePath)
+                && this.blameCacheLimit == otherCliArguments.blameCacheLimit
+                && this.isCompactJson == otherCliArguments.isCompactJson;
     }
 }
@@ -5,6 +5,7 @@ import java.nio.file.Paths;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import reposense.parser.AuthorConfigCsvParser;
 import reposense.parser.GroupConfigCsvParser;
@@ -24,7 +25,9 @@ public class ConfigCliArguments extends CliArguments {
     public ConfigCliArguments(Path configFolderPath, Path outputFilePath, Date sinceDate,
             Date untilDate, boolean isSinceDateProvided, boolean isUntilDateProvided,
             List<FileType> formats, boolean isAutomaticallyLaunching,
-            boolean isStandaloneConfigIgnored, ZoneId zoneId) {
+            boolean isStandaloneConfigIgnored, ZoneId zoneId, int numThreads,
+            int numCloneThreads, int numAnalysisThreads, Optional<Path> cloneCachePath, int cloneCacheLimit,
+            Optional<Path> blameCachePath, int blameCacheLimit, boolean isCompactJson) {
         this.configFolderPath = configFolderPath.equals(EMPTY_PATH)
                 ? configFolderPath.toAbsolutePath()
                 : configFolderPath;
@@ -40,6 +43,14 @@ public class ConfigCliArguments extends CliArguments {
         this.isAutomaticallyLaunching = isAutomaticallyLaunching;
         this.isStandaloneConfigIgnored = isStandaloneConfigIgnored;
         this.zoneId = zoneId;
+        this.numThreads = numThreads;
+        this.numCloneThreads = numCloneThreads;
+        this.numAnalysisThreads = numAnalysisThreads;
+        this.cloneCachePath = cloneCachePath;
+        this.cloneCacheLimit = cloneCacheLimit;
+        this.blameCachePath = blameCachePath;
+        this.blameCacheLimit = blameCacheLimit;
+        this.isCompactJson = isCompactJson;
     }
 
     public Path getConfigFolderPath() {
@@ -6,6 +6,7 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import com.google.gson.JsonElement;
@@ -53,6 +54,10 @@ public class FileType {
         setPathsGlobMatcher(paths);
     }
 
+    public List<String> getPaths() {
+        return paths;
+    }
+
     public boolean isFileGlobMatching(String fileName) {
         return pathsGlob.matches(Paths.get(fileName));
     }
@@ -82,6 +87,11 @@ public class FileType {
         return this.label.equals(otherFileType.label) && this.paths.equals(otherFileType.paths);
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(label, paths);
+    }
+
     /**
      * Overrides the Gson serializer to serialize only the label of each file type instead on the entire object.
      */
@@ -4,6 +4,7 @@ import java.nio.file.Path;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Represents command line arguments user supplied when running the program with mandatory field -repos.
@@ -13,7 +14,9 @@ public class LocationsCliArguments extends CliArguments {
 
     public LocationsCliArguments(List<String> locations, Path outputFilePath, Date sinceDate,
             Date untilDate, boolean isSinceDateProvided, boolean isUntilDateProvided, List<FileType> formats,
-            boolean isAutomaticallyLaunching, boolean isStandaloneConfigIgnored, ZoneId zoneId) {
+            boolean isAutomaticallyLaunching, boolean isStandaloneConfigIgnored, ZoneId zoneId, int numThreads,
+            int numCloneThreads, int numAnalysisThreads, Optional<Path> cloneCachePath, int cloneCacheLimit,
+            Optional<Path> blameCachePath, int blameCacheLimit, boolean isCompactJson) {
         this.locations = locations;
         this.outputFilePath = outputFilePath;
         this.sinceDate = sinceDate;
@@ -24,6 +27,14 @@ public class LocationsCliArguments extends CliArguments {
         this.isAutomaticallyLaunching = isAutomaticallyLaunching;
         this.isStandaloneConfigIgnored = isStandaloneConfigIgnored;
         this.zoneId = zoneId;
+        this.numThreads = numThreads;
+        this.numCloneThreads = numCloneThreads;
+        this.numAnalysisThreads = numAnalysisThreads;
+        this.cloneCachePath = cloneCachePath;
+        this.cloneCacheLimit = cloneCacheLimit;
+        this.blameCachePath = blameCachePath;
+        this.blameCacheLimit = blameCacheLimit;
+        this.isCompactJson = isCompactJson;
     }
 
     public List<String> getLocations() {
@@ -32,6 +32,11 @@ import reposense.system.LogsManager;
  */
 public class ArgsParser {
     public static final String DEFAULT_REPORT_NAME = "reposense-report";
+    public static final int DEFAULT_NUM_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_NUM_CLONE_THREADS = 4;
+    public static final int DEFAULT_NUM_ANALYSIS_THREADS = 2;
+    public static final int DEFAULT_CLONE_CACHE_LIMIT = 10240;
+    public static final int DEFAULT_BLAME_CACHE_LIMIT = 1024;
 
     public static final String[] HELP_FLAGS = new String[]{"--help", "-h"};
     public static final String[] CONFIG_FLAGS = new String[]{"--config", "-c"};
@@ -44,6 +49,14 @@ public class ArgsParser {
     public static final String[] IGNORE_FLAGS = new String[]{"--ignore-standalone-config", "-i"};
     public static final String[] TIMEZONE_FLAGS = new String[]{"--timezone", "-t"};
     public static final String[] VERSION_FLAGS = new String[]{"--version", "-V"};
+    public static final String[] THREADS_FLAGS = new String[]{"--threads"};
+    public static final String[] CLONE_THREADS_FLAGS = new String[]{"--clone-threads"};
+    public static final String[] ANALYSIS_THREADS_FLAGS = new String[]{"--analysis-threads"};
+    public static final String[] CLONE_CACHE_FLAGS = new String[]{"--clone-cache"};
+    public static final String[] CLONE_CACHE_LIMIT_FLAGS = new String[]{"--clone-cache-limit"};
+    public static final String[] BLAME_CACHE_FLAGS = new String[]{"--blame-cache"};
+    public static final String[] BLAME_CACHE_LIMIT_FLAGS = new String[]{"--blame-cache-limit"};
+    public static final String[] COMPACT_JSON_FLAGS = new String[]{"--compact-json"};
 
     private static final Logger logger = LogsManager.getLogger(ArgsParser.class);
 
@@ -85,6 +98,11 @@ public class ArgsParser {
                 .action(Arguments.storeTrue())
                 .help("A flag to ignore the standalone config file in the repo.");
 
+        parser.addArgument(COMPACT_JSON_FLAGS)
+                .dest(COMPACT_JSON_FLAGS[0])
+                .action(Arguments.storeTrue())
+                .help("A flag to write the JSON files of the report without indentation and line breaks.");
+
         parser.addArgument(VIEW_FLAGS)
                 .dest(VIEW_FLAGS[0])
                 .nargs("?")
@@ -150,6 +168,68 @@ public class ArgsParser {
                         + "One kind of valid timezones is relative to UTC. E.g. UTC, UTC+08, UTC-1030. \n"
                         + "If not provided, system default timezone will be used.");
 
+        parser.addArgument(THREADS_FLAGS)
+                .dest(THREADS_FLAGS[0])
+                .metavar("NUM_THREADS")
+                .type(new PositiveIntegerArgumentType())
+                .setDefault(DEFAULT_NUM_THREADS)
+                .help("The number of files to analyze concurrently, shared by the repositories being analyzed. "
+                        + "If not provided, the number of available processors will be used.");
+
+        parser.addArgument(CLONE_THREADS_FLAGS)
+                .dest(CLONE_THREADS_FLAGS[0])
+                .metavar("NUM_THREADS")
+                .type(new PositiveIntegerArgumentType())
+                .setDefault(DEFAULT_NUM_CLONE_THREADS)
+                .help("The number of repositories to clone concurrently. "
+                        + "If not provided, " + DEFAULT_NUM_CLONE_THREADS + " repositories will be cloned "
+                        + "concurrently.");
+
+        parser.addArgument(ANALYSIS_THREADS_FLAGS)
+                .dest(ANALYSIS_THREADS_FLAGS[0])
+                .metavar("NUM_THREADS")
+                .type(new PositiveIntegerArgumentType())
+                .setDefault(DEFAULT_NUM_ANALYSIS_THREADS)
+                .help("The number of cloned repositories to analyze concurrently. "
+                        + "If not provided, " + DEFAULT_NUM_ANALYSIS_THREADS + " repositories will be analyzed "
+                        + "concurrently.");
+
+        parser.addArgument(CLONE_CACHE_FLAGS)
+                .dest(CLONE_CACHE_FLAGS[0])
+                .metavar("PATH")
+                .type(new CloneCacheFolderArgumentType())
+                .setDefault(Optional.empty())
+                .help("The directory to keep bare clones of the repositories in between runs, so that only new "
+                        + "commits need to be fetched in later runs. "
+                        + "If not provided, repositories will be cloned afresh in every run.");
+
+        parser.addArgument(CLONE_CACHE_LIMIT_FLAGS)
+                .dest(CLONE_CACHE_LIMIT_FLAGS[0])
+                .metavar("MEGABYTES")
+                .type(new PositiveIntegerArgumentType())
+                .setDefault(DEFAULT_CLONE_CACHE_LIMIT)
+                .help("The size the clone cache may grow to before its least recently used repositories are "
+                        + "evicted. If not provided, a limit of " + DEFAULT_CLONE_CACHE_LIMIT
+                        + " megabytes will be used.");
+
+        parser.addArgument(BLAME_CACHE_FLAGS)
+                .dest(BLAME_CACHE_FLAGS[0])
+                .metavar("PATH")
+                .type(new CloneCacheFolderArgumentType())
+                .setDefault(Optional.empty())
+                .help("The directory to keep the git blame results of files in between runs, so that files are "
+                        + "not blamed again for the same commits, even in other repositories such as forks. "
+                        + "If not provided, files will be blamed afresh in every run.");
+
+        parser.addArgument(BLAME_CACHE_LIMIT_FLAGS)
+                .dest(BLAME_CACHE_LIMIT_FLAGS[0])
+                .metavar("MEGABYTES")
+                .type(new PositiveIntegerArgumentType())
+                .setDefault(DEFAULT_BLAME_CACHE_LIMIT)
+                .help("The size the blame cache may grow to before its least recently used results are "
+                        + "evicted. If not provided, a limit of " + DEFAULT_BLAME_CACHE_LIMIT
+                        + " megabytes will be used.");
+
         return parser;
     }
 
@@ -178,6 +258,14 @@ public class ArgsParser {
             List<FileType> formats = FileType.convertFormatStringsToFileTypes(results.get(FORMAT_FLAGS[0]));
             boolean isStandaloneConfigIgnored = results.get(IGNORE_FLAGS[0]);
             ZoneId zoneId = results.get(TIMEZONE_FLAGS[0]);
+            int numThreads = results.get(THREADS_FLAGS[0]);
+            int numCloneThreads = results.get(CLONE_THREADS_FLAGS[0]);
+            int numAnalysisThreads = results.get(ANALYSIS_THREADS_FLAGS[0]);
+            Optional<Path> cloneCachePath = results.get(CLONE_CACHE_FLAGS[0]);
+            int cloneCacheLimit = results.get(CLONE_CACHE_LIMIT_FLAGS[0]);
+            Optional<Path> blameCachePath = results.get(BLAME_CACHE_FLAGS[0]);
+            int blameCacheLimit = results.get(BLAME_CACHE_LIMIT_FLAGS[0]);
+            boolean isCompactJson = results.get(COMPACT_JSON_FLAGS[0]);
 
             LogsManager.setLogFolderLocation(outputFolderPath);
 
@@ -197,14 +285,18 @@ public class ArgsParser {
 
             if (locations != null) {
                 return new LocationsCliArguments(locations, outputFolderPath, sinceDate, untilDate, isSinceDateProvided,
-                        isUntilDateProvided, formats, isAutomaticallyLaunching, isStandaloneConfigIgnored, zoneId);
+                        isUntilDateProvided, formats, isAutomaticallyLaunching, isStandaloneConfigIgnored, zoneId,
+                        numThreads, numCloneThreads, numAnalysisThreads, cloneCachePath, cloneCacheLimit,
+                        blameCachePath, blameCacheLimit, isCompactJson);
             }
 
             if (configFolderPath.equals(EMPTY_PATH)) {
                 logger.info(MESSAGE_USING_DEFAULT_CONFIG_PATH);
             }
             return new ConfigCliArguments(configFolderPath, outputFolderPath, sinceDate, untilDate, isSinceDateProvided,
-                    isUntilDateProvided, formats, isAutomaticallyLaunching, isStandaloneConfigIgnored, zoneId);
+                    isUntilDateProvided, formats, isAutomaticallyLaunching, isStandaloneConfigIgnored, zoneId,
+                    numThreads, numCloneThreads, numAnalysisThreads, cloneCachePath, cloneCacheLimit,
+                    blameCachePath, blameCacheLimit, isCompactJson);
         } catch (HelpScreenException hse) {
             throw hse;
         } catch (ArgumentParserException ape) {
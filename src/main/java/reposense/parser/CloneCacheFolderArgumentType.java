@@ -0,0 +1,25 @@
+package reposense.parser;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import net.sourceforge.argparse4j.impl.Arguments;
+import net.sourceforge.argparse4j.inf.Argument;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import net.sourceforge.argparse4j.inf.ArgumentType;
+
+/**
+ * Checks the argument of {@code --clone-cache} and {@code --blame-cache} flags.
+ */
+public class CloneCacheFolderArgumentType implements ArgumentType<Optional<Path>> {
+    @Override
+    public Optional<Path> convert(ArgumentParser parser, Argument arg, String value) throws ArgumentParserException {
+        // Piggyback on library methods to do file existence checks
+        Arguments.fileType().verifyExists().verifyIsDirectory().verifyCanWrite()
+                .or()
+                .verifyNotExists().convert(parser, arg, value);
+        return Optional.of(Paths.get(value));
+    }
+}
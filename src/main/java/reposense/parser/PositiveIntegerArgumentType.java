@@ -0,0 +1,28 @@
+package reposense.parser;
+
+import net.sourceforge.argparse4j.inf.Argument;
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.ArgumentParserException;
+import net.sourceforge.argparse4j.inf.ArgumentType;
+
+/**
+ * Verifies and parses a string-formatted positive integer to an {@code Integer} object.
+ */
+public class PositiveIntegerArgumentType implements ArgumentType<Integer> {
+    private static final String PARSE_EXCEPTION_MESSAGE_NOT_POSITIVE_INTEGER =
+            "Invalid value %s. It must be a positive integer.";
+
+    @Override
+    public Integer convert(ArgumentParser parser, Argument arg, String value) throws ArgumentParserException {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException nfe) {
+            // handled below together with non-positive values
+        }
+
+        throw new ArgumentParserException(String.format(PARSE_EXCEPTION_MESSAGE_NOT_POSITIVE_INTEGER, value), parser);
+    }
+}
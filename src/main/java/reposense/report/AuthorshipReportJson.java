@@ -0,0 +1,77 @@
+package reposense.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import reposense.authorship.model.FileResult;
+import reposense.authorship.model.LineStore;
+import reposense.model.Author;
+import reposense.model.FileType;
+
+/**
+ * Class that holds the data to be serialized into JSON format in `authorship.json`.
+ * Instead of storing every line with its own author, consecutive lines of a file with the same author are stored as
+ * a single run, while the contents of the lines are stored separately in order. The line numbers are implied by the
+ * positions of the lines.
+ */
+public class AuthorshipReportJson {
+    public static final int FORMAT_VERSION = 2;
+
+    private final int version;
+    private final List<FileAuthorshipJson> files;
+
+    public AuthorshipReportJson(List<FileResult> fileResults) {
+        version = FORMAT_VERSION;
+        files = new ArrayList<>();
+        for (FileResult fileResult : fileResults) {
+            files.add(new FileAuthorshipJson(fileResult));
+        }
+    }
+
+    /**
+     * Holds the authorship of a single file.
+     */
+    private static class FileAuthorshipJson {
+        private final String path;
+        private final FileType fileType;
+        private final List<AuthorRunJson> authorRuns;
+        private final List<String> contents;
+        private final Map<Author, Integer> authorContributionMap;
+
+        FileAuthorshipJson(FileResult fileResult) {
+            path = fileResult.getPath();
+            fileType = fileResult.getFileType();
+            authorRuns = new ArrayList<>();
+            LineStore lines = fileResult.getLineStore();
+            contents = new ArrayList<>(lines.size());
+            authorContributionMap = fileResult.getAuthorContributionMap();
+
+            AuthorRunJson currentRun = null;
+            for (int lineIndex = 0; lineIndex < lines.size(); lineIndex++) {
+                Author author = lines.getAuthor(lineIndex);
+                String gitId = (author == null) ? null : author.getGitId();
+                if (currentRun == null || !Objects.equals(currentRun.author, gitId)) {
+                    currentRun = new AuthorRunJson(gitId);
+                    authorRuns.add(currentRun);
+                }
+                currentRun.lineCount++;
+                contents.add(lines.getContent(lineIndex));
+            }
+        }
+    }
+
+    /**
+     * Holds the author of a run of consecutive lines and the number of lines in the run.
+     * The author is omitted for lines that are not attributed to any author.
+     */
+    private static class AuthorRunJson {
+        private final String author;
+        private int lineCount;
+
+        AuthorRunJson(String author) {
+            this.author = author;
+        }
+    }
+}
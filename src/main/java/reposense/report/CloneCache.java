@@ -0,0 +1,276 @@
+package reposense.report;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import reposense.git.GitClone;
+import reposense.git.GitFetch;
+import reposense.git.exception.GitCloneException;
+import reposense.model.RepoConfiguration;
+import reposense.model.RepoLocation;
+import reposense.system.CommandRunnerProcess;
+import reposense.system.LogsManager;
+import reposense.util.FileUtil;
+import reposense.util.StringsUtil;
+
+/**
+ * Keeps bare clones of repos across runs in a cache directory, so that later runs only need to fetch the objects
+ * that are new in the remote instead of cloning the whole repo again.
+ *
+ * Each cache entry is guarded by a lock file, allowing the same cache directory to be shared by multiple RepoSense
+ * processes. Least recently used entries are evicted once the cache grows beyond its size limit.
+ */
+public class CloneCache {
+    private static final String MESSAGE_START_FETCHING = "Fetching updates for %s into clone cache...";
+    private static final String MESSAGE_START_CACHING = "Cloning %s into clone cache...";
+    private static final String MESSAGE_WAITING_FOR_LOCK = "Waiting for clone cache entry of %s used by another "
+            + "process...";
+    private static final String MESSAGE_ERROR_UPDATING_HEAD =
+            "Unable to update default branch of clone cache entry of %s, will use the previously cached one.";
+    private static final String MESSAGE_ERROR_RELEASING_LOCK = "Error releasing lock on clone cache entry of %s.";
+    private static final String MESSAGE_ERROR_EVICTING = "Error evicting clone cache entry %s.";
+    private static final String MESSAGE_EVICTING = "Evicting clone cache entry %s...";
+
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+    private static final String INCOMPLETE_ENTRY_SUFFIX = ".tmp";
+    private static final int ENTRY_HASH_LENGTH = 16;
+
+    private static final Logger logger = LogsManager.getLogger(CloneCache.class);
+
+    private final Path cacheDirectory;
+    private final long sizeLimitInBytes;
+    private final Map<RepoLocation, FileLock> heldLocks = new ConcurrentHashMap<>();
+
+    public CloneCache(Path cacheDirectory, long sizeLimitInBytes) {
+        this.cacheDirectory = cacheDirectory;
+        this.sizeLimitInBytes = sizeLimitInBytes;
+    }
+
+    /**
+     * Locks the cache entry of the repo specified in {@code config} and spawns a process that brings it up to date
+     * with the remote, fetching into the existing entry or cloning a new one if there is none.
+     * Does not wait for the process to finish executing. The lock is held until {@code cloneFromCache} or
+     * {@code release} is called.
+     *
+     * @return an instance of {@code CommandRunnerProcess} to allow tracking the status of the update.
+     * @throws IOException if the cache entry cannot be locked or prepared.
+     * @throws GitCloneException if the process cannot be started.
+     */
+    public CommandRunnerProcess updateAsync(RepoConfiguration config) throws IOException, GitCloneException {
+        Files.createDirectories(cacheDirectory);
+        lock(config);
+
+        try {
+            Path entryPath = getEntryPath(config);
+            if (Files.isDirectory(entryPath)) {
+                logger.info(String.format(MESSAGE_START_FETCHING, config.getLocation()));
+                return GitFetch.fetchBareAsync(entryPath);
+            }
+
+            String incompleteEntryName = getEntryName(config) + INCOMPLETE_ENTRY_SUFFIX;
+            FileUtil.deleteDirectory(cacheDirectory.resolve(incompleteEntryName).toString());
+            logger.info(String.format(MESSAGE_START_CACHING, config.getLocation()));
+            return GitClone.cloneBareAsync(config, cacheDirectory, incompleteEntryName);
+        } catch (IOException | GitCloneException | RuntimeException e) {
+            release(config);
+            throw e;
+        }
+    }
+
+    /**
+     * Clones the cache entry of the repo specified in {@code config}, which must have been successfully updated by
+     * {@code updateAsync}, into the folder {@code outputFolderName} in {@code rootPath} as a bare repo.
+     * Releases the lock on the cache entry afterwards, regardless of the outcome.
+     *
+     * @throws IOException if the cache entry cannot be committed.
+     * @throws GitCloneException if the clone from the cache entry fails.
+     */
+    public void cloneFromCache(RepoConfiguration config, Path rootPath, String outputFolderName)
+            throws IOException, GitCloneException {
+        try {
+            Path entryPath = getEntryPath(config);
+            Path incompleteEntryPath = cacheDirectory.resolve(getEntryName(config) + INCOMPLETE_ENTRY_SUFFIX);
+            if (Files.isDirectory(incompleteEntryPath)) {
+                Files.move(incompleteEntryPath, entryPath, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                updateHead(config, entryPath);
+            }
+
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+            GitClone.cloneBareFromPath(entryPath, rootPath, outputFolderName);
+        } finally {
+            release(config);
+        }
+    }
+
+    /**
+     * Releases the lock on the cache entry of the repo specified in {@code config}, discarding the entry if it was
+     * not completely cloned. Does nothing if the entry is not locked.
+     */
+    public void release(RepoConfiguration config) {
+        FileLock lock = heldLocks.remove(config.getLocation());
+        if (lock == null) {
+            return;
+        }
+
+        try {
+            FileUtil.deleteDirectory(
+                    cacheDirectory.resolve(getEntryName(config) + INCOMPLETE_ENTRY_SUFFIX).toString());
+        } catch (IOException ioe) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_EVICTING, getEntryName(config)), ioe);
+        } finally {
+            try {
+                lock.release();
+                lock.channel().close();
+            } catch (IOException ioe) {
+                logger.log(Level.WARNING, String.format(MESSAGE_ERROR_RELEASING_LOCK, config.getLocation()), ioe);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used cache entries until the total size of the cache is within its size limit.
+     * Entries that are locked by this or another process are skipped.
+     */
+    public void evict() {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        List<Path> entryPaths;
+        try (Stream<Path> paths = Files.list(cacheDirectory)) {
+            entryPaths = paths.filter(Files::isDirectory)
+                    .filter(path -> !path.getFileName().toString().endsWith(INCOMPLETE_ENTRY_SUFFIX))
+                    .sorted(Comparator.comparing(CloneCache::getLastModifiedTime))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException ioe) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_EVICTING, cacheDirectory), ioe);
+            return;
+        }
+
+        Map<Path, Long> entrySizes = new HashMap<>();
+        long totalSize = 0;
+        for (Path entryPath : entryPaths) {
+            long size = getSize(entryPath);
+            entrySizes.put(entryPath, size);
+            totalSize += size;
+        }
+
+        for (Path entryPath : entryPaths) {
+            if (totalSize <= sizeLimitInBytes) {
+                break;
+            }
+
+            String entryName = entryPath.getFileName().toString();
+            try (FileChannel channel = openLockFile(entryName)) {
+                FileLock lock = tryLock(channel);
+                if (lock == null) {
+                    continue;
+                }
+
+                logger.info(String.format(MESSAGE_EVICTING, entryName));
+                FileUtil.deleteDirectory(entryPath.toString());
+                totalSize -= entrySizes.get(entryPath);
+                lock.release();
+            } catch (IOException ioe) {
+                logger.log(Level.WARNING, String.format(MESSAGE_ERROR_EVICTING, entryName), ioe);
+            }
+        }
+    }
+
+    /**
+     * Acquires the lock on the cache entry of the repo specified in {@code config}, waiting for other processes
+     * holding it to release it.
+     */
+    private void lock(RepoConfiguration config) throws IOException {
+        FileChannel channel = openLockFile(getEntryName(config));
+        try {
+            FileLock lock = tryLock(channel);
+            if (lock == null) {
+                logger.info(String.format(MESSAGE_WAITING_FOR_LOCK, config.getLocation()));
+                lock = channel.lock();
+            }
+            heldLocks.put(config.getLocation(), lock);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Points the HEAD of the cache entry at {@code entryPath} to the current default branch of the remote.
+     * Keeps the previous HEAD if the remote cannot be queried.
+     */
+    private void updateHead(RepoConfiguration config, Path entryPath) {
+        try {
+            GitFetch.updateHeadToRemoteDefaultBranch(entryPath);
+        } catch (RuntimeException rte) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_UPDATING_HEAD, config.getLocation()), rte);
+        }
+    }
+
+    private FileChannel openLockFile(String entryName) throws IOException {
+        return FileChannel.open(cacheDirectory.resolve(entryName + LOCK_FILE_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Attempts to acquire the lock of {@code channel} without waiting.
+     * Returns null if the lock is held by this or another process.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException ofle) {
+            return null;
+        }
+    }
+
+    private Path getEntryPath(RepoConfiguration config) {
+        return cacheDirectory.resolve(getEntryName(config));
+    }
+
+    /**
+     * Returns the name of the cache entry of the repo specified in {@code config}, which is unique to its location.
+     */
+    private static String getEntryName(RepoConfiguration config) {
+        String hash = StringsUtil.getSha1Hash(config.getLocation().toString());
+        return config.getRepoName() + "_" + hash.substring(0, ENTRY_HASH_LENGTH);
+    }
+
+    private static FileTime getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException ioe) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Returns the total size in bytes of the regular files in {@code directory}.
+     */
+    private static long getSize(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+}
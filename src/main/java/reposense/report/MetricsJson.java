@@ -0,0 +1,49 @@
+package reposense.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import reposense.model.RepoConfiguration;
+import reposense.system.PhaseMetrics;
+import reposense.system.RepoMetrics;
+
+/**
+ * Represents the structure of metrics.json file in reposense-report folder, which holds the wall time, number of
+ * git processes, bytes of git output and largest sample of the heap usage of the whole process of each phase of
+ * cloning and analyzing each repo.
+ */
+public class MetricsJson {
+    public static final String METRICS_JSON_FILE_NAME = "metrics.json";
+
+    private final long wallTimeMillis;
+    private final List<RepoMetricsJson> repos;
+
+    /**
+     * Creates the metrics of a report that took {@code wallTimeMillis} to generate, with the metrics of each repo in
+     * {@code configs} taken from {@code repoMetrics}.
+     */
+    public MetricsJson(long wallTimeMillis, List<RepoConfiguration> configs,
+            Map<RepoConfiguration, RepoMetrics> repoMetrics) {
+        this.wallTimeMillis = wallTimeMillis;
+        this.repos = new ArrayList<>();
+        for (RepoConfiguration config : configs) {
+            repos.add(new RepoMetricsJson(config.getDisplayName(), repoMetrics.get(config)));
+        }
+    }
+
+    /**
+     * Holds the metrics of a single repo.
+     */
+    private static class RepoMetricsJson {
+        private final String repo;
+        private final long wallTimeMillis;
+        private final Map<String, PhaseMetrics> phases;
+
+        RepoMetricsJson(String repo, RepoMetrics repoMetrics) {
+            this.repo = repo;
+            this.wallTimeMillis = repoMetrics.getWallTimeMillis();
+            this.phases = repoMetrics.getPhases();
+        }
+    }
+}
@@ -4,6 +4,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -12,18 +15,18 @@ import reposense.git.GitClone;
 import reposense.git.exception.GitBranchException;
 import reposense.git.exception.GitCloneException;
 import reposense.model.RepoConfiguration;
-import reposense.model.RepoLocation;
 import reposense.system.CommandRunnerProcess;
 import reposense.system.CommandRunnerProcessException;
 import reposense.system.LogsManager;
+import reposense.system.RepoMetrics;
 import reposense.util.FileUtil;
 
 /**
- * Handles asynchronous cloning of repos to allow multiple repos to be cloned and analyzed concurrently.
+ * Handles asynchronous cloning of repos on a pool of cloning threads, to allow multiple repos to be cloned
+ * concurrently with one another and with the analysis of previously cloned repos.
  */
 public class RepoCloner {
     private static final String MESSAGE_START_CLONING = "Cloning in parallel from %s...";
-    private static final String MESSAGE_WAITING_FOR_CLONING = "Waiting for cloning of %s to complete...";
     private static final String MESSAGE_COMPLETE_CLONING = "Cloning of %s completed!";
     private static final String MESSAGE_ERROR_DELETING_DIRECTORY = "Error deleting report directory.";
     private static final String MESSAGE_ERROR_CLONING =
@@ -31,110 +34,113 @@ public class RepoCloner {
     private static final String MESSAGE_ERROR_GETTING_BRANCH =
             "Exception met while trying to get current branch of %s (%s), will skip this repo.";
 
-    private static final int MAX_NO_OF_REPOS = 2;
     private static final Logger logger = LogsManager.getLogger(RepoCloner.class);
 
-    private RepoConfiguration[] configs = new RepoConfiguration[MAX_NO_OF_REPOS];
-    private int currentIndex = 0;
-    private int previousIndex = 0;
-    private boolean isCurrentRepoCloned = false;
-    private String currentRepoDefaultBranch;
-    private CommandRunnerProcess crp;
+    private final ExecutorService cloneExecutor;
+    private final CloneCache cloneCache;
+
+    public RepoCloner(int numCloneThreads) {
+        this(numCloneThreads, null);
+    }
 
     /**
-     * Spawns a process to clone the bare repository specified by {@code config}.
-     * Does not wait for process to finish executing.
+     * Creates a {@code RepoCloner} that clones up to {@code numCloneThreads} repos concurrently through
+     * {@code cloneCache}, fetching only the updates of repos that have been cloned in previous runs.
+     * Repos are cloned directly from their remotes if {@code cloneCache} is null.
      */
-    public void cloneBare(RepoConfiguration config) {
-        configs[currentIndex] = config;
-        isCurrentRepoCloned = spawnCloneProcess(config);
+    public RepoCloner(int numCloneThreads, CloneCache cloneCache) {
+        this.cloneExecutor = Executors.newFixedThreadPool(numCloneThreads);
+        this.cloneCache = cloneCache;
     }
 
     /**
-     * Waits for current clone process to finish executing and returns the {@code RepoLocation} of the corresponding
-     * {@code RepoConfiguration}.
+     * Clones the bare repository specified by {@code config} on one of the cloning threads.
+     * Does not wait for the cloning to finish. The cloning is recorded under the repo that the calling thread is
+     * attached to in {@code RepoMetrics}, if any.
+     *
+     * @return a future of the default branch of the cloned repo, which completes with null if the repo could not
+     * be cloned.
      */
-    public RepoLocation getClonedRepoLocation() {
-        if (isCurrentRepoCloned) {
-            isCurrentRepoCloned = waitForCloneProcess(configs[currentIndex]);
-        }
-
-        if (!isCurrentRepoCloned) {
-            deleteDirectory(configs[currentIndex].getRepoRoot());
-            return null;
-        }
-
-        try {
-            String bareRepoPath = FileUtil.getBareRepoPath(configs[currentIndex]).toString();
-            currentRepoDefaultBranch = GitBranch.getCurrentBranch(bareRepoPath);
-        } catch (GitBranchException gbe) {
-            // GitBranch will throw this exception when repository is empty
-            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_GETTING_BRANCH,
-                    configs[currentIndex].getLocation(), configs[currentIndex].getBranch()), gbe);
-            return null;
-        }
-        cleanupPrevRepoFolder();
+    public CompletableFuture<String> cloneBareAsync(RepoConfiguration config) {
+        return CompletableFuture.supplyAsync(RepoMetrics.propagate(() -> cloneBare(config)), cloneExecutor);
+    }
 
-        previousIndex = currentIndex;
-        currentIndex = (currentIndex + 1) % configs.length;
-        return configs[previousIndex].getLocation();
+    /**
+     * Deletes the bare repo and working directories of the repo specified by {@code config} once they are not in
+     * use anymore.
+     */
+    public void cleanup(RepoConfiguration config) {
+        deleteDirectory(Paths.get(FileUtil.REPOS_ADDRESS, config.getRepoFolderName()).toString());
     }
 
     /**
      * Cleans up after all repos have been cloned and analyzed.
      */
     public void cleanup() {
+        cloneExecutor.shutdownNow();
         deleteDirectory(FileUtil.REPOS_ADDRESS);
+        if (cloneCache != null) {
+            cloneCache.evict();
+        }
     }
 
     /**
-     * Spawns a process to clone repo specified in {@code config}. Does not wait for process to finish executing.
-     * Should only handle a maximum of one spawned process at any time.
+     * Clones the bare repository specified by {@code config} and waits for the cloning to finish.
+     *
+     * @return the default branch of the cloned repo, or null if the repo could not be cloned.
      */
-    private boolean spawnCloneProcess(RepoConfiguration config) {
-        assert(crp == null);
+    private String cloneBare(RepoConfiguration config) {
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_CLONE)) {
+            if (!cloneAndWait(config)) {
+                deleteDirectory(config.getRepoRoot());
+                return null;
+            }
+
+            try {
+                return GitBranch.getCurrentBranch(FileUtil.getBareRepoPath(config).toString());
+            } catch (GitBranchException gbe) {
+                // GitBranch will throw this exception when repository is empty
+                logger.log(Level.WARNING, String.format(MESSAGE_ERROR_GETTING_BRANCH,
+                        config.getLocation(), config.getBranch()), gbe);
+                return null;
+            }
+        }
+    }
 
+    /**
+     * Spawns a process to clone repo specified in {@code config} and waits for it to finish executing.
+     *
+     * @return true if the repo was cloned successfully.
+     */
+    private boolean cloneAndWait(RepoConfiguration config) {
         try {
             FileUtil.deleteDirectory(FileUtil.getBareRepoPath(config).toString());
             Path rootPath = Paths.get(FileUtil.REPOS_ADDRESS, config.getRepoFolderName());
             Files.createDirectories(rootPath);
 
-            logger.info(String.format(MESSAGE_START_CLONING, config.getLocation()));
-            crp = GitClone.cloneBareAsync(config, rootPath, FileUtil.getBareRepoFolderName(config));
-        } catch (GitCloneException | IOException e) {
-            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_CLONING, config.getDisplayName()), e);
-            return false;
-        }
-        return true;
-    }
+            CommandRunnerProcess crp;
+            if (cloneCache != null) {
+                crp = cloneCache.updateAsync(config);
+            } else {
+                logger.info(String.format(MESSAGE_START_CLONING, config.getLocation()));
+                crp = GitClone.cloneBareAsync(config, rootPath, FileUtil.getBareRepoFolderName(config));
+            }
 
-    /**
-     * Waits for previously spawned clone process to finish executing.
-     * Should only be called after {@code spawnCloneProcess} has been called.
-     */
-    private boolean waitForCloneProcess(RepoConfiguration config) {
-        try {
-            logger.info(String.format(MESSAGE_WAITING_FOR_CLONING, config.getLocation()));
             crp.waitForProcess();
+            if (cloneCache != null) {
+                cloneCache.cloneFromCache(config, rootPath, FileUtil.getBareRepoFolderName(config));
+            }
             logger.info(String.format(MESSAGE_COMPLETE_CLONING, config.getLocation()));
-        } catch (RuntimeException | CommandRunnerProcessException e) {
-            crp = null;
+        } catch (RuntimeException | CommandRunnerProcessException | GitCloneException | IOException e) {
+            if (cloneCache != null) {
+                cloneCache.release(config);
+            }
             logger.log(Level.WARNING, String.format(MESSAGE_ERROR_CLONING, config.getDisplayName()), e);
             return false;
         }
-        crp = null;
         return true;
     }
 
-    /**
-     * Deletes previously cloned repo directories that are not in use anymore.
-     */
-    private void cleanupPrevRepoFolder() {
-        if (previousIndex != currentIndex) {
-            deleteDirectory(configs[previousIndex].getRepoRoot());
-        }
-    }
-
     /**
      * Deletes the {@code root} directory.
      */
@@ -145,8 +151,4 @@ public class RepoCloner {
             logger.log(Level.WARNING, MESSAGE_ERROR_DELETING_DIRECTORY, ioe);
         }
     }
-
-    public String getCurrentRepoDefaultBranch() {
-        return currentRepoDefaultBranch;
-    }
 }
@@ -0,0 +1,142 @@
+package reposense.report;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import reposense.RepoSense;
+import reposense.model.Author;
+import reposense.model.FileType;
+import reposense.model.RepoConfiguration;
+import reposense.system.LogsManager;
+import reposense.util.FileUtil;
+import reposense.util.StringsUtil;
+
+/**
+ * Identifies the inputs that the report of a repo was generated from, which are the commit at the tip of its branch,
+ * its configuration and the version of RepoSense, so that a repo whose inputs are unchanged since the previous run
+ * keeps its report instead of being cloned and analyzed again.
+ *
+ * The until date is not part of the identity, as it usually moves forward with every run. Instead, a report remains
+ * valid for a later until date if none of the commits of the repo since its since date were made after the until date
+ * that the report was generated for.
+ */
+public class RepoFingerprint {
+    public static final String FINGERPRINT_FILE_NAME = "report.fingerprint";
+
+    private static final Logger logger = LogsManager.getLogger(RepoFingerprint.class);
+
+    private static final String MESSAGE_ERROR_READING = "Error reading report fingerprint %s, will analyze the repo.";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final String inputsHash;
+    private final Long untilDate;
+    private boolean isAllCommittedUntil;
+    private Long startDate;
+
+    private RepoFingerprint(String inputsHash, Long untilDate) {
+        this.inputsHash = inputsHash;
+        this.untilDate = untilDate;
+    }
+
+    /**
+     * Returns the fingerprint of the report of the repo in {@code config}, whose branch has its tip at the
+     * {@code tipCommitHash} commit, with the JSON files written without indentation if {@code isCompactJson} is true.
+     */
+    public static RepoFingerprint of(RepoConfiguration config, String tipCommitHash, boolean isCompactJson) {
+        StringBuilder inputs = new StringBuilder();
+        appendInputs(inputs, FORMAT_VERSION, RepoSense.getVersion(), isCompactJson, config.getLocation(),
+                config.getBranch(), tipCommitHash, config.getDisplayName(), getTime(config.getSinceDate()),
+                config.getIgnoreGlobList(), config.getIgnoreCommitList(), config.isStandaloneConfigIgnored(),
+                config.isAnnotationOverwrite(), config.isFormatsOverriding(), config.isIgnoreGlobListOverriding(),
+                config.isIgnoreCommitListOverriding());
+        for (FileType fileType : config.getFileTypeManager().getFormats()) {
+            appendInputs(inputs, "format", fileType, fileType.getPaths());
+        }
+        for (FileType fileType : config.getFileTypeManager().getGroups()) {
+            appendInputs(inputs, "group", fileType, fileType.getPaths());
+        }
+        for (Author author : config.getAuthorList()) {
+            appendInputs(inputs, author.getGitId(), author.getEmails(), author.getAuthorAliases(),
+                    author.getDisplayName(), author.getIgnoreGlobList());
+        }
+        Map<String, String> authorDisplayNames = new TreeMap<>();
+        config.getAuthorDisplayNameMap().forEach((author, displayName) ->
+                authorDisplayNames.put(author.getGitId(), displayName));
+        authorDisplayNames.forEach((gitId, displayName) -> appendInputs(inputs, gitId, displayName));
+        new TreeMap<>(config.getAuthorEmailsAndAliasesMap()).forEach((emailOrAlias, author) ->
+                appendInputs(inputs, emailOrAlias, author.getGitId()));
+
+        return new RepoFingerprint(StringsUtil.getSha1Hash(inputs.toString()), getTime(config.getUntilDate()));
+    }
+
+    /**
+     * Loads the fingerprint at {@code fingerprintPath} saved by a previous run, if there is one that can be read.
+     */
+    public static Optional<RepoFingerprint> load(Path fingerprintPath) {
+        try (Reader reader = Files.newBufferedReader(fingerprintPath)) {
+            return Optional.ofNullable(new Gson().fromJson(reader, RepoFingerprint.class));
+        } catch (NoSuchFileException nsfe) {
+            return Optional.empty();
+        } catch (IOException | JsonParseException e) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_READING, fingerprintPath), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Saves this fingerprint at {@code fingerprintPath} once the report has been generated, along with whether
+     * {@code isAllCommittedUntil} the until date, i.e. no commit was excluded by the until date, and the
+     * {@code startDate} that the report of the repo starts from.
+     */
+    public void save(Path fingerprintPath, boolean isAllCommittedUntil, Date startDate) {
+        this.isAllCommittedUntil = isAllCommittedUntil;
+        this.startDate = getTime(startDate);
+        FileUtil.writeJsonFile(this, fingerprintPath.toString(), true);
+    }
+
+    /**
+     * Returns true if the report generated with {@code previousFingerprint} is also the report that would be
+     * generated with this fingerprint.
+     */
+    public boolean isReportReusable(RepoFingerprint previousFingerprint) {
+        if (!inputsHash.equals(previousFingerprint.inputsHash)) {
+            return false;
+        }
+
+        if (untilDate == null || previousFingerprint.untilDate == null) {
+            return untilDate == null && previousFingerprint.untilDate == null;
+        }
+        return untilDate.equals(previousFingerprint.untilDate)
+                || (previousFingerprint.isAllCommittedUntil && untilDate > previousFingerprint.untilDate);
+    }
+
+    /**
+     * Returns the date that the saved report of the repo starts from, if any.
+     */
+    public Optional<Date> getStartDate() {
+        return Optional.ofNullable(startDate).map(Date::new);
+    }
+
+    private static void appendInputs(StringBuilder inputs, Object... values) {
+        for (Object value : values) {
+            inputs.append(value).append('\0');
+        }
+    }
+
+    private static Long getTime(Date date) {
+        return (date == null) ? null : date.getTime();
+    }
+}
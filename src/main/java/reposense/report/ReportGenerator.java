@@ -8,13 +8,23 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -22,14 +32,18 @@ import java.util.stream.Collectors;
 import com.google.gson.JsonSyntaxException;
 
 import reposense.RepoSense;
+import reposense.authorship.AuthorshipManifest;
 import reposense.authorship.AuthorshipReporter;
+import reposense.authorship.BlameCache;
 import reposense.authorship.model.AuthorshipSummary;
+import reposense.commits.CommitStore;
 import reposense.commits.CommitsReporter;
 import reposense.commits.model.CommitContributionSummary;
-import reposense.git.GitClone;
+import reposense.git.GitLsRemote;
 import reposense.git.GitLsTree;
 import reposense.git.GitRevParse;
 import reposense.git.GitShortlog;
+import reposense.git.GitWorktree;
 import reposense.git.exception.GitBranchException;
 import reposense.git.exception.GitCloneException;
 import reposense.git.exception.InvalidFilePathException;
@@ -41,6 +55,7 @@ import reposense.parser.SinceDateArgumentType;
 import reposense.parser.StandaloneConfigJsonParser;
 import reposense.report.exception.NoAuthorsWithCommitsFoundException;
 import reposense.system.LogsManager;
+import reposense.system.RepoMetrics;
 import reposense.util.FileUtil;
 import reposense.util.ProgressTracker;
 
@@ -69,6 +84,11 @@ public class ReportGenerator {
     private static final String MESSAGE_COMPLETE_ANALYSIS = "Analysis of %s (%s) completed!";
     private static final String MESSAGE_REPORT_GENERATED = "The report is generated at %s";
     private static final String MESSAGE_BRANCH_DOES_NOT_EXIST = "Branch %s does not exist in %s! Analysis terminated.";
+    private static final String MESSAGE_SLOWEST_REPOS = "Slowest repos (wall time in seconds):";
+    private static final String MESSAGE_REUSING_REPORT =
+            "%s (%s) is unchanged since the previous report, reusing its report.";
+    private static final String MESSAGE_ERROR_LISTING_BRANCHES =
+            "Error listing the branches of %s, will clone and analyze it.";
 
     private static final String LOG_ERROR_CLONING = "Failed to clone from %s";
     private static final String LOG_BRANCH_DOES_NOT_EXIST = "Branch \"%s\" does not exist.";
@@ -77,26 +97,65 @@ public class ReportGenerator {
     private static final String LOG_ERROR_CLONING_OR_BRANCHING = "Exception met while cloning or checking out.";
     private static final String LOG_UNEXPECTED_ERROR = "Unexpected error stack trace for %s:\n>%s";
 
+    private static final int NUM_SLOWEST_REPOS_SHOWN = 10;
+    private static final String SLOWEST_REPOS_TOTAL_COLUMN = "total";
+
     private static Date earliestSinceDate = null;
     private static ProgressTracker progressTracker = null;
+    private static ExecutorService fileAnalysisExecutor = null;
+    private static ExecutorService commitAnalysisExecutor = null;
+    private static BlameCache blameCache = null;
+    private static boolean isCompactJson = false;
+    private static Map<RepoConfiguration, RepoMetrics> repoMetrics = null;
 
     /**
      * Generates the authorship and commits JSON file for each repo in {@code configs} at {@code outputPath}, as
      * well as the summary JSON file of all the repos.
+     * Up to {@code numCloneThreads} repos are cloned and up to {@code numAnalysisThreads} repos are analyzed
+     * concurrently, with up to {@code numThreads} files analyzed concurrently across the repos being analyzed.
+     * The commits of each repo are analyzed concurrently with its files.
+     * Repos are cloned through {@code cloneCache} if it is present, and the git blame results of files are reused
+     * from and kept in {@code blameCache} if it is present. The JSON files are written without indentation
+     * and line breaks if {@code isCompactJson} is true. The report of a repo that is unchanged since the previous
+     * report at {@code outputPath} is reused without cloning the repo, as identified by its {@code RepoFingerprint}.
+     * The metrics of each phase of cloning and analyzing each repo
+     * are written into a metrics JSON file next to the summary JSON file, and the slowest repos are logged.
      *
      * @return the list of file paths that were generated.
      * @throws IOException if templateZip.zip does not exists in jar file.
      */
     public static List<Path> generateReposReport(List<RepoConfiguration> configs, String outputPath,
             String generationDate, Date cliSinceDate, Date untilDate,
-            boolean isSinceDateProvided, boolean isUntilDateProvided) throws IOException {
+            boolean isSinceDateProvided, boolean isUntilDateProvided, int numThreads,
+            int numCloneThreads, int numAnalysisThreads, Optional<CloneCache> cloneCache,
+            Optional<BlameCache> blameCache, boolean isCompactJson) throws IOException {
+        long startTime = System.nanoTime();
         InputStream is = RepoSense.class.getResourceAsStream(TEMPLATE_FILE);
         FileUtil.copyTemplate(is, outputPath);
 
+        // configs that fail to be analyzed are removed from configs, but their metrics are still reported
+        List<RepoConfiguration> configsWithMetrics = new ArrayList<>(configs);
+        // configs may change their hash code during the analysis, e.g. when their default branch is found
+        repoMetrics = new IdentityHashMap<>();
+        configs.forEach(config -> repoMetrics.put(config, new RepoMetrics()));
+
         earliestSinceDate = null;
+        ReportGenerator.isCompactJson = isCompactJson;
         progressTracker = new ProgressTracker(configs.size());
+        fileAnalysisExecutor = Executors.newFixedThreadPool(numThreads);
+        commitAnalysisExecutor = Executors.newFixedThreadPool(numAnalysisThreads);
+        ReportGenerator.blameCache = blameCache.orElse(null);
 
-        List<Path> reportFoldersAndFiles = cloneAndAnalyzeRepos(configs, outputPath);
+        List<Path> reportFoldersAndFiles;
+        try {
+            RepoCloner repoCloner = new RepoCloner(numCloneThreads, cloneCache.orElse(null));
+            reportFoldersAndFiles = cloneAndAnalyzeRepos(configs, outputPath, repoCloner, numCloneThreads,
+                    numAnalysisThreads);
+        } finally {
+            fileAnalysisExecutor.shutdownNow();
+            commitAnalysisExecutor.shutdownNow();
+            blameCache.ifPresent(BlameCache::evict);
+        }
 
         Date reportSinceDate = (cliSinceDate.equals(SinceDateArgumentType.ARBITRARY_FIRST_COMMIT_DATE))
                 ? earliestSinceDate : cliSinceDate;
@@ -104,9 +163,15 @@ public class ReportGenerator {
         Optional<Path> summaryPath = FileUtil.writeJsonFile(
                 new SummaryJson(configs, generationDate, reportSinceDate, untilDate, isSinceDateProvided,
                         isUntilDateProvided, RepoSense.getVersion(), ErrorSummary.getInstance().getErrorList()),
-                getSummaryResultPath(outputPath));
+                getSummaryResultPath(outputPath), isCompactJson);
         summaryPath.ifPresent(reportFoldersAndFiles::add);
 
+        long wallTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        FileUtil.writeJsonFile(new MetricsJson(wallTimeMillis, configsWithMetrics, repoMetrics),
+                getMetricsResultPath(outputPath), isCompactJson)
+                .ifPresent(reportFoldersAndFiles::add);
+        logSlowestRepos(configsWithMetrics);
+
         logger.info(String.format(MESSAGE_REPORT_GENERATED, outputPath));
 
         return reportFoldersAndFiles;
@@ -130,69 +195,221 @@ public class ReportGenerator {
     }
 
     /**
-     * Clone, analyze and generate the report for repositories in {@code repoLocationMap}.
-     * Performs analysis and report generation of each repository in parallel with the cloning of the next repository.
+     * Clone, analyze and generate the report for repositories in {@code configs}, cloning them with
+     * {@code repoCloner} and analyzing up to {@code numAnalysisThreads} of them concurrently.
+     * The branches of all repositories are first listed with up to {@code numCloneThreads} of them concurrently, and
+     * repositories whose report at {@code outputPath} is still up to date are not cloned nor analyzed again.
+     * Each repository is analyzed as soon as it is cloned and an analysis thread is free, while at most
+     * {@code numCloneThreads} more repositories than analysis threads are cloned but not yet analyzed at any time to
+     * bound the disk space used. The results are merged in the order the repositories were scheduled, so that the
+     * report does not depend on which repositories finish first.
      *
      * @return A list of paths to the JSON report files generated for each repository.
      */
-    private static List<Path> cloneAndAnalyzeRepos(List<RepoConfiguration> configs, String outputPath) {
+    private static List<Path> cloneAndAnalyzeRepos(List<RepoConfiguration> configs, String outputPath,
+            RepoCloner repoCloner, int numCloneThreads, int numAnalysisThreads) {
         Map<RepoLocation, List<RepoConfiguration>> repoLocationMap = groupConfigsByRepoLocation(configs);
-        RepoCloner repoCloner = new RepoCloner();
-        RepoLocation clonedRepoLocation = null;
+        Map<RepoLocation, Optional<GitLsRemote.BranchTips>> branchTipsOfRepoLocation =
+                listBranchTips(repoLocationMap, numCloneThreads);
+        ExecutorService repoAnalysisExecutor = Executors.newFixedThreadPool(numAnalysisThreads);
+        Semaphore reposInProgress = new Semaphore(numCloneThreads + numAnalysisThreads);
+        Map<String, CompletableFuture<RepoAnalysisResult>> latestAnalysisOfRepoFolder = new HashMap<>();
+        List<CompletableFuture<RepoAnalysisResult>> analyses = new ArrayList<>();
 
-        List<RepoLocation> repoLocationList = new ArrayList<>(repoLocationMap.keySet());
+        try {
+            for (Map.Entry<RepoLocation, List<RepoConfiguration>> entry : repoLocationMap.entrySet()) {
+                RepoAnalysisResult reusedResult = new RepoAnalysisResult();
+                Map<RepoConfiguration, RepoFingerprint> fingerprints = new IdentityHashMap<>();
+                List<RepoConfiguration> configsToAnalyze = new ArrayList<>();
+                for (RepoConfiguration config : entry.getValue()) {
+                    Optional<RepoFingerprint> fingerprint =
+                            resolveRepoFingerprint(config, branchTipsOfRepoLocation.get(entry.getKey()));
+                    if (fingerprint.isPresent() && reuseRepoReport(outputPath, config, fingerprint.get(),
+                            reusedResult)) {
+                        continue;
+                    }
+                    fingerprint.ifPresent(unchangedFingerprint -> fingerprints.put(config, unchangedFingerprint));
+                    configsToAnalyze.add(config);
+                }
+                if (configsToAnalyze.isEmpty()) {
+                    analyses.add(CompletableFuture.completedFuture(reusedResult));
+                    continue;
+                }
+
+                RepoConfiguration configToClone = configsToAnalyze.get(0);
+
+                // Repos cloned into the same folder, e.g. local repos with the same name, must not overlap.
+                CompletableFuture<RepoAnalysisResult> previousAnalysis =
+                        latestAnalysisOfRepoFolder.get(configToClone.getRepoFolderName());
+                if (previousAnalysis != null) {
+                    previousAnalysis.join();
+                }
+
+                reposInProgress.acquireUninterruptibly();
+                CompletableFuture<String> cloning;
+                try (RepoMetrics.Scope scope = repoMetrics.get(configToClone).attach()) {
+                    cloning = repoCloner.cloneBareAsync(configToClone);
+                }
+                CompletableFuture<RepoAnalysisResult> analysis = cloning
+                        .handleAsync((defaultBranch, throwable) -> analyzeClonedRepos(
+                                outputPath, configsToAnalyze, defaultBranch, fingerprints), repoAnalysisExecutor)
+                        .whenComplete((result, throwable) -> {
+                            repoCloner.cleanup(configToClone);
+                            reposInProgress.release();
+                        })
+                        .thenApply(result -> result.addAll(reusedResult));
+                latestAnalysisOfRepoFolder.put(configToClone.getRepoFolderName(), analysis);
+                analyses.add(analysis);
+            }
 
-        RepoLocation currRepoLocation = repoLocationList.get(0);
-        repoCloner.cloneBare(repoLocationMap.get(currRepoLocation).get(0));
+            List<Path> generatedFiles = new ArrayList<>();
+            for (CompletableFuture<RepoAnalysisResult> analysis : analyses) {
+                RepoAnalysisResult result = analysis.join();
+                result.getFailedConfigs().forEach((failedConfig, errorMessage) ->
+                        handleAnalysisFailed(configs, failedConfig, errorMessage));
+                generatedFiles.addAll(result.getGeneratedFiles());
+            }
+            return generatedFiles;
+        } finally {
+            repoAnalysisExecutor.shutdownNow();
+            repoCloner.cleanup();
+        }
+    }
 
-        List<Path> generatedFiles = new ArrayList<>();
-        for (int index = 1; index <= repoLocationList.size(); index++) {
-            RepoLocation nextRepoLocation = (index < repoLocationList.size()) ? repoLocationList.get(index) : null;
-            clonedRepoLocation = repoCloner.getClonedRepoLocation();
+    /**
+     * Lists the branch tips of each {@code RepoLocation} in {@code repoLocationMap}, with up to {@code numThreads}
+     * of them listed concurrently. The branch tips of a {@code RepoLocation} are absent if they cannot be listed.
+     */
+    private static Map<RepoLocation, Optional<GitLsRemote.BranchTips>> listBranchTips(
+            Map<RepoLocation, List<RepoConfiguration>> repoLocationMap, int numThreads) {
+        ExecutorService listingExecutor = Executors.newFixedThreadPool(numThreads);
+        try {
+            Map<RepoLocation, CompletableFuture<Optional<GitLsRemote.BranchTips>>> listings = new HashMap<>();
+            repoLocationMap.forEach((location, configsOfLocation) -> {
+                List<String> branches = configsOfLocation.stream()
+                        .map(RepoConfiguration::getBranch)
+                        .collect(Collectors.toList());
+                RepoMetrics metrics = repoMetrics.get(configsOfLocation.get(0));
+                listings.put(location, CompletableFuture.supplyAsync(() ->
+                        listBranchTips(location, branches, metrics), listingExecutor));
+            });
+
+            Map<RepoLocation, Optional<GitLsRemote.BranchTips>> branchTipsOfRepoLocation = new HashMap<>();
+            listings.forEach((location, listing) -> branchTipsOfRepoLocation.put(location, listing.join()));
+            return branchTipsOfRepoLocation;
+        } finally {
+            listingExecutor.shutdownNow();
+        }
+    }
 
-            // Clones the next location while analyzing the previously cloned repos in parallel.
-            if (nextRepoLocation != null) {
-                repoCloner.cloneBare(repoLocationMap.get(nextRepoLocation).get(0));
-            }
+    /**
+     * Lists the tips of {@code branches} of the repo at {@code location}, recorded in the clone phase of
+     * {@code metrics}. Returns an empty {@code Optional} if the branches cannot be listed.
+     */
+    private static Optional<GitLsRemote.BranchTips> listBranchTips(RepoLocation location, List<String> branches,
+            RepoMetrics metrics) {
+        try (RepoMetrics.Scope scope = metrics.attach();
+                RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_CLONE)) {
+            return Optional.of(GitLsRemote.getBranchTips(location, branches));
+        } catch (RuntimeException re) {
+            logger.log(Level.WARNING, String.format(MESSAGE_ERROR_LISTING_BRANCHES, location), re);
+            return Optional.empty();
+        }
+    }
 
-            if (clonedRepoLocation == null) {
-                handleCloningFailed(configs, currRepoLocation);
-            } else {
-                generatedFiles.addAll(analyzeRepos(outputPath, configs, repoLocationMap.get(clonedRepoLocation),
-                        repoCloner.getCurrentRepoDefaultBranch()));
-            }
-            currRepoLocation = nextRepoLocation;
+    /**
+     * Updates the branch of {@code config} to the default branch in {@code branchTips} if the default branch is
+     * specified, and returns the {@code RepoFingerprint} of its report. Returns an empty {@code Optional} if the
+     * branch or its tip is not known.
+     */
+    private static Optional<RepoFingerprint> resolveRepoFingerprint(RepoConfiguration config,
+            Optional<GitLsRemote.BranchTips> branchTips) {
+        if (!branchTips.isPresent()) {
+            return Optional.empty();
         }
-        repoCloner.cleanup();
-        return generatedFiles;
+
+        Optional<String> tipCommitHash = branchTips.get().getCommitHash(config.getBranch());
+        branchTips.get().getDefaultBranch().ifPresent(config::updateBranch);
+        if (config.getBranch().equals(RepoConfiguration.DEFAULT_BRANCH)) {
+            return Optional.empty();
+        }
+        return tipCommitHash.map(commitHash -> RepoFingerprint.of(config, commitHash, isCompactJson));
     }
 
     /**
-     * Analyzes all repos in {@code configsToAnalyze} and generates their report.
-     * Also removes {@code configsToAnalyze} that failed to analyze from {@code configs}.
+     * Adds the report of {@code config} generated by a previous run at {@code outputPath} into {@code result} if it
+     * is still up to date with {@code fingerprint}.
      *
-     * @return A list of paths to the JSON report files generated for the repositories in {@code configsToAnalyze}.
+     * @return true if the report is reused.
      */
-    private static List<Path> analyzeRepos(String outputPath, List<RepoConfiguration> configs,
-            List<RepoConfiguration> configsToAnalyze, String defaultBranch) {
-        Iterator<RepoConfiguration> itr = configsToAnalyze.iterator();
-        List<Path> generatedFiles = new ArrayList<>();
-        while (itr.hasNext()) {
-            progressTracker.incrementProgress();
-            RepoConfiguration configToAnalyze = itr.next();
+    private static boolean reuseRepoReport(String outputPath, RepoConfiguration config,
+            RepoFingerprint fingerprint, RepoAnalysisResult result) {
+        String repoReportDirectory = Paths.get(outputPath, config.getOutputFolderName()).toString();
+        Path commitsPath = Paths.get(getIndividualCommitsPath(repoReportDirectory));
+        Path authorshipPath = Paths.get(getIndividualAuthorshipPath(repoReportDirectory));
+        Optional<RepoFingerprint> previousFingerprint =
+                RepoFingerprint.load(Paths.get(repoReportDirectory, RepoFingerprint.FINGERPRINT_FILE_NAME));
+        if (!previousFingerprint.isPresent() || !fingerprint.isReportReusable(previousFingerprint.get())
+                || !Files.exists(commitsPath) || !Files.exists(authorshipPath)) {
+            return false;
+        }
+
+        String progress = progressTracker.incrementProgress();
+        logger.info(String.format(progress + " " + MESSAGE_REUSING_REPORT, config.getLocation(), config.getBranch()));
+        previousFingerprint.get().getStartDate().ifPresent(ReportGenerator::setEarliestSinceDate);
+        result.addGeneratedFiles(Arrays.asList(commitsPath, authorshipPath));
+        return true;
+    }
+
+    /**
+     * Analyzes all repos in {@code configsToAnalyze}, which share the same bare repo cloned with
+     * {@code defaultBranch} as its default branch, and generates their report along with the {@code fingerprints}
+     * of the reports.
+     * Records all of {@code configsToAnalyze} as failed if {@code defaultBranch} is null, i.e. the cloning failed.
+     */
+    private static RepoAnalysisResult analyzeClonedRepos(String outputPath,
+            List<RepoConfiguration> configsToAnalyze, String defaultBranch,
+            Map<RepoConfiguration, RepoFingerprint> fingerprints) {
+        if (defaultBranch == null) {
+            RepoAnalysisResult result = new RepoAnalysisResult();
+            String errorMessage = String.format(LOG_ERROR_CLONING, configsToAnalyze.get(0).getLocation());
+            configsToAnalyze.forEach(config -> result.addFailedConfig(config, errorMessage));
+            return result;
+        }
+
+        return analyzeRepos(outputPath, configsToAnalyze, defaultBranch, fingerprints);
+    }
+
+    /**
+     * Analyzes all repos in {@code configsToAnalyze} and generates their report, saving the fingerprint of each
+     * report in {@code fingerprints} once it is generated.
+     * Records {@code configsToAnalyze} that failed to analyze in the returned result.
+     */
+    private static RepoAnalysisResult analyzeRepos(String outputPath, List<RepoConfiguration> configsToAnalyze,
+            String defaultBranch, Map<RepoConfiguration, RepoFingerprint> fingerprints) {
+        RepoAnalysisResult result = new RepoAnalysisResult();
+        for (RepoConfiguration configToAnalyze : configsToAnalyze) {
+            RepoMetrics.Scope metricsScope = repoMetrics.get(configToAnalyze).attach();
+            String progress = progressTracker.incrementProgress();
             configToAnalyze.updateBranch(defaultBranch);
 
             Path repoReportDirectory = Paths.get(outputPath, configToAnalyze.getOutputFolderName());
             logger.info(
-                    String.format(progressTracker.getProgress() + " "
+                    String.format(progress + " "
                             + MESSAGE_START_ANALYSIS, configToAnalyze.getLocation(), configToAnalyze.getBranch()));
             try {
-                GitRevParse.assertBranchExists(configToAnalyze, FileUtil.getBareRepoPath(configToAnalyze));
-                GitLsTree.validateFilePaths(configToAnalyze, FileUtil.getBareRepoPath(configToAnalyze));
-                GitClone.cloneFromBareAndUpdateBranch(Paths.get(FileUtil.REPOS_ADDRESS), configToAnalyze);
+                try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_CHECKOUT)) {
+                    GitRevParse.assertBranchExists(configToAnalyze, FileUtil.getBareRepoPath(configToAnalyze));
+                    GitLsTree.validateFilePaths(configToAnalyze, FileUtil.getBareRepoPath(configToAnalyze));
+                    GitWorktree.add(configToAnalyze);
+                }
 
                 FileUtil.createDirectory(repoReportDirectory);
-                generatedFiles.addAll(analyzeRepo(configToAnalyze, repoReportDirectory.toString()));
+                // the previous report is overwritten, hence it must not be reused if this analysis fails
+                Path fingerprintPath = repoReportDirectory.resolve(RepoFingerprint.FINGERPRINT_FILE_NAME);
+                fingerprintPath.toFile().delete();
+                result.addGeneratedFiles(analyzeRepo(configToAnalyze, repoReportDirectory.toString(),
+                        fingerprints.get(configToAnalyze)));
             } catch (IOException ioe) {
                 String logMessage = String.format(MESSAGE_ERROR_CREATING_DIRECTORY,
                         configToAnalyze.getLocation(), configToAnalyze.getBranch());
@@ -200,46 +417,87 @@ public class ReportGenerator {
             } catch (GitBranchException gbe) {
                 logger.log(Level.SEVERE, String.format(MESSAGE_BRANCH_DOES_NOT_EXIST,
                         configToAnalyze.getBranch(), configToAnalyze.getLocation()), gbe);
-                handleAnalysisFailed(configs, configToAnalyze,
+                result.addFailedConfig(configToAnalyze,
                         String.format(LOG_BRANCH_DOES_NOT_EXIST, configToAnalyze.getBranch()));
             } catch (InvalidFilePathException ipe) {
-                handleAnalysisFailed(configs, configToAnalyze, LOG_BRANCH_CONTAINS_ILLEGAL_FILE_PATH);
+                result.addFailedConfig(configToAnalyze, LOG_BRANCH_CONTAINS_ILLEGAL_FILE_PATH);
             } catch (GitCloneException gce) {
-                handleAnalysisFailed(configs, configToAnalyze, LOG_ERROR_CLONING_OR_BRANCHING);
+                result.addFailedConfig(configToAnalyze, LOG_ERROR_CLONING_OR_BRANCHING);
             } catch (NoAuthorsWithCommitsFoundException nafe) {
                 logger.log(Level.WARNING, String.format(MESSAGE_NO_AUTHORS_WITH_COMMITS_FOUND,
                         configToAnalyze.getLocation(), configToAnalyze.getBranch()));
-                generatedFiles.addAll(generateEmptyRepoReport(repoReportDirectory.toString(),
+                result.addGeneratedFiles(generateEmptyRepoReport(repoReportDirectory.toString(),
                         Author.NAME_NO_AUTHOR_WITH_COMMITS_FOUND));
                 generateEmptyRepoReport(repoReportDirectory.toString(), Author.NAME_NO_AUTHOR_WITH_COMMITS_FOUND);
             } catch (Exception e) {
                 StringWriter sw = new StringWriter();
                 e.printStackTrace(new PrintWriter(sw));
                 logger.log(Level.SEVERE, sw.toString());
-                handleAnalysisFailed(configs, configToAnalyze,
+                result.addFailedConfig(configToAnalyze,
                         String.format(LOG_UNEXPECTED_ERROR, configToAnalyze.getLocation(), sw.toString()));
+            } finally {
+                try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_CHECKOUT)) {
+                    GitWorktree.remove(configToAnalyze);
+                }
+                metricsScope.close();
             }
         }
-        return generatedFiles;
+        return result;
     }
 
     /**
-     * Analyzes repo specified by {@code config} and generates the report.
+     * Analyzes repo specified by {@code config} and generates the report, saving {@code fingerprint} along with the
+     * report if it is not null. The commits of the repo are analyzed on {@code commitAnalysisExecutor} while its
+     * files are analyzed, as neither analysis modifies the working tree of the repo.
      * @return A list of paths to the JSON report files generated for the repo specified by {@code config}.
      */
-    private static List<Path> analyzeRepo(
-            RepoConfiguration config, String repoReportDirectory) throws NoAuthorsWithCommitsFoundException {
+    private static List<Path> analyzeRepo(RepoConfiguration config, String repoReportDirectory,
+            RepoFingerprint fingerprint) throws NoAuthorsWithCommitsFoundException {
         // preprocess the config and repo
-        updateRepoConfig(config);
-        updateAuthorList(config);
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_PREPROCESS)) {
+            updateRepoConfig(config);
+            updateAuthorList(config);
+        }
 
-        CommitContributionSummary commitSummary = CommitsReporter.generateCommitSummary(config);
-        AuthorshipSummary authorshipSummary = AuthorshipReporter.generateAuthorshipSummary(config);
+        Path commitStorePath = Paths.get(repoReportDirectory, CommitStore.STORE_FILE_NAME);
+        CompletableFuture<CommitContributionSummary> pendingCommitSummary = CompletableFuture.supplyAsync(
+                RepoMetrics.propagate(() -> CommitsReporter.generateCommitSummary(config, commitStorePath)),
+                commitAnalysisExecutor);
+        AuthorshipSummary authorshipSummary;
+        try {
+            authorshipSummary = AuthorshipReporter.generateAuthorshipSummary(config, fileAnalysisExecutor,
+                    blameCache, Paths.get(repoReportDirectory, AuthorshipManifest.MANIFEST_FILE_NAME));
+        } finally {
+            // the commit analysis must not outlive the working tree of the repo, even if the authorship analysis failed
+            pendingCommitSummary.handle((commitSummary, throwable) -> null).join();
+        }
+        CommitContributionSummary commitSummary = getCommitSummary(pendingCommitSummary);
         List<Path> generatedFiles = generateIndividualRepoReport(repoReportDirectory, commitSummary, authorshipSummary);
+        if (fingerprint != null) {
+            fingerprint.save(Paths.get(repoReportDirectory, RepoFingerprint.FINGERPRINT_FILE_NAME),
+                    commitSummary.isAllCommittedUntil(), commitSummary.getStartDate());
+        }
         logger.info(String.format(MESSAGE_COMPLETE_ANALYSIS, config.getLocation(), config.getBranch()));
         return generatedFiles;
     }
 
+    /**
+     * Returns the {@code CommitContributionSummary} of the completed {@code pendingCommitSummary}.
+     *
+     * @throws RuntimeException if the analysis of the commits failed.
+     */
+    private static CommitContributionSummary getCommitSummary(
+            CompletableFuture<CommitContributionSummary> pendingCommitSummary) {
+        try {
+            return pendingCommitSummary.join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ce.getCause();
+            }
+            throw ce;
+        }
+    }
+
     /**
      * Updates {@code config} with configuration provided by repository if exists.
      */
@@ -288,17 +546,6 @@ public class ReportGenerator {
         }
     }
 
-    /**
-     * Adds {@code configs} that were not successfully cloned from {@code failedRepoLocation}
-     * into the list of errors in the summary report and removes them from the list of {@code configs}.
-     */
-    private static void handleCloningFailed(List<RepoConfiguration> configs, RepoLocation failedRepoLocation) {
-        List<RepoConfiguration> failedConfigs = configs.stream()
-                .filter(config -> config.getLocation().equals(failedRepoLocation))
-                .collect(Collectors.toList());
-        handleFailedConfigs(configs, failedConfigs, String.format(LOG_ERROR_CLONING, failedRepoLocation));
-    }
-
     /**
      * Adds {@code failedConfig} that failed analysis into the list of errors in the summary report and
      * removes {@code failedConfig} from the list of {@code configs}.
@@ -332,9 +579,10 @@ public class ReportGenerator {
         CommitReportJson emptyCommitReportJson = new CommitReportJson(displayName);
 
         List<Path> generatedFiles = new ArrayList<>();
-        FileUtil.writeJsonFile(emptyCommitReportJson, getIndividualCommitsPath(repoReportDirectory))
+        FileUtil.writeJsonFile(emptyCommitReportJson, getIndividualCommitsPath(repoReportDirectory), isCompactJson)
                 .ifPresent(generatedFiles::add);
-        FileUtil.writeJsonFile(Collections.emptyList(), getIndividualAuthorshipPath(repoReportDirectory))
+        FileUtil.writeJsonFile(new AuthorshipReportJson(Collections.emptyList()),
+                getIndividualAuthorshipPath(repoReportDirectory), isCompactJson)
                 .ifPresent(generatedFiles::add);
 
         return generatedFiles;
@@ -349,9 +597,10 @@ public class ReportGenerator {
         CommitReportJson commitReportJson = new CommitReportJson(commitSummary, authorshipSummary);
 
         List<Path> generatedFiles = new ArrayList<>();
-        FileUtil.writeJsonFile(commitReportJson, getIndividualCommitsPath(repoReportDirectory))
+        FileUtil.writeJsonFile(commitReportJson, getIndividualCommitsPath(repoReportDirectory), isCompactJson)
                 .ifPresent(generatedFiles::add);
-        FileUtil.writeJsonFile(authorshipSummary.getFileResults(), getIndividualAuthorshipPath(repoReportDirectory))
+        FileUtil.writeJsonFile(new AuthorshipReportJson(authorshipSummary.getFileResults()),
+                getIndividualAuthorshipPath(repoReportDirectory), isCompactJson)
                 .ifPresent(generatedFiles::add);
         return generatedFiles;
     }
@@ -360,6 +609,10 @@ public class ReportGenerator {
         return targetFileLocation + "/" + SummaryJson.SUMMARY_JSON_FILE_NAME;
     }
 
+    private static String getMetricsResultPath(String targetFileLocation) {
+        return targetFileLocation + "/" + MetricsJson.METRICS_JSON_FILE_NAME;
+    }
+
     private static String getIndividualAuthorshipPath(String repoReportDirectory) {
         return repoReportDirectory + "/authorship.json";
     }
@@ -368,9 +621,78 @@ public class ReportGenerator {
         return repoReportDirectory + "/commits.json";
     }
 
-    public static void setEarliestSinceDate(Date newEarliestSinceDate) {
+    /**
+     * Logs a table of the wall time of each phase of the {@code NUM_SLOWEST_REPOS_SHOWN} repos in {@code configs}
+     * that took the longest to clone and analyze.
+     */
+    private static void logSlowestRepos(List<RepoConfiguration> configs) {
+        Comparator<RepoConfiguration> wallTimeComparator =
+                Comparator.comparingLong(config -> repoMetrics.get(config).getWallTimeMillis());
+        List<RepoConfiguration> slowestConfigs = new ArrayList<>(configs);
+        slowestConfigs.sort(wallTimeComparator.reversed());
+        slowestConfigs = slowestConfigs.subList(0, Math.min(NUM_SLOWEST_REPOS_SHOWN, slowestConfigs.size()));
+        if (slowestConfigs.isEmpty()) {
+            return;
+        }
+
+        int repoColumnWidth = slowestConfigs.stream().mapToInt(config -> config.getDisplayName().length()).max()
+                .getAsInt();
+        StringBuilder table = new StringBuilder(MESSAGE_SLOWEST_REPOS).append('\n');
+        table.append(String.format("%-" + repoColumnWidth + "s", ""));
+        table.append(String.format("  %" + SLOWEST_REPOS_TOTAL_COLUMN.length() + "s", SLOWEST_REPOS_TOTAL_COLUMN));
+        RepoMetrics.PHASES.forEach(phase -> table.append("  ").append(phase));
+
+        for (RepoConfiguration config : slowestConfigs) {
+            RepoMetrics metrics = repoMetrics.get(config);
+            table.append('\n').append(String.format("%-" + repoColumnWidth + "s", config.getDisplayName()));
+            table.append(String.format("  %" + SLOWEST_REPOS_TOTAL_COLUMN.length() + ".1f",
+                    metrics.getWallTimeMillis() / 1000.0));
+            for (String phase : RepoMetrics.PHASES) {
+                long phaseWallTimeMillis = metrics.getPhases().containsKey(phase)
+                        ? metrics.getPhases().get(phase).getWallTimeMillis() : 0;
+                table.append(String.format("  %" + phase.length() + ".1f", phaseWallTimeMillis / 1000.0));
+            }
+        }
+        logger.info(table.toString());
+    }
+
+    public static synchronized void setEarliestSinceDate(Date newEarliestSinceDate) {
         if (earliestSinceDate == null || newEarliestSinceDate.before(earliestSinceDate)) {
             earliestSinceDate = newEarliestSinceDate;
         }
     }
+
+    /**
+     * Holds the report files generated and the configs that failed while cloning and analyzing the repos of a
+     * {@code RepoLocation}, to be merged into the report once the analysis completes.
+     */
+    private static class RepoAnalysisResult {
+        private final List<Path> generatedFiles = new ArrayList<>();
+        private final Map<RepoConfiguration, String> failedConfigs = new LinkedHashMap<>();
+
+        public void addGeneratedFiles(List<Path> files) {
+            generatedFiles.addAll(files);
+        }
+
+        /**
+         * Adds the generated files and failed configs of {@code other} after those of this result.
+         */
+        public RepoAnalysisResult addAll(RepoAnalysisResult other) {
+            generatedFiles.addAll(other.generatedFiles);
+            failedConfigs.putAll(other.failedConfigs);
+            return this;
+        }
+
+        public void addFailedConfig(RepoConfiguration config, String errorMessage) {
+            failedConfigs.put(config, errorMessage);
+        }
+
+        public List<Path> getGeneratedFiles() {
+            return generatedFiles;
+        }
+
+        public Map<RepoConfiguration, String> getFailedConfigs() {
+            return failedConfigs;
+        }
+    }
 }
@@ -2,18 +2,21 @@ package reposense.system;
 
 import java.io.IOException;
 import java.nio.file.Path;
-
-import reposense.util.SystemUtil;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 /**
  * Contains command running related functionalities.
+ * Each command is given as the list of its arguments, starting with the program to run, and the program is executed
+ * directly without going through a shell, hence arguments are never quoted, split or expanded.
  */
 public class CommandRunner {
 
     /**
-     * Spawns a backend terminal process, with working directory at {@code path}, to executes the {@code command}.
+     * Spawns a backend process, with working directory at {@code path}, to executes the {@code command}.
      */
-    public static String runCommand(Path path, String command) {
+    public static String runCommand(Path path, List<String> command) {
         CommandRunnerProcess crp = spawnCommandProcess(path, command);
         try {
             return crp.waitForProcess();
@@ -22,34 +25,128 @@ public class CommandRunner {
         }
     }
 
-    public static CommandRunnerProcess runCommandAsync(Path path, String command) {
+    /**
+     * Spawns a backend process, with working directory at {@code path}, to executes the {@code command}.
+     * Each line of the output is passed to {@code lineConsumer}, without its trailing newline, while the process is
+     * still running, so that the output is never held in memory as a whole.
+     */
+    public static void runCommand(Path path, List<String> command, Consumer<String> lineConsumer) {
+        CommandRunnerProcess crp = spawnStreamingCommandProcess(path, command);
+        try {
+            crp.waitForProcess(lineConsumer);
+        } catch (CommandRunnerProcessException cre) {
+            throw new RuntimeException(cre);
+        }
+    }
+
+    /**
+     * Spawns a backend process, with working directory at {@code path}, to executes the {@code command}.
+     * The output is split into records, each starting after a line that fully matches {@code recordDelimiterPattern}.
+     * Each record, with the delimiter line excluded and every line terminated by a newline, is passed to
+     * {@code recordConsumer} as soon as it is complete. Output before the first delimiter line is discarded.
+     */
+    public static void runCommand(Path path, List<String> command, Pattern recordDelimiterPattern,
+            Consumer<String> recordConsumer) {
+        RecordCollector recordCollector = new RecordCollector(recordDelimiterPattern, recordConsumer);
+        runCommand(path, command, recordCollector);
+        recordCollector.flush();
+    }
+
+    /**
+     * Spawns a backend process, with working directory at {@code path}, to execute the {@code command} without waiting
+     * for it to finish executing.
+     */
+    public static CommandRunnerProcess runCommandAsync(Path path, List<String> command) {
         return spawnCommandProcess(path, command);
     }
 
     /**
-     * Spawns a {@code CommandRunnerProcess} to execute {@code command}. Does not wait for process to finish executing.
+     * Spawns a backend process, with working directory at {@code path}, to execute the {@code command}
+     * interactively. The caller writes the input of the process into {@link Process#getOutputStream()} and reads
+     * its output from {@link Process#getInputStream()}, while its error output is discarded.
+     * The process is recorded under the phase that the current thread is working on, if any, but its output is not.
      */
-    private static CommandRunnerProcess spawnCommandProcess(Path path, String command) {
-        ProcessBuilder pb = null;
-        if (SystemUtil.isWindows()) {
-            pb = new ProcessBuilder()
-                    .command(new String[]{"CMD", "/c", command})
-                    .directory(path.toFile());
-        } else {
-            pb = new ProcessBuilder()
-                    .command(new String[]{"bash", "-c", command})
-                    .directory(path.toFile());
-        }
-        Process p = null;
-        try {
-            p = pb.start();
-        } catch (IOException e) {
-            throw new RuntimeException("Error Creating Thread:" + e.getMessage());
+    public static Process spawnInteractiveProcess(Path path, List<String> command) {
+        Process p = startProcess(path, command);
+        new StreamGobbler(p.getErrorStream()).start();
+
+        PhaseMetrics phaseMetrics = RepoMetrics.getCurrentPhase();
+        if (phaseMetrics != null) {
+            phaseMetrics.recordGitProcess();
         }
+        return p;
+    }
+
+    /**
+     * Spawns a {@code CommandRunnerProcess} to execute {@code command}. Does not wait for process to finish executing.
+     */
+    private static CommandRunnerProcess spawnCommandProcess(Path path, List<String> command) {
+        Process p = startProcess(path, command);
         StreamGobbler errorGobbler = new StreamGobbler(p.getErrorStream());
         StreamGobbler outputGobbler = new StreamGobbler(p.getInputStream());
         outputGobbler.start();
         errorGobbler.start();
-        return new CommandRunnerProcess(path, command, p, outputGobbler, errorGobbler);
+        return new CommandRunnerProcess(path, String.join(" ", command), p, outputGobbler, errorGobbler);
+    }
+
+    /**
+     * Spawns a {@code CommandRunnerProcess} to execute {@code command}, whose output is left to be read by the
+     * caller of {@code CommandRunnerProcess#waitForProcess(Consumer)}.
+     */
+    private static CommandRunnerProcess spawnStreamingCommandProcess(Path path, List<String> command) {
+        Process p = startProcess(path, command);
+        StreamGobbler errorGobbler = new StreamGobbler(p.getErrorStream());
+        errorGobbler.start();
+        return new CommandRunnerProcess(path, String.join(" ", command), p, null, errorGobbler);
+    }
+
+    /**
+     * Starts a process with working directory at {@code path} that executes the program in {@code command} directly,
+     * with the rest of {@code command} as its arguments.
+     */
+    private static Process startProcess(Path path, List<String> command) {
+        ProcessBuilder pb = new ProcessBuilder(command).directory(path.toFile());
+        try {
+            return pb.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Error Creating Thread:" + e.getMessage());
+        }
+    }
+
+    /**
+     * Groups the lines of an output into records separated by delimiter lines.
+     */
+    private static class RecordCollector implements Consumer<String> {
+        private final Pattern recordDelimiterPattern;
+        private final Consumer<String> recordConsumer;
+        private StringBuilder record = null;
+
+        RecordCollector(Pattern recordDelimiterPattern, Consumer<String> recordConsumer) {
+            this.recordDelimiterPattern = recordDelimiterPattern;
+            this.recordConsumer = recordConsumer;
+        }
+
+        @Override
+        public void accept(String line) {
+            if (recordDelimiterPattern.matcher(line).matches()) {
+                flush();
+                record = new StringBuilder();
+                return;
+            }
+
+            if (record != null) {
+                record.append(line).append('\n');
+            }
+        }
+
+        /**
+         * Passes the record collected so far, if any, to the record consumer.
+         */
+        void flush() {
+            if (record != null) {
+                recordConsumer.accept(record.toString());
+                record = null;
+            }
+        }
     }
 }
@@ -1,18 +1,31 @@
 package reposense.system;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 /**
  * Represents a process created by {@code CommandRunner}.
  */
 public class CommandRunnerProcess {
+    private static final int READ_BUFFER_SIZE = 1 << 13; // 8KB
 
     private Path path;
     private String command;
     private Process process;
     private StreamGobbler outputGobbler;
     private StreamGobbler errorGobbler;
+    private PhaseMetrics phaseMetrics;
+    private long streamedByteCount = 0;
 
+    /**
+     * Creates a {@code CommandRunnerProcess} for {@code process}, which is recorded under the phase that the current
+     * thread is working on, if any.
+     */
     public CommandRunnerProcess(
             Path path, String command, Process process, StreamGobbler outputGobbler, StreamGobbler errorGobbler) {
         this.path = path;
@@ -20,28 +33,123 @@ public class CommandRunnerProcess {
         this.process = process;
         this.outputGobbler = outputGobbler;
         this.errorGobbler = errorGobbler;
+        this.phaseMetrics = RepoMetrics.getCurrentPhase();
+
+        if (phaseMetrics != null) {
+            phaseMetrics.recordGitProcess();
+        }
     }
 
     /**
      * Waits for process to finish executing and returns the output from the execution.
      */
     public String waitForProcess() throws CommandRunnerProcessException {
+        waitForExit();
+        return outputGobbler.getValue();
+    }
+
+    /**
+     * Passes each line of the output to {@code lineConsumer} as the process produces it, then waits for the process
+     * to finish executing. Can only be used if the output of the process is not consumed by an output gobbler.
+     * The process is terminated if {@code lineConsumer} throws an exception.
+     */
+    public void waitForProcess(Consumer<String> lineConsumer) throws CommandRunnerProcessException {
+        assert outputGobbler == null : "Output of the process is already being consumed.";
+
+        try {
+            readLines(new CountingInputStream(process.getInputStream()), lineConsumer);
+        } catch (IOException ioe) {
+            process.destroy();
+            throw new CommandRunnerProcessException("Error Reading Output: " + ioe.getMessage());
+        } catch (RuntimeException re) {
+            process.destroy();
+            throw re;
+        }
+        waitForExit();
+    }
+
+    /**
+     * Waits for the process and its gobblers to finish.
+     *
+     * @throws CommandRunnerProcessException if the process returned an error.
+     */
+    private void waitForExit() throws CommandRunnerProcessException {
         int exit = 0;
         try {
             exit = process.waitFor();
-            outputGobbler.join();
+            if (outputGobbler != null) {
+                outputGobbler.join();
+            }
             errorGobbler.join();
         } catch (InterruptedException e) {
             throw new CommandRunnerProcessException("Error Handling Thread.");
         }
 
-        if (exit == 0) {
-            return outputGobbler.getValue();
-        } else {
+        if (phaseMetrics != null) {
+            phaseMetrics.addGitOutputBytes((outputGobbler != null) ? outputGobbler.getByteCount() : streamedByteCount);
+            phaseMetrics.sampleHeapUsage();
+        }
+
+        if (exit != 0) {
             String errorMessage = "Error returned from command ";
             errorMessage += command + "on path ";
             errorMessage += path.toString() + " :\n" + errorGobbler.getValue();
             throw new CommandRunnerProcessException(errorMessage);
         }
     }
+
+    /**
+     * Reads {@code is} to the end, passing each line to {@code lineConsumer} without its trailing newline.
+     * Only newlines terminate a line, so carriage returns are kept as part of the line.
+     */
+    private static void readLines(InputStream is, Consumer<String> lineConsumer) throws IOException {
+        StringBuilder line = new StringBuilder();
+        try (Reader reader = new InputStreamReader(is)) {
+            char[] buffer = new char[READ_BUFFER_SIZE];
+            int len;
+            while ((len = reader.read(buffer)) != -1) {
+                int lineStart = 0;
+                for (int i = 0; i < len; i++) {
+                    if (buffer[i] == '\n') {
+                        line.append(buffer, lineStart, i - lineStart);
+                        lineConsumer.accept(line.toString());
+                        line.setLength(0);
+                        lineStart = i + 1;
+                    }
+                }
+                line.append(buffer, lineStart, len - lineStart);
+            }
+        }
+
+        if (line.length() > 0) {
+            lineConsumer.accept(line.toString());
+        }
+    }
+
+    /**
+     * Counts the bytes of output read from the process while its output is streamed.
+     */
+    private class CountingInputStream extends FilterInputStream {
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                streamedByteCount++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                streamedByteCount += count;
+            }
+            return count;
+        }
+    }
 }
@@ -0,0 +1,56 @@
+package reposense.system;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the wall time, number of git processes, bytes of git output and largest sample of the heap usage of the whole
+ * process recorded for a phase of cloning or analyzing a repo.
+ */
+public class PhaseMetrics {
+    private final AtomicLong wallTimeMillis = new AtomicLong();
+    private final AtomicInteger gitProcessCount = new AtomicInteger();
+    private final AtomicLong gitOutputBytes = new AtomicLong();
+    private final AtomicLong sampledProcessHeapBytes = new AtomicLong();
+
+    public void addWallTime(long elapsedNanos) {
+        wallTimeMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    public void recordGitProcess() {
+        gitProcessCount.incrementAndGet();
+    }
+
+    public void addGitOutputBytes(long bytes) {
+        gitOutputBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Samples the current heap usage of the whole JVM and keeps it if it is the largest sample so far in this phase.
+     * The sample is not the usage of this phase alone, as it includes the other repos being cloned or analyzed at the
+     * same time and garbage that is not collected yet, and it is not the true peak of the phase, as the heap is only
+     * sampled at the start and end of the phase and whenever a git process run in the phase exits.
+     */
+    public void sampleHeapUsage() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeapBytes = runtime.totalMemory() - runtime.freeMemory();
+        sampledProcessHeapBytes.accumulateAndGet(usedHeapBytes, Math::max);
+    }
+
+    public long getWallTimeMillis() {
+        return wallTimeMillis.get();
+    }
+
+    public int getGitProcessCount() {
+        return gitProcessCount.get();
+    }
+
+    public long getGitOutputBytes() {
+        return gitOutputBytes.get();
+    }
+
+    public long getSampledProcessHeapBytes() {
+        return sampledProcessHeapBytes.get();
+    }
+}
@@ -0,0 +1,152 @@
+package reposense.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records the {@code PhaseMetrics} of each phase of cloning and analyzing a repo, to find out which phases are
+ * responsible when the report takes long to generate.
+ *
+ * The repo and phase that a thread is working on are kept in thread locals, so that the git processes run by the
+ * thread are recorded under the right phase without passing the metrics down to every caller of
+ * {@code CommandRunner}.
+ */
+public class RepoMetrics {
+    public static final String PHASE_CLONE = "clone";
+    public static final String PHASE_CHECKOUT = "checkout";
+    public static final String PHASE_PREPROCESS = "preprocess";
+    public static final String PHASE_COMMIT_EXTRACTION = "commitExtraction";
+    public static final String PHASE_COMMIT_ANALYSIS = "commitAnalysis";
+    public static final String PHASE_FILE_EXTRACTION = "fileExtraction";
+    public static final String PHASE_FILE_ANALYSIS = "fileAnalysis";
+    public static final String PHASE_AGGREGATION = "aggregation";
+    public static final String PHASE_JSON_WRITING = "jsonWriting";
+
+    /**
+     * All the phases, in the order in which they are run for a repo.
+     */
+    public static final List<String> PHASES = Collections.unmodifiableList(Arrays.asList(PHASE_CLONE, PHASE_CHECKOUT,
+            PHASE_PREPROCESS, PHASE_COMMIT_EXTRACTION, PHASE_COMMIT_ANALYSIS, PHASE_FILE_EXTRACTION,
+            PHASE_FILE_ANALYSIS, PHASE_AGGREGATION, PHASE_JSON_WRITING));
+
+    private static final ThreadLocal<RepoMetrics> currentRepo = new ThreadLocal<>();
+    private static final ThreadLocal<PhaseMetrics> currentPhase = new ThreadLocal<>();
+
+    private final Map<String, PhaseMetrics> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    // the start and end System#nanoTime of each run of a phase of the repo
+    private final List<long[]> phasePeriods = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Makes the current thread record its phases under this repo until the returned {@code Scope} is closed.
+     */
+    public Scope attach() {
+        return setCurrent(this, null);
+    }
+
+    /**
+     * Starts timing the phase {@code phaseName} of the repo that the current thread is attached to, and records
+     * the git processes run by the current thread under the phase until the returned {@code Scope} is closed.
+     * A phase that is started multiple times accumulates its metrics. Nothing is recorded if the current thread is
+     * not attached to any repo.
+     */
+    public static Scope startPhase(String phaseName) {
+        RepoMetrics repo = currentRepo.get();
+        if (repo == null) {
+            return () -> { };
+        }
+
+        PhaseMetrics phase = repo.phases.computeIfAbsent(phaseName, name -> new PhaseMetrics());
+        Scope phaseScope = setCurrent(repo, phase);
+        phase.sampleHeapUsage();
+        long startTime = System.nanoTime();
+        return () -> {
+            long endTime = System.nanoTime();
+            phase.addWallTime(endTime - startTime);
+            repo.phasePeriods.add(new long[] {startTime, endTime});
+            phase.sampleHeapUsage();
+            phaseScope.close();
+        };
+    }
+
+    /**
+     * Returns the phase that the current thread is working on, or null if there is none.
+     */
+    public static PhaseMetrics getCurrentPhase() {
+        return currentPhase.get();
+    }
+
+    /**
+     * Returns a {@code Supplier} that runs {@code task} with the repo and phase that the calling thread is working
+     * on, to allow work handed off to other threads to be recorded under them.
+     * The wall time of the phase remains that of the calling thread.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RepoMetrics repo = currentRepo.get();
+        PhaseMetrics phase = currentPhase.get();
+        return () -> {
+            try (Scope scope = setCurrent(repo, phase)) {
+                return task.get();
+            }
+        };
+    }
+
+    public Map<String, PhaseMetrics> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Returns the wall time during which any phase of the repo was running. Phases that overlap, such as the commit
+     * and file analysis phases, are counted once, and the time that the repo spent waiting for other repos in between
+     * its phases is left out.
+     */
+    public long getWallTimeMillis() {
+        List<long[]> periods;
+        synchronized (phasePeriods) {
+            periods = new ArrayList<>(phasePeriods);
+        }
+        periods.sort(Comparator.comparingLong(period -> period[0]));
+
+        long wallTime = 0;
+        long coveredUntil = Long.MIN_VALUE;
+        for (long[] period : periods) {
+            long uncoveredStart = Math.max(period[0], coveredUntil);
+            if (period[1] > uncoveredStart) {
+                wallTime += period[1] - uncoveredStart;
+                coveredUntil = period[1];
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(wallTime);
+    }
+
+    /**
+     * Sets the repo and phase that the current thread is working on to {@code repo} and {@code phase}.
+     *
+     * @return a {@code Scope} that restores the repo and phase that the thread was previously working on.
+     */
+    private static Scope setCurrent(RepoMetrics repo, PhaseMetrics phase) {
+        RepoMetrics previousRepo = currentRepo.get();
+        PhaseMetrics previousPhase = currentPhase.get();
+        currentRepo.set(repo);
+        currentPhase.set(phase);
+        return () -> {
+            currentRepo.set(previousRepo);
+            currentPhase.set(previousPhase);
+        };
+    }
+
+    /**
+     * Represents the period in which a thread is attached to a repo or working on a phase.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
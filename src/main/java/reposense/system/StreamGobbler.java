@@ -3,40 +3,163 @@ package reposense.system;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Contains input stream consumption and processing related functionalities.
+ *
+ * The streams of all processes are read by the threads of a shared executor, which are reused across processes
+ * instead of a new thread being started for every stream. Each stream is read until its end while its process
+ * runs, hence the executor must not limit the number of streams that are read concurrently.
  */
-public class StreamGobbler extends Thread {
+public class StreamGobbler implements Runnable {
+    private static final int BUFFER_SIZE = 1 << 13; // 8KB
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final String READER_THREAD_NAME_PREFIX = "stream-gobbler-";
 
-    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 13); // 8KB
+    private static final AtomicInteger readerThreadCount = new AtomicInteger();
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, READER_THREAD_NAME_PREFIX + readerThreadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final BlockingQueue<ReadBuffers> bufferPool = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private static volatile Executor executor = DEFAULT_EXECUTOR;
+
+    private final CountDownLatch finished = new CountDownLatch(1);
 
     private InputStream is;
     private String value;
+    private long byteCount = 0;
 
     public StreamGobbler(InputStream is) {
         this.is = is;
     }
 
+    /**
+     * Sets the {@code Executor} that reads the streams of processes spawned afterwards, which must run every stream
+     * given to it concurrently, e.g. one that runs each stream in a virtual thread on JDKs that support them.
+     */
+    public static void setExecutor(Executor readerExecutor) {
+        executor = readerExecutor;
+    }
+
+    /**
+     * Starts reading the stream in a thread of the shared executor.
+     */
+    public void start() {
+        executor.execute(this);
+    }
+
+    /**
+     * Waits for the stream to be read to its end.
+     */
+    public void join() throws InterruptedException {
+        finished.await();
+    }
+
     public String getValue() {
         return value;
     }
 
+    /**
+     * Returns the number of bytes read from the stream.
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
     @Override
     public void run() {
+        ReadBuffers buffers = acquireBuffers();
         try {
-            StringBuilder sb = new StringBuilder();
-            ReadableByteChannel ch = Channels.newChannel(is);
-            int len;
-            while ((len = ch.read(buffer)) > 0) {
-                sb.append(new String(buffer.array(), 0, len));
-                buffer.rewind();
-            }
-            value = sb.toString();
+            value = decode(buffers);
         } catch (IOException ioe) {
             ioe.printStackTrace();
+        } finally {
+            bufferPool.offer(buffers);
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Reads the stream to its end and returns its contents decoded in the default charset. Bytes that are left over
+     * after a read, such as the start of a multi-byte character split across reads, are decoded with the next read.
+     */
+    private String decode(ReadBuffers buffers) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        ByteBuffer bytes = buffers.bytes;
+        CharBuffer chars = buffers.chars;
+        CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        int len;
+        while ((len = is.read(bytes.array(), bytes.position(), bytes.remaining())) != -1) {
+            byteCount += len;
+            bytes.position(bytes.position() + len);
+            bytes.flip();
+            CoderResult result;
+            do {
+                result = decoder.decode(bytes, chars, false);
+                appendDecoded(sb, chars);
+            } while (result.isOverflow());
+            bytes.compact();
         }
+
+        bytes.flip();
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chars, true);
+            appendDecoded(sb, chars);
+        } while (result.isOverflow());
+        do {
+            result = decoder.flush(chars);
+            appendDecoded(sb, chars);
+        } while (result.isOverflow());
+        return sb.toString();
+    }
+
+    /**
+     * Appends the characters decoded into {@code chars} to {@code sb} and clears {@code chars}.
+     */
+    private static void appendDecoded(StringBuilder sb, CharBuffer chars) {
+        chars.flip();
+        sb.append(chars);
+        chars.clear();
+    }
+
+    /**
+     * Returns buffers from the pool, or new buffers if all the pooled buffers are in use.
+     */
+    private static ReadBuffers acquireBuffers() {
+        ReadBuffers buffers = bufferPool.poll();
+        if (buffers == null) {
+            return new ReadBuffers();
+        }
+        buffers.bytes.clear();
+        buffers.chars.clear();
+        return buffers;
+    }
+
+    /**
+     * Holds the buffers that a stream is read and decoded into, which are reused across streams.
+     * The buffers are on the heap, as the bytes of an {@code InputStream} can only be read into an array.
+     */
+    private static class ReadBuffers {
+        private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
     }
 }
@@ -1,33 +1,39 @@
 package reposense.util;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 
 import reposense.model.FileType;
 import reposense.model.RepoConfiguration;
 import reposense.system.LogsManager;
+import reposense.system.RepoMetrics;
 
 /**
  * Contains file processing related functionalities.
@@ -40,9 +46,13 @@ public class FileUtil {
 
     private static final Logger logger = LogsManager.getLogger(FileUtil.class);
     private static final String GITHUB_API_DATE_FORMAT = "yyyy-MM-dd";
+    // Gson instances are thread-safe, hence they are shared by all the repos being analyzed concurrently
+    private static final Gson PRETTY_GSON = createGsonBuilder().setPrettyPrinting().create();
+    private static final Gson COMPACT_GSON = createGsonBuilder().create();
     private static final ByteBuffer buffer = ByteBuffer.allocate(1 << 11); // 2KB
 
     private static final String BARE_REPO_SUFFIX = "_bare";
+    private static final String INCOMPLETE_FILE_SUFFIX = ".tmp";
 
     private static final String MESSAGE_INVALID_FILE_PATH = "\"%s\" is an invalid file path. Skipping this directory.";
     private static final String MESSAGE_FAIL_TO_ZIP_FILES =
@@ -84,28 +94,65 @@ public class FileUtil {
     }
 
     /**
-     * Writes the JSON file representing the {@code object} at the given {@code path}.
+     * Writes the pretty-printed JSON file representing the {@code object} at the given {@code path}.
      * @return An Optional containing the Path to the JSON file, or an empty Optional
      *         if there was an error while writing the JSON file.
      */
     public static Optional<Path> writeJsonFile(Object object, String path) {
-        Gson gson = new GsonBuilder()
-                .setDateFormat(GITHUB_API_DATE_FORMAT)
-                .registerTypeAdapter(FileType.class, new FileType.FileTypeSerializer())
-                .setPrettyPrinting()
-                .create();
-        String result = gson.toJson(object);
-
-        try (PrintWriter out = new PrintWriter(path)) {
-            out.print(result);
-            out.print("\n");
+        return writeJsonFile(object, path, false);
+    }
+
+    /**
+     * Writes the JSON file representing the {@code object} at the given {@code path}, without any indentation or
+     * line breaks if {@code isCompact} is true. The JSON is streamed into the file as it is serialized, instead of
+     * being built in memory first.
+     * @return An Optional containing the Path to the JSON file, or an empty Optional
+     *         if there was an error while writing the JSON file.
+     */
+    public static Optional<Path> writeJsonFile(Object object, String path, boolean isCompact) {
+        Gson gson = isCompact ? COMPACT_GSON : PRETTY_GSON;
+
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_JSON_WRITING);
+                Writer out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            gson.toJson(object, object.getClass(), gson.newJsonWriter(out));
+            out.write("\n");
             return Optional.of(path).map(Paths::get);
-        } catch (FileNotFoundException e) {
+        } catch (IOException | JsonIOException e) {
             logger.log(Level.SEVERE, e.getMessage(), e);
             return Optional.empty();
         }
     }
 
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .setDateFormat(GITHUB_API_DATE_FORMAT)
+                .registerTypeAdapter(FileType.class, new FileType.FileTypeSerializer());
+    }
+
+    /**
+     * Writes the data written by {@code writer} to the file at {@code path} in gzip format, replacing any existing
+     * file atomically so that it is never read partially written. The data is first written to a temporary file in
+     * the same directory, which is deleted if the file cannot be written.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeGzipFileAtomically(Path path, DataWriter writer) throws IOException {
+        Path incompletePath = Files.createTempFile(path.getParent(), null, INCOMPLETE_FILE_SUFFIX);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(incompletePath))))) {
+                writer.write(out);
+            }
+            Files.move(incompletePath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(incompletePath);
+            } catch (IOException ioe) {
+                e.addSuppressed(ioe);
+            }
+            throw e;
+        }
+    }
+
     /**
      * Deletes the {@code root} directory.
      * @throws IOException if the root path does not exist.
@@ -230,4 +277,12 @@ public class FileUtil {
     private static String attachJsPrefix(String original, String prefix) {
         return "var " + prefix + " = " + original;
     }
+
+    /**
+     * Writes data into the {@code DataOutputStream} of a file written by {@code writeGzipFileAtomically}.
+     */
+    @FunctionalInterface
+    public interface DataWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
 }
@@ -12,14 +12,16 @@ public class ProgressTracker {
     }
 
     /**
-     * Increments the {@code current} number of repos analysed.
+     * Increments the {@code current} number of repos analysed and returns the progress after incrementing.
+     * Safe to be called by multiple threads analyzing repos concurrently.
      */
-    public void incrementProgress() {
+    public synchronized String incrementProgress() {
         current += 1;
         assert(current <= total);
+        return getProgress();
     }
 
-    public String getProgress() {
+    public synchronized String getProgress() {
         return "[" + current + "/" + total + "]";
     }
 }
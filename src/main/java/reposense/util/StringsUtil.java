@@ -1,5 +1,8 @@
 package reposense.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.regex.Pattern;
 
 /**
@@ -31,10 +34,6 @@ public class StringsUtil {
         return SPECIAL_SYMBOLS.matcher(regexString).replaceAll(replacementCharacter);
     }
 
-    public static String addQuote(String original) {
-        return "\"" + original + "\"";
-    }
-
     /**
      * Removes quotes at the start and end of {@code original}, if exists.
      */
@@ -45,4 +44,21 @@ public class StringsUtil {
 
         return original;
     }
+
+    /**
+     * Returns the SHA-1 hash of the UTF-8 encoding of {@code value} in hexadecimal.
+     */
+    public static String getSha1Hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException nsae) {
+            // every Java platform is required to support SHA-1
+            throw new AssertionError(nsae);
+        }
+    }
 }
@@ -9,6 +9,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -121,7 +122,9 @@ public class ConfigSystemTest {
 
         ReportGenerator.generateReposReport(repoConfigs, FT_TEMP_DIR, TEST_REPORT_GENERATED_TIME,
                 cliArguments.getSinceDate(), cliArguments.getUntilDate(),
-                cliArguments.isSinceDateProvided(), cliArguments.isUntilDateProvided());
+                cliArguments.isSinceDateProvided(), cliArguments.isUntilDateProvided(),
+                cliArguments.getNumThreads(), cliArguments.getNumCloneThreads(),
+                cliArguments.getNumAnalysisThreads(), Optional.empty(), Optional.empty(), cliArguments.isCompactJson());
     }
 
     /**
@@ -0,0 +1,167 @@
+package reposense.authorship;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import reposense.authorship.model.FileInfo;
+import reposense.authorship.model.FileResult;
+import reposense.model.Author;
+import reposense.model.RepoConfiguration;
+import reposense.model.RepoLocation;
+import reposense.util.FileUtil;
+
+public class AuthorshipManifestTest {
+    private static final Path MANIFEST_DIRECTORY = Paths.get("authorshipmanifest_test");
+    private static final Path MANIFEST_PATH = MANIFEST_DIRECTORY.resolve(AuthorshipManifest.MANIFEST_FILE_NAME);
+    private static final String SINCE_COMMIT_HASH = "768015345e70f06add2a8b7d1f901dc07bf70582";
+    private static final String BLOB_HASH = "b28dfac5bd449825c1a372e58485833b35fdbd50";
+    private static final String FILE_PATH = "src/Main.java";
+    private static final String UNTIL_COMMIT_HASH = "6e96a34387874cc55a0ac7501b8ecd75c9f6e6b6";
+    private static final String NEXT_UNTIL_COMMIT_HASH = "b0cf2065729fc0794cb2e870b8b69f4cca13c099";
+
+    private static final Author ALICE = new Author("alice");
+    private static final Author BOB = new Author("bob");
+
+    private RepoConfiguration config;
+
+    @Before
+    public void before() throws Exception {
+        FileUtil.createDirectory(MANIFEST_DIRECTORY);
+        config = new RepoConfiguration(new RepoLocation(""));
+        config.setAuthorList(Arrays.asList(ALICE, BOB));
+    }
+
+    @After
+    public void after() throws IOException {
+        FileUtil.deleteDirectory(MANIFEST_DIRECTORY.toString());
+    }
+
+    @Test
+    public void get_afterSaveAndLoad_authorsRestored() {
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+        FileInfo fileInfo = createFileInfo(BLOB_HASH);
+        fileInfo.setLineAuthor(0, ALICE);
+        fileInfo.setLineAuthor(1, ALICE);
+        fileInfo.setLineAuthor(2, Author.UNKNOWN_AUTHOR);
+        manifest.put(fileInfo, new FileResult(FILE_PATH, null, fileInfo.getLineStore(), new HashMap<>()));
+        manifest.save(MANIFEST_PATH);
+
+        FileInfo unchangedFileInfo = createFileInfo(BLOB_HASH);
+        Optional<AuthorshipManifest.Entry> entry =
+                loadManifest(SINCE_COMMIT_HASH).get(unchangedFileInfo);
+        Assert.assertTrue(entry.isPresent());
+        Assert.assertTrue(entry.get().hasFileResult());
+
+        entry.get().restoreAuthors(unchangedFileInfo);
+        Assert.assertEquals(fileInfo, unchangedFileInfo);
+    }
+
+    @Test
+    public void get_fileNotReported_entryWithoutFileResult() {
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+        manifest.put(createFileInfo(BLOB_HASH), null);
+        manifest.save(MANIFEST_PATH);
+
+        Optional<AuthorshipManifest.Entry> entry =
+                loadManifest(SINCE_COMMIT_HASH).get(createFileInfo(BLOB_HASH));
+        Assert.assertTrue(entry.isPresent());
+        Assert.assertFalse(entry.get().hasFileResult());
+    }
+
+    @Test
+    public void get_changedBlobOrInputs_notFound() {
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+        manifest.put(createFileInfo(BLOB_HASH), null);
+        manifest.save(MANIFEST_PATH);
+
+        Assert.assertEquals(Optional.empty(), loadManifest(SINCE_COMMIT_HASH)
+                .get(createFileInfo(SINCE_COMMIT_HASH)));
+        Assert.assertEquals(Optional.empty(), loadManifest("")
+                .get(createFileInfo(BLOB_HASH)));
+
+        config.setAuthorList(Collections.singletonList(ALICE));
+        Assert.assertEquals(Optional.empty(), loadManifest(SINCE_COMMIT_HASH)
+                .get(createFileInfo(BLOB_HASH)));
+    }
+
+    @Test
+    public void get_sameBlobModifiedSince_notFound() {
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+        manifest.put(createFileInfo(BLOB_HASH), null);
+        manifest.save(MANIFEST_PATH);
+
+        // a file edited and then reverted has the same blob, but its reverted lines are blamed on the revert
+        Function<String, Set<String>> getModifiedFilePaths = previousUntilCommitHash -> {
+            Assert.assertEquals(UNTIL_COMMIT_HASH, previousUntilCommitHash);
+            return Collections.singleton(FILE_PATH);
+        };
+        AuthorshipManifest nextManifest = AuthorshipManifest.load(
+                MANIFEST_PATH, config, SINCE_COMMIT_HASH, NEXT_UNTIL_COMMIT_HASH, getModifiedFilePaths);
+        Assert.assertEquals(Optional.empty(), nextManifest.get(createFileInfo(BLOB_HASH)));
+    }
+
+    @Test
+    public void get_sameBlobNotModifiedSince_found() {
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+        manifest.put(createFileInfo(BLOB_HASH), null);
+        manifest.save(MANIFEST_PATH);
+
+        AuthorshipManifest nextManifest = AuthorshipManifest.load(MANIFEST_PATH, config, SINCE_COMMIT_HASH,
+                NEXT_UNTIL_COMMIT_HASH, previousUntilCommitHash -> Collections.singleton("src/Other.java"));
+        Assert.assertTrue(nextManifest.get(createFileInfo(BLOB_HASH)).isPresent());
+    }
+
+    @Test
+    public void load_noManifest_nothingFound() {
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+
+        Assert.assertEquals(Optional.empty(), manifest.get(createFileInfo(BLOB_HASH)));
+    }
+
+    @Test
+    public void load_noReusableEntries_modifiedFilesNotLookedUp() {
+        Function<String, Set<String>> failingGetModifiedFilePaths = previousUntilCommitHash -> {
+            throw new AssertionError("Modified files looked up for " + previousUntilCommitHash);
+        };
+        AuthorshipManifest.load(MANIFEST_PATH, config, SINCE_COMMIT_HASH, NEXT_UNTIL_COMMIT_HASH,
+                failingGetModifiedFilePaths);
+
+        AuthorshipManifest manifest = loadManifest(SINCE_COMMIT_HASH);
+        manifest.put(createFileInfo(BLOB_HASH), null);
+        manifest.save(MANIFEST_PATH);
+        AuthorshipManifest.load(MANIFEST_PATH, config, "", NEXT_UNTIL_COMMIT_HASH, failingGetModifiedFilePaths);
+    }
+
+    /**
+     * Loads the manifest at {@code MANIFEST_PATH} for {@code config} and the analysis of the
+     * {@code UNTIL_COMMIT_HASH} commit, with the git blame traversal bounded by {@code sinceCommitHash}.
+     */
+    private AuthorshipManifest loadManifest(String sinceCommitHash) {
+        Function<String, Set<String>> getModifiedFilePaths = previousUntilCommitHash -> Collections.emptySet();
+        return AuthorshipManifest.load(MANIFEST_PATH, config, sinceCommitHash, UNTIL_COMMIT_HASH, getModifiedFilePaths);
+    }
+
+    /**
+     * Returns a {@code FileInfo} of three lines at {@code FILE_PATH} read from the blob of {@code blobHash}.
+     */
+    private static FileInfo createFileInfo(String blobHash) {
+        FileInfo fileInfo = new FileInfo(FILE_PATH);
+        fileInfo.addLine("first line");
+        fileInfo.addLine("second line");
+        fileInfo.addLine("third line");
+        fileInfo.setBlobHash(blobHash);
+        return fileInfo;
+    }
+}
@@ -0,0 +1,82 @@
+package reposense.authorship;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import reposense.util.FileUtil;
+
+public class BlameCacheTest {
+    private static final Path CACHE_DIRECTORY = Paths.get("blamecache_test");
+    private static final String SINCE_COMMIT_HASH = "768015345e70f06add2a8b7d1f901dc07bf70582";
+    private static final String UNTIL_COMMIT_HASH = "b28dfac5bd449825c1a372e58485833b35fdbd50";
+    private static final String FILE_PATH = "src/Main.java";
+
+    private static final BlameCache.BlameLine FIRST_COMMIT_LINE = new BlameCache.BlameLine(
+            SINCE_COMMIT_HASH, "Alice", "alice@example.com", true);
+    private static final BlameCache.BlameLine SECOND_COMMIT_LINE = new BlameCache.BlameLine(
+            UNTIL_COMMIT_HASH, "Bob", "bob@example.com", false);
+    private static final List<BlameCache.BlameLine> BLAME_LINES = Arrays.asList(
+            FIRST_COMMIT_LINE, SECOND_COMMIT_LINE, SECOND_COMMIT_LINE, FIRST_COMMIT_LINE);
+
+    @After
+    public void after() throws IOException {
+        FileUtil.deleteDirectory(CACHE_DIRECTORY.toString());
+    }
+
+    @Test
+    public void get_afterPut_returnsBlameLines() {
+        BlameCache blameCache = new BlameCache(CACHE_DIRECTORY, Long.MAX_VALUE);
+        blameCache.put(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, FILE_PATH, BLAME_LINES);
+
+        Assert.assertEquals(Optional.of(BLAME_LINES), blameCache.get(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, FILE_PATH));
+        Assert.assertEquals(Optional.of(BLAME_LINES), blameCache.get(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, FILE_PATH));
+    }
+
+    @Test
+    public void get_linesNotBlamed_nullBlameLines() {
+        BlameCache blameCache = new BlameCache(CACHE_DIRECTORY, Long.MAX_VALUE);
+        List<BlameCache.BlameLine> partialBlameLines = Arrays.asList(null, SECOND_COMMIT_LINE, null, FIRST_COMMIT_LINE);
+        blameCache.put(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, FILE_PATH, partialBlameLines);
+
+        Assert.assertEquals(Optional.of(partialBlameLines),
+                blameCache.get(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, FILE_PATH));
+    }
+
+    @Test
+    public void get_differentCommitRangeOrPath_notFound() {
+        BlameCache blameCache = new BlameCache(CACHE_DIRECTORY, Long.MAX_VALUE);
+        blameCache.put(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, FILE_PATH, BLAME_LINES);
+
+        Assert.assertEquals(Optional.empty(), blameCache.get("", UNTIL_COMMIT_HASH, FILE_PATH));
+        Assert.assertEquals(Optional.empty(), blameCache.get(SINCE_COMMIT_HASH, SINCE_COMMIT_HASH, FILE_PATH));
+        Assert.assertEquals(Optional.empty(), blameCache.get(SINCE_COMMIT_HASH, UNTIL_COMMIT_HASH, "src/Other.java"));
+    }
+
+    @Test
+    public void put_commitReference_notCached() {
+        BlameCache blameCache = new BlameCache(CACHE_DIRECTORY, Long.MAX_VALUE);
+        blameCache.put("", "HEAD", FILE_PATH, BLAME_LINES);
+
+        Assert.assertEquals(Optional.empty(), blameCache.get("", "HEAD", FILE_PATH));
+    }
+
+    @Test
+    public void evict_sizeLimitExceeded_entriesDeleted() {
+        BlameCache blameCache = new BlameCache(CACHE_DIRECTORY, 0);
+        blameCache.put("", UNTIL_COMMIT_HASH, FILE_PATH, Collections.singletonList(SECOND_COMMIT_LINE));
+        Assert.assertTrue(blameCache.get("", UNTIL_COMMIT_HASH, FILE_PATH).isPresent());
+
+        blameCache.evict();
+
+        Assert.assertEquals(Optional.empty(), blameCache.get("", UNTIL_COMMIT_HASH, FILE_PATH));
+    }
+}
@@ -0,0 +1,107 @@
+package reposense.authorship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BlamePorcelainParserTest {
+    private static final String FIRST_COMMIT_HASH = "768015345e70f06add2a8b7d1f901dc07bf70582";
+    private static final String SECOND_COMMIT_HASH = "b28dfac5bd449825c1a372e58485833b35fdbd50";
+
+    private static final BlameCache.BlameLine FIRST_COMMIT_LINE = new BlameCache.BlameLine(
+            FIRST_COMMIT_HASH, "Alice", "alice@example.com", true);
+    private static final BlameCache.BlameLine SECOND_COMMIT_LINE = new BlameCache.BlameLine(
+            SECOND_COMMIT_HASH, "Bob", "bob@example.com", false);
+
+    @Test
+    public void accept_linePorcelain_headersParsedOncePerCommit() {
+        List<BlameCache.BlameLine> blameLines = parse(
+                FIRST_COMMIT_HASH + " 1 1 2",
+                "author Alice",
+                "author-mail <alice@example.com>",
+                "summary First commit",
+                "boundary",
+                "filename src/Main.java",
+                "\tfirst line",
+                SECOND_COMMIT_HASH + " 2 2 1",
+                "author Bob",
+                "author-mail <bob@example.com>",
+                "summary author Mallory",
+                "filename src/Main.java",
+                "\tsecond line",
+                FIRST_COMMIT_HASH + " 2 3",
+                "author Alice",
+                "author-mail <alice@example.com>",
+                "summary First commit",
+                "boundary",
+                "filename src/Main.java",
+                "\t");
+
+        Assert.assertEquals(Arrays.asList(FIRST_COMMIT_LINE, SECOND_COMMIT_LINE, FIRST_COMMIT_LINE), blameLines);
+        Assert.assertSame(blameLines.get(0), blameLines.get(2));
+    }
+
+    @Test
+    public void accept_porcelain_headersOfRepeatedCommitsOmitted() {
+        List<BlameCache.BlameLine> blameLines = parse(
+                SECOND_COMMIT_HASH + " 1 1 1",
+                "author Bob",
+                "author-mail <bob@example.com>",
+                "filename src/Main.java",
+                "\tfirst line",
+                FIRST_COMMIT_HASH + " 1 2 1",
+                "author Alice",
+                "author-mail <alice@example.com>",
+                "boundary",
+                "filename src/Main.java",
+                "\tsecond line",
+                SECOND_COMMIT_HASH + " 2 3 1",
+                "\tthird line");
+
+        Assert.assertEquals(Arrays.asList(SECOND_COMMIT_LINE, FIRST_COMMIT_LINE, SECOND_COMMIT_LINE), blameLines);
+    }
+
+    @Test
+    public void accept_emptyAuthorEmail_emptyEmail() {
+        List<BlameCache.BlameLine> blameLines = parse(
+                SECOND_COMMIT_HASH + " 1 1 1",
+                "author Bob",
+                "author-mail <>",
+                "\tfirst line");
+
+        Assert.assertEquals(Arrays.asList(new BlameCache.BlameLine(SECOND_COMMIT_HASH, "Bob", "", false)),
+                blameLines);
+    }
+
+    @Test
+    public void accept_lineRanges_lineIndicesFromRecords() {
+        List<Integer> lineIndices = new ArrayList<>();
+        BlamePorcelainParser parser = new BlamePorcelainParser((lineIndex, blameLine) -> lineIndices.add(lineIndex));
+        Arrays.asList(
+                SECOND_COMMIT_HASH + " 3 4 2",
+                "author Bob",
+                "author-mail <bob@example.com>",
+                "\tfourth line",
+                SECOND_COMMIT_HASH + " 4 5",
+                "\tfifth line",
+                FIRST_COMMIT_HASH + " 12 120 1",
+                "author Alice",
+                "author-mail <alice@example.com>",
+                "\thundred and twentieth line").forEach(parser);
+
+        Assert.assertEquals(Arrays.asList(3, 4, 119), lineIndices);
+    }
+
+    /**
+     * Parses {@code porcelainLines} and returns the {@code BlameLine} of each blamed line.
+     */
+    private static List<BlameCache.BlameLine> parse(String... porcelainLines) {
+        List<BlameCache.BlameLine> blameLines = new ArrayList<>();
+        BlamePorcelainParser parser = new BlamePorcelainParser((lineIndex, blameLine) -> blameLines.add(blameLine));
+        Arrays.stream(porcelainLines).forEach(parser);
+        return blameLines;
+    }
+}
@@ -1,5 +1,6 @@
 package reposense.authorship;
 
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
@@ -10,6 +11,7 @@ import org.junit.Test;
 
 import reposense.authorship.model.FileInfo;
 import reposense.authorship.model.FileResult;
+import reposense.git.GitCatFile;
 import reposense.git.GitCheckout;
 import reposense.git.exception.CommitNotFoundException;
 import reposense.model.Author;
@@ -106,7 +108,11 @@ public class FileAnalyzerTest extends GitTestTemplate {
         Author author = new Author(MINGYI_AUTHOR_NAME);
         config.setAuthorList(Collections.singletonList(author));
 
-        FileInfo fileInfo = FileInfoExtractor.generateFileInfo(config.getRepoRoot(), "pr_617.java");
+        FileInfo fileInfo;
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            fileInfo = FileInfoExtractor.generateFileInfo(
+                    gitCatFile, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE, "pr_617.java");
+        }
         FileInfoAnalyzer.analyzeFile(config, fileInfo);
 
         Assert.assertEquals(1, fileInfo.getLines().size());
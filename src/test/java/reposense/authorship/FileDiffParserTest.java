@@ -0,0 +1,128 @@
+package reposense.authorship;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FileDiffParserTest {
+    private static final List<String> MULTIPLE_FILES_DIFF = Arrays.asList(
+            "diff --git a/README.md b/README.md",
+            "index 1234567..89abcde 100644",
+            "--- a/README.md",
+            "+++ b/README.md",
+            "@@ -1,0 +2,2 @@ Title",
+            "+second line",
+            "+third line",
+            "@@ -5 +7 @@ Section",
+            "-old line",
+            "+new line",
+            "\\ No newline at end of file",
+            "diff --git a/deleted.java b/deleted.java",
+            "deleted file mode 100644",
+            "index 1234567..0000000",
+            "--- a/deleted.java",
+            "+++ /dev/null",
+            "@@ -1,2 +0,0 @@",
+            "-class Deleted {",
+            "-}",
+            "diff --git a/new.java b/new.java",
+            "new file mode 100644",
+            "index 0000000..1234567",
+            "--- /dev/null",
+            "+++ b/new.java",
+            "@@ -0,0 +1,2 @@",
+            "+class New {",
+            "+++i;");
+
+    @Test
+    public void parse_multipleFiles_success() {
+        Map<String, BitSet> fileDiffs = parse(MULTIPLE_FILES_DIFF);
+
+        Assert.assertEquals(Arrays.asList("README.md", "new.java"), Arrays.asList(fileDiffs.keySet().toArray()));
+        Assert.assertEquals(bitSetOf(1, 2, 6), fileDiffs.get("README.md"));
+        Assert.assertEquals(bitSetOf(0, 1), fileDiffs.get("new.java"));
+    }
+
+    @Test
+    public void parse_linesRemovedOnly_noLinesInserted() {
+        Map<String, BitSet> fileDiffs = parse(Arrays.asList(
+                "diff --git a/file.txt b/file.txt",
+                "index 1234567..89abcde 100644",
+                "--- a/file.txt",
+                "+++ b/file.txt",
+                "@@ -3,2 +2,0 @@",
+                "-removed",
+                "-removed"));
+
+        Assert.assertEquals(new BitSet(), fileDiffs.get("file.txt"));
+    }
+
+    @Test
+    public void parse_fileWithoutLineChanges_skipped() {
+        Map<String, BitSet> fileDiffs = parse(Arrays.asList(
+                "diff --git a/script.sh b/script.sh",
+                "old mode 100644",
+                "new mode 100755",
+                "diff --git a/file.txt b/file.txt",
+                "index 1234567..89abcde 100644",
+                "--- a/file.txt",
+                "+++ b/file.txt",
+                "@@ -0,0 +1 @@",
+                "+inserted"));
+
+        Assert.assertEquals(1, fileDiffs.size());
+        Assert.assertEquals(bitSetOf(0), fileDiffs.get("file.txt"));
+    }
+
+    @Test
+    public void parse_quotedFileDiffHeader_startsNewFile() {
+        Map<String, BitSet> fileDiffs = parse(Arrays.asList(
+                "diff --git a/first.txt b/first.txt",
+                "index 1234567..89abcde 100644",
+                "--- a/first.txt",
+                "+++ b/first.txt",
+                "@@ -0,0 +1 @@",
+                "+inserted",
+                "diff --git \"a/with\\ttab.txt\" \"b/with\\ttab.txt\"",
+                "index 1234567..89abcde 100644",
+                "--- \"a/with\\ttab.txt\"",
+                "+++ \"b/with\\ttab.txt\"",
+                "@@ -0,0 +3,2 @@",
+                "+inserted",
+                "+inserted"));
+
+        Assert.assertEquals(1, fileDiffs.size());
+        Assert.assertEquals(bitSetOf(0), fileDiffs.get("first.txt"));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void parse_malformedHunkHeader_throwsAssertionError() {
+        parse(Arrays.asList(
+                "diff --git a/file.txt b/file.txt",
+                "--- a/file.txt",
+                "+++ b/file.txt",
+                "@@ malformed @@"));
+    }
+
+    /**
+     * Feeds {@code lines} to a {@code FileDiffParser} and returns the inserted lines of each file in the diff.
+     */
+    private static Map<String, BitSet> parse(List<String> lines) {
+        Map<String, BitSet> fileDiffs = new LinkedHashMap<>();
+        FileDiffParser parser = new FileDiffParser(fileDiffs::put);
+        lines.forEach(parser);
+        parser.flush();
+        return fileDiffs;
+    }
+
+    private static BitSet bitSetOf(int... indices) {
+        BitSet bitSet = new BitSet();
+        Arrays.stream(indices).forEach(bitSet::set);
+        return bitSet;
+    }
+}
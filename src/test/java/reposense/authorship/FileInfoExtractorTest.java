@@ -1,5 +1,7 @@
 package reposense.authorship;
 
+import static reposense.system.CommandRunner.runCommand;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -12,6 +14,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import reposense.authorship.model.FileInfo;
+import reposense.git.GitCatFile;
 import reposense.git.GitCheckout;
 import reposense.model.Author;
 import reposense.model.FileTypeTest;
@@ -123,7 +126,7 @@ public class FileInfoExtractorTest extends GitTestTemplate {
     @Test
     public void getEditedFileInfos_editFileInfoBranchSinceFebrauryEight_success() {
         GitCheckout.checkout(config.getRepoRoot(), EDITED_FILE_INFO_BRANCH);
-        List<FileInfo> files = FileInfoExtractor.getEditedFileInfos(config, FEBRUARY_EIGHT_COMMIT_HASH);
+        List<FileInfo> files = getEditedFileInfos(FEBRUARY_EIGHT_COMMIT_HASH);
 
         Assert.assertEquals(3, files.size());
         Assert.assertTrue(isFileExistence(Paths.get("README.md"), files));
@@ -137,7 +140,7 @@ public class FileInfoExtractorTest extends GitTestTemplate {
     @Test
     public void getEditedFileInfos_editFileInfoBranchSinceFirstCommit_success() {
         GitCheckout.checkout(config.getRepoRoot(), EDITED_FILE_INFO_BRANCH);
-        List<FileInfo> files = FileInfoExtractor.getEditedFileInfos(config, FIRST_COMMIT_HASH);
+        List<FileInfo> files = getEditedFileInfos(FIRST_COMMIT_HASH);
 
         Assert.assertEquals(5, files.size());
 
@@ -148,7 +151,7 @@ public class FileInfoExtractorTest extends GitTestTemplate {
     @Test
     public void getEditedFileInfos_windowsIllegalFileNameBranchSinceOctoberFifteen_success() {
         GitCheckout.checkout(config.getRepoRoot(), WINDOWS_ILLEGAL_FILE_NAME_BRANCH);
-        List<FileInfo> files = FileInfoExtractor.getEditedFileInfos(config, OCTOBER_SEVENTH_COMMIT_HASH);
+        List<FileInfo> files = getEditedFileInfos(OCTOBER_SEVENTH_COMMIT_HASH);
 
         if (SystemUtil.isWindows()) {
             Assert.assertTrue(files.isEmpty());
@@ -160,14 +163,39 @@ public class FileInfoExtractorTest extends GitTestTemplate {
 
     @Test
     public void generateFileInfo_fileWithSpecialCharacters_correctFileInfoGenerated() {
-        FileInfo fileInfo = FileInfoExtractor.generateFileInfo(".", FILE_WITH_SPECIAL_CHARACTER.toString());
+        FileInfo fileInfo = generateProjectFileInfo(FILE_WITH_SPECIAL_CHARACTER);
         Assert.assertEquals(5, fileInfo.getLines().size());
+        Assert.assertEquals(getProjectBlobHash(FILE_WITH_SPECIAL_CHARACTER), fileInfo.getBlobHash());
     }
 
     @Test
     public void generateFileInfo_fileWithoutSpecialCharacters_correctFileInfoGenerated() {
-        FileInfo fileInfo = FileInfoExtractor.generateFileInfo(".", FILE_WITHOUT_SPECIAL_CHARACTER.toString());
+        FileInfo fileInfo = generateProjectFileInfo(FILE_WITHOUT_SPECIAL_CHARACTER);
         Assert.assertEquals(5, fileInfo.getLines().size());
+        Assert.assertEquals(getProjectBlobHash(FILE_WITHOUT_SPECIAL_CHARACTER), fileInfo.getBlobHash());
+    }
+
+    @Test
+    public void generateFileInfo_fileAtEarlierCommit_blobOfThatCommitRead() {
+        String objectName = FEBRUARY_EIGHT_COMMIT_HASH + ":blameTest.java";
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            FileInfo fileInfo =
+                    FileInfoExtractor.generateFileInfo(gitCatFile, FEBRUARY_EIGHT_COMMIT_HASH, "blameTest.java");
+
+            Assert.assertEquals(gitCatFile.getObjectInfo(objectName).get().getHash(), fileInfo.getBlobHash());
+            Assert.assertEquals(gitCatFile.getObject(objectName).get().getContentsAsString().split("\n").length,
+                    fileInfo.getLines().size());
+        }
+    }
+
+    @Test
+    public void generateFileInfo_fileNotInCommit_noLinesAndNoBlobHash() {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            FileInfo fileInfo = FileInfoExtractor.generateFileInfo(gitCatFile, FIRST_COMMIT_HASH, "newFile.java");
+
+            Assert.assertTrue(fileInfo.getLines().isEmpty());
+            Assert.assertNull(fileInfo.getBlobHash());
+        }
     }
 
     @Test
@@ -180,7 +208,7 @@ public class FileInfoExtractorTest extends GitTestTemplate {
                 "binaryFileTest/binaryFile.txt", "My Documents/word.docx", "My Documents/pdfDocument.pdf",
                 "My Documents/wordToHtml_files/themedata.thmx", "My Pictures/pngPicture.png");
         GitCheckout.checkoutBranch(config.getRepoRoot(), BRANCH_WITH_BINARY_FILES);
-        Set<Path> files = FileInfoExtractor.getNonBinaryFilesList(config);
+        Set<Path> files = FileInfoExtractor.getNonBinaryFilesList(config, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE);
 
         Assert.assertEquals(6, files.size());
         // Non binary files should be captured
@@ -210,6 +238,34 @@ public class FileInfoExtractorTest extends GitTestTemplate {
         binaryFilesList.forEach(binFile -> Assert.assertFalse(isFileExistence(Paths.get(binFile), files)));
     }
 
+    /**
+     * Returns the {@code FileInfo} of the checked out {@code relativePath} file of the RepoSense repository itself.
+     */
+    private FileInfo generateProjectFileInfo(Path relativePath) {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get("."))) {
+            return FileInfoExtractor.generateFileInfo(
+                    gitCatFile, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE, relativePath.toString());
+        }
+    }
+
+    /**
+     * Returns the hash that git gives the contents of the {@code relativePath} file of the RepoSense repository
+     * itself.
+     */
+    private String getProjectBlobHash(Path relativePath) {
+        return runCommand(Paths.get("."), Arrays.asList("git", "hash-object", relativePath.toString())).trim();
+    }
+
+    /**
+     * Returns the edited {@code FileInfo}s of the checked out commit since the {@code lastCommitHash} commit.
+     */
+    private List<FileInfo> getEditedFileInfos(String lastCommitHash) {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            return FileInfoExtractor.getEditedFileInfos(
+                    config, lastCommitHash, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE, gitCatFile);
+        }
+    }
+
     private boolean isFileExistence(Path filePath, List<FileInfo> files) {
         return files.stream().anyMatch(file -> Paths.get(file.getPath()).equals(filePath));
     }
@@ -0,0 +1,53 @@
+package reposense.authorship.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reposense.model.Author;
+import reposense.model.FileType;
+
+public class AuthorshipSummaryTest {
+    private static final Author FIRST_AUTHOR = new Author("first");
+    private static final Author SECOND_AUTHOR = new Author("second");
+    private static final FileType JAVA_FILE_TYPE = FileType.convertStringFormatToFileType("java");
+    private static final FileType MD_FILE_TYPE = FileType.convertStringFormatToFileType("md");
+    private static final FileType PY_FILE_TYPE = FileType.convertStringFormatToFileType("py");
+
+    private static final List<Author> AUTHORS = Arrays.asList(FIRST_AUTHOR, SECOND_AUTHOR);
+    private static final List<FileType> FILE_TYPES = Arrays.asList(JAVA_FILE_TYPE, MD_FILE_TYPE);
+    private static final List<FileResult> FILE_RESULTS = Collections.singletonList(
+            new FileResult("script.py", FileType.convertStringFormatToFileType("py"), new LineStore(), null));
+
+    @Test
+    public void getAuthorFileTypeContributionMap_unspecifiedFileType_onlyIncludedForContributors() {
+        AuthorshipSummary summary = new AuthorshipSummary(FILE_RESULTS, AUTHORS, FILE_TYPES);
+        summary.addAuthorContributionCount(FIRST_AUTHOR, JAVA_FILE_TYPE);
+        summary.addLineCount(summary.getAuthorIndex(FIRST_AUTHOR), summary.getFileTypeIndex(PY_FILE_TYPE), 3);
+
+        LinkedHashMap<FileType, Integer> firstAuthorContributions = new LinkedHashMap<>();
+        firstAuthorContributions.put(JAVA_FILE_TYPE, 1);
+        firstAuthorContributions.put(MD_FILE_TYPE, 0);
+        firstAuthorContributions.put(PY_FILE_TYPE, 3);
+        LinkedHashMap<FileType, Integer> secondAuthorContributions = new LinkedHashMap<>();
+        secondAuthorContributions.put(JAVA_FILE_TYPE, 0);
+        secondAuthorContributions.put(MD_FILE_TYPE, 0);
+
+        Assert.assertEquals(firstAuthorContributions, summary.getAuthorFileTypeContributionMap().get(FIRST_AUTHOR));
+        Assert.assertEquals(secondAuthorContributions, summary.getAuthorFileTypeContributionMap().get(SECOND_AUTHOR));
+        Assert.assertEquals(Integer.valueOf(4), summary.getAuthorFinalContributionMap().get(FIRST_AUTHOR));
+        Assert.assertEquals(Integer.valueOf(0), summary.getAuthorFinalContributionMap().get(SECOND_AUTHOR));
+    }
+
+    @Test
+    public void getAuthorIndex_unlistedAuthor_notFound() {
+        AuthorshipSummary summary = new AuthorshipSummary(FILE_RESULTS, AUTHORS, FILE_TYPES);
+
+        Assert.assertEquals(-1, summary.getAuthorIndex(new Author("unlisted")));
+        Assert.assertEquals(1, summary.getAuthorIndex(new Author("SECOND")));
+    }
+}
@@ -0,0 +1,110 @@
+package reposense.authorship.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reposense.model.Author;
+
+public class LineStoreTest {
+    private static final Author FIRST_AUTHOR = new Author("first");
+    private static final Author SECOND_AUTHOR = new Author("second");
+
+    @Test
+    public void addLine_manyLinesWithMultiByteCharacters_contentsPreserved() {
+        LineStore lines = new LineStore();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i, lines.addLine("line " + i + " \u00e9\u4e2d\ud83d\ude00"));
+        }
+        lines.addLine("");
+        lines.trimToSize();
+
+        Assert.assertEquals(1001, lines.size());
+        Assert.assertEquals("line 0 \u00e9\u4e2d\ud83d\ude00", lines.getContent(0));
+        Assert.assertEquals("line 999 \u00e9\u4e2d\ud83d\ude00", lines.getContent(999));
+        Assert.assertEquals("", lines.getContent(1000));
+    }
+
+    @Test
+    public void addLine_newLine_trackedWithoutAuthor() {
+        LineStore lines = new LineStore();
+        lines.addLine("content");
+
+        Assert.assertTrue(lines.isTracked(0));
+        Assert.assertNull(lines.getAuthor(0));
+        Assert.assertEquals(0, lines.getLineCountPerAuthor().length);
+    }
+
+    @Test
+    public void setAuthor_repeatedAuthors_internedInAuthorTable() {
+        LineStore lines = new LineStore();
+        for (int i = 0; i < 4; i++) {
+            lines.addLine("line " + i);
+        }
+
+        lines.setAuthor(0, FIRST_AUTHOR);
+        lines.setAuthor(1, SECOND_AUTHOR);
+        lines.setAuthor(2, new Author("FIRST"));
+        lines.setAuthor(3, SECOND_AUTHOR);
+        lines.setAuthor(3, null);
+
+        Assert.assertEquals(Arrays.asList(FIRST_AUTHOR, SECOND_AUTHOR), lines.getAuthorTable());
+        Assert.assertArrayEquals(new int[] {2, 1}, lines.getLineCountPerAuthor());
+        Assert.assertSame(FIRST_AUTHOR, lines.getAuthor(2));
+        Assert.assertNull(lines.getAuthor(3));
+    }
+
+    @Test
+    public void setTracked_bitSet_onlyIndicesSetAreTracked() {
+        LineStore lines = new LineStore();
+        for (int i = 0; i < 3; i++) {
+            lines.addLine("line " + i);
+        }
+
+        BitSet insertedLines = new BitSet();
+        insertedLines.set(1);
+        insertedLines.set(5);
+        lines.setTracked(insertedLines);
+
+        Assert.assertFalse(lines.isTracked(0));
+        Assert.assertTrue(lines.isTracked(1));
+        Assert.assertFalse(lines.isTracked(2));
+    }
+
+    @Test
+    public void asLineInfos_setAuthor_writesThroughToStore() {
+        LineStore lines = new LineStore();
+        lines.addLine("first line");
+        lines.addLine("second line");
+
+        LineInfo lineInfo = lines.asLineInfos().get(1);
+        lineInfo.setAuthor(FIRST_AUTHOR);
+        lineInfo.setTracked(false);
+
+        Assert.assertEquals(2, lineInfo.getLineNumber());
+        Assert.assertEquals("second line", lineInfo.getContent());
+        Assert.assertEquals(FIRST_AUTHOR, lines.getAuthor(1));
+        Assert.assertFalse(lines.isTracked(1));
+    }
+
+    @Test
+    public void equals_sameLinesAddedSeparately_equal() {
+        LineStore lines = new LineStore();
+        LineStore otherLines = new LineStore();
+        for (String content : Collections.nCopies(3, "content")) {
+            lines.addLine(content);
+            otherLines.addLine(content);
+        }
+        lines.trimToSize();
+        lines.setAuthor(0, FIRST_AUTHOR);
+        otherLines.setAuthor(0, new Author("first"));
+
+        Assert.assertEquals(lines, otherLines);
+
+        otherLines.setAuthor(1, SECOND_AUTHOR);
+        Assert.assertNotEquals(lines, otherLines);
+    }
+}
@@ -174,6 +174,6 @@ public class CommitInfoAnalyzerTest extends GitTestTemplate {
      * Returns a {@code Date} from a string {@code gitStrictIsoDate}.
      */
     private Date parseGitStrictIsoDate(String gitStrictIsoDate) throws ParseException {
-        return CommitInfoAnalyzer.GIT_STRICT_ISO_DATE_FORMAT.parse(gitStrictIsoDate);
+        return CommitInfoAnalyzer.GIT_STRICT_ISO_DATE_FORMAT.get().parse(gitStrictIsoDate);
     }
 }
@@ -0,0 +1,66 @@
+package reposense.git;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reposense.template.GitTestTemplate;
+
+public class GitCatFileTest extends GitTestTemplate {
+
+    @Test
+    public void getObjectInfo_existingCommit_success() {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            Optional<GitCatFile.ObjectInfo> objectInfo =
+                    gitCatFile.getObjectInfo(EUGENE_AUTHOR_README_FILE_COMMIT_07052018_STRING);
+
+            Assert.assertTrue(objectInfo.isPresent());
+            Assert.assertEquals(EUGENE_AUTHOR_README_FILE_COMMIT_07052018_STRING, objectInfo.get().getHash());
+            Assert.assertEquals(GitCatFile.TYPE_COMMIT, objectInfo.get().getType());
+        }
+    }
+
+    @Test
+    public void getObject_blobOfCheckedOutFile_matchesFileOnDisk() throws Exception {
+        Path readmePath = Paths.get(config.getRepoRoot(), "README.md");
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            Optional<GitCatFile.GitObject> blob = gitCatFile.getObject("HEAD:README.md");
+
+            Assert.assertTrue(blob.isPresent());
+            Assert.assertEquals(GitCatFile.TYPE_BLOB, blob.get().getType());
+            Assert.assertArrayEquals(Files.readAllBytes(readmePath), blob.get().getContents());
+        }
+    }
+
+    @Test
+    public void getObject_repeatedLookups_success() {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            for (int i = 0; i < 3; i++) {
+                Optional<GitCatFile.GitObject> tree = gitCatFile.getObject(FIRST_COMMIT_HASH + "^{tree}");
+                Assert.assertTrue(tree.isPresent());
+                Assert.assertEquals(GitCatFile.TYPE_TREE, tree.get().getType());
+                Assert.assertEquals(tree.get().getSize(), tree.get().getContents().length);
+            }
+        }
+    }
+
+    @Test
+    public void getObject_nonExistentObject_returnsEmpty() {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            Assert.assertFalse(gitCatFile.getObject(NONEXISTENT_COMMIT_HASH).isPresent());
+            Assert.assertFalse(gitCatFile.getObjectInfo(NONEXISTENT_COMMIT_HASH).isPresent());
+            Assert.assertTrue(gitCatFile.getObjectInfo(FIRST_COMMIT_HASH).isPresent());
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void getObject_objectNameWithLineBreak_throwsIllegalArgumentException() {
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            gitCatFile.getObject("HEAD\nHEAD");
+        }
+    }
+}
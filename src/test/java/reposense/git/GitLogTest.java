@@ -1,8 +1,10 @@
 package reposense.git;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -160,4 +162,27 @@ public class GitLogTest extends GitTestTemplate {
         String content = GitLog.get(config, author);
         Assert.assertTrue(TestUtil.compareNumberExpectedCommitsToGitLogLines(1, content));
     }
+
+    @Test
+    public void isCommittedUntil_committerDateAroundUntilDate_success() {
+        Date untilDate = TestUtil.getUntilDate(2019, Calendar.MARCH, 1);
+
+        Assert.assertTrue(GitLog.isCommittedUntil("2019-03-01T23:59:59+08:00", untilDate));
+        Assert.assertTrue(GitLog.isCommittedUntil("2019-03-01T15:59:59Z", untilDate));
+        Assert.assertFalse(GitLog.isCommittedUntil("2019-03-02T00:00:00+08:00", untilDate));
+        Assert.assertFalse(GitLog.isCommittedUntil("2019-03-01T23:59:59+07:00", untilDate));
+        Assert.assertTrue(GitLog.isCommittedUntil("2050-01-01T00:00:00+08:00", null));
+    }
+
+    @Test
+    public void getWithNumstat_revisionRange_onlyCommitsInRange() {
+        List<String> rawCommitInfos = new ArrayList<>();
+        GitLog.getWithNumstat(config, FIRST_COMMIT_HASH + ".." + LATEST_COMMIT_HASH, rawCommitInfos::add);
+        List<String> allRawCommitInfos = new ArrayList<>();
+        GitLog.getWithNumstat(config, LATEST_COMMIT_HASH, allRawCommitInfos::add);
+
+        Assert.assertFalse(rawCommitInfos.isEmpty());
+        Assert.assertEquals(allRawCommitInfos.subList(0, rawCommitInfos.size()), rawCommitInfos);
+        Assert.assertTrue(allRawCommitInfos.get(allRawCommitInfos.size() - 1).startsWith(FIRST_COMMIT_HASH));
+    }
 }
@@ -0,0 +1,26 @@
+package reposense.git;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import reposense.template.GitTestTemplate;
+
+public class GitMergeBaseTest extends GitTestTemplate {
+
+    @Test
+    public void isAncestor_earlierCommit_true() {
+        Assert.assertTrue(GitMergeBase.isAncestor(config.getRepoRoot(), FIRST_COMMIT_HASH, LATEST_COMMIT_HASH));
+        Assert.assertTrue(GitMergeBase.isAncestor(config.getRepoRoot(), LATEST_COMMIT_HASH, LATEST_COMMIT_HASH));
+    }
+
+    @Test
+    public void isAncestor_laterCommit_false() {
+        Assert.assertFalse(GitMergeBase.isAncestor(config.getRepoRoot(), LATEST_COMMIT_HASH, FIRST_COMMIT_HASH));
+    }
+
+    @Test
+    public void isAncestor_nonExistentCommit_false() {
+        Assert.assertFalse(GitMergeBase.isAncestor(config.getRepoRoot(), NONEXISTENT_COMMIT_HASH,
+                LATEST_COMMIT_HASH));
+    }
+}
@@ -2,6 +2,7 @@ package reposense.git;
 
 import java.nio.file.Paths;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 import reposense.git.exception.GitBranchException;
@@ -20,4 +21,10 @@ public class GitRevParseTest extends GitTestTemplate {
         config.setBranch("nonExistentBranch");
         GitRevParse.assertBranchExists(config, Paths.get(config.getRepoRoot()));
     }
+
+    @Test
+    public void getCommitHash_abbreviatedCommitHash_returnsFullCommitHash() {
+        Assert.assertEquals(LATEST_COMMIT_HASH, GitRevParse.getCommitHash(config.getRepoRoot(),
+                LATEST_COMMIT_HASH.substring(0, 7)));
+    }
 }
@@ -1,10 +1,12 @@
 package reposense.git;
 
 import static reposense.git.GitUtil.convertToGitExcludeGlobArgs;
-import static reposense.util.StringsUtil.addQuote;
+import static reposense.git.GitUtil.convertToGitExcludeGlobPredicate;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -16,23 +18,23 @@ public class GitUtilTest extends GitTestTemplate {
     @Test
     public void gitUtil_convertToGitExcludeGlobArgs_success() {
         File repoRoot = new File(config.getRepoRoot());
-        final String cmdFormat = " " + addQuote(":(exclude)%s");
-        final String emptyResult = "";
+        final String cmdFormat = ":(exclude)%s";
+        final List<String> emptyResult = Collections.emptyList();
 
-        String result = convertToGitExcludeGlobArgs(repoRoot, Collections.EMPTY_LIST);
+        List<String> result = convertToGitExcludeGlobArgs(repoRoot, Collections.EMPTY_LIST);
         Assert.assertEquals(emptyResult, result);
 
         result = convertToGitExcludeGlobArgs(repoRoot, Collections.singletonList("**.js"));
-        Assert.assertEquals(String.format(cmdFormat, "**.js"), result);
+        Assert.assertEquals(Collections.singletonList(String.format(cmdFormat, "**.js")), result);
 
         result = convertToGitExcludeGlobArgs(repoRoot, Collections.singletonList("movedFile**"));
-        Assert.assertEquals(String.format(cmdFormat, "movedFile**"), result);
+        Assert.assertEquals(Collections.singletonList(String.format(cmdFormat, "movedFile**")), result);
 
         result = convertToGitExcludeGlobArgs(repoRoot, Collections.singletonList("*\\newPos"));
-        Assert.assertEquals(String.format(cmdFormat, "*\\newPos"), result);
+        Assert.assertEquals(Collections.singletonList(String.format(cmdFormat, "*\\newPos")), result);
 
         result = convertToGitExcludeGlobArgs(repoRoot, Collections.singletonList("newPos/*"));
-        Assert.assertEquals(String.format(cmdFormat, "newPos/*"), result);
+        Assert.assertEquals(Collections.singletonList(String.format(cmdFormat, "newPos/*")), result);
 
         result = convertToGitExcludeGlobArgs(repoRoot, Collections.singletonList("../**"));
         Assert.assertEquals(emptyResult, result);
@@ -43,4 +45,35 @@ public class GitUtilTest extends GitTestTemplate {
         result = convertToGitExcludeGlobArgs(repoRoot, Collections.singletonList("/newPos/*"));
         Assert.assertEquals(emptyResult, result);
     }
+
+    @Test
+    public void gitUtil_convertToGitExcludeGlobPredicate_success() {
+        File repoRoot = new File(config.getRepoRoot());
+
+        Predicate<String> isExcluded = convertToGitExcludeGlobPredicate(repoRoot, Collections.EMPTY_LIST);
+        Assert.assertFalse(isExcluded.test("annotationTest.java"));
+
+        // wildcards match across directories, like in git pathspecs
+        isExcluded = convertToGitExcludeGlobPredicate(repoRoot, Collections.singletonList("*.java"));
+        Assert.assertTrue(isExcluded.test("annotationTest.java"));
+        Assert.assertTrue(isExcluded.test("newPos/movedFile.java"));
+        Assert.assertFalse(isExcluded.test("README.md"));
+
+        isExcluded = convertToGitExcludeGlobPredicate(repoRoot, Collections.singletonList("newPos/*"));
+        Assert.assertTrue(isExcluded.test("newPos/movedFile.java"));
+        Assert.assertFalse(isExcluded.test("newPosition.java"));
+
+        // a glob without wildcards matches the file or directory it names
+        isExcluded = convertToGitExcludeGlobPredicate(repoRoot, Collections.singletonList("./newPos"));
+        Assert.assertTrue(isExcluded.test("newPos/movedFile.java"));
+        Assert.assertFalse(isExcluded.test("newPosition.java"));
+
+        isExcluded = convertToGitExcludeGlobPredicate(repoRoot, Collections.singletonList("[ab]*.java"));
+        Assert.assertTrue(isExcluded.test("annotationTest.java"));
+        Assert.assertFalse(isExcluded.test("movedFile.java"));
+
+        // globs pointing outside of the repository are skipped
+        isExcluded = convertToGitExcludeGlobPredicate(repoRoot, Collections.singletonList("../**"));
+        Assert.assertFalse(isExcluded.test("annotationTest.java"));
+    }
 }
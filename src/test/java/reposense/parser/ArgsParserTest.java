@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -594,6 +595,129 @@ public class ArgsParserTest {
         ArgsParser.parse(translateCommandline(input));
     }
 
+    @Test
+    public void parse_withThreads_success() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addThreads("4").build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertTrue(cliArguments instanceof ConfigCliArguments);
+        Assert.assertEquals(4, cliArguments.getNumThreads());
+    }
+
+    @Test
+    public void parse_withoutThreads_usesAvailableProcessors() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(ArgsParser.DEFAULT_NUM_THREADS, cliArguments.getNumThreads());
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_nonPositiveThreads_throwsParseException() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addThreads("0").build();
+        ArgsParser.parse(translateCommandline(input));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_nonNumericThreads_throwsParseException() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addThreads("many").build();
+        ArgsParser.parse(translateCommandline(input));
+    }
+
+    @Test
+    public void parse_withCloneAndAnalysisThreads_success() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addCloneThreads("8").addAnalysisThreads("3").build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(8, cliArguments.getNumCloneThreads());
+        Assert.assertEquals(3, cliArguments.getNumAnalysisThreads());
+    }
+
+    @Test
+    public void parse_withoutCloneAndAnalysisThreads_usesDefaults() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(ArgsParser.DEFAULT_NUM_CLONE_THREADS, cliArguments.getNumCloneThreads());
+        Assert.assertEquals(ArgsParser.DEFAULT_NUM_ANALYSIS_THREADS, cliArguments.getNumAnalysisThreads());
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_nonPositiveCloneThreads_throwsParseException() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addCloneThreads("0").build();
+        ArgsParser.parse(translateCommandline(input));
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_nonPositiveAnalysisThreads_throwsParseException() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addAnalysisThreads("0").build();
+        ArgsParser.parse(translateCommandline(input));
+    }
+
+    @Test
+    public void parse_withCompactJson_success() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addCompactJson().build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertTrue(cliArguments.isCompactJson());
+    }
+
+    @Test
+    public void parse_withoutCompactJson_prettyPrintsJson() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertFalse(cliArguments.isCompactJson());
+    }
+
+    @Test
+    public void parse_withCloneCache_success() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addCloneCache(OUTPUT_DIRECTORY_ABSOLUTE).addCloneCacheLimit("100").build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(Optional.of(OUTPUT_DIRECTORY_ABSOLUTE), cliArguments.getCloneCachePath());
+        Assert.assertEquals(100, cliArguments.getCloneCacheLimit());
+    }
+
+    @Test
+    public void parse_withoutCloneCache_noCloneCache() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(Optional.empty(), cliArguments.getCloneCachePath());
+        Assert.assertEquals(ArgsParser.DEFAULT_CLONE_CACHE_LIMIT, cliArguments.getCloneCacheLimit());
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_nonPositiveCloneCacheLimit_throwsParseException() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addCloneCacheLimit("-1").build();
+        ArgsParser.parse(translateCommandline(input));
+    }
+
+    @Test
+    public void parse_withBlameCache_success() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addBlameCache(OUTPUT_DIRECTORY_ABSOLUTE).addBlameCacheLimit("100").build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(Optional.of(OUTPUT_DIRECTORY_ABSOLUTE), cliArguments.getBlameCachePath());
+        Assert.assertEquals(100, cliArguments.getBlameCacheLimit());
+    }
+
+    @Test
+    public void parse_withoutBlameCache_noBlameCache() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.build();
+        CliArguments cliArguments = ArgsParser.parse(translateCommandline(input));
+
+        Assert.assertEquals(Optional.empty(), cliArguments.getBlameCachePath());
+        Assert.assertEquals(ArgsParser.DEFAULT_BLAME_CACHE_LIMIT, cliArguments.getBlameCacheLimit());
+    }
+
+    @Test(expected = ParseException.class)
+    public void parse_nonPositiveBlameCacheLimit_throwsParseException() throws ParseException, HelpScreenException {
+        String input = DEFAULT_INPUT_BUILDER.addBlameCacheLimit("0").build();
+        ArgsParser.parse(translateCommandline(input));
+    }
+
     /**
      * Ensures that {@code actualSinceDate} is exactly one month before {@code untilDate}.
      * @throws AssertionError if {@code actualSinceDate} is not one month before {@code untilDate}.
@@ -27,10 +27,10 @@ public class RepoClonerTest {
         RepoConfiguration emptyRepositoryRepoConfig =
                 new RepoConfiguration(new RepoLocation(TEST_REPO_EMPTY_GIT_LOCATION));
 
-        RepoCloner repoCloner = new RepoCloner();
-        repoCloner.cloneBare(emptyRepositoryRepoConfig);
-        RepoLocation clonedRepoLocation = repoCloner.getClonedRepoLocation();
+        RepoCloner repoCloner = new RepoCloner(1);
+        String defaultBranch = repoCloner.cloneBareAsync(emptyRepositoryRepoConfig).join();
+        repoCloner.cleanup();
 
-        Assert.assertNull(clonedRepoLocation);
+        Assert.assertNull(defaultBranch);
     }
 }
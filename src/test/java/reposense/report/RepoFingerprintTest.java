@@ -0,0 +1,87 @@
+package reposense.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import reposense.model.Author;
+import reposense.model.RepoConfiguration;
+import reposense.model.RepoLocation;
+import reposense.util.FileUtil;
+
+public class RepoFingerprintTest {
+    private static final Path FINGERPRINT_DIRECTORY = Paths.get("repofingerprint_test");
+    private static final Path FINGERPRINT_PATH = FINGERPRINT_DIRECTORY.resolve(RepoFingerprint.FINGERPRINT_FILE_NAME);
+    private static final String TIP_COMMIT_HASH = "768015345e70f06add2a8b7d1f901dc07bf70582";
+    private static final Date START_DATE = new Date(1546300800000L);
+    private static final Date UNTIL_DATE = new Date(1551398400000L);
+    private static final Date LATER_UNTIL_DATE = new Date(1554076800000L);
+
+    private RepoConfiguration config;
+
+    @Before
+    public void before() throws Exception {
+        FileUtil.createDirectory(FINGERPRINT_DIRECTORY);
+        config = new RepoConfiguration(new RepoLocation(""));
+        config.setAuthorList(Arrays.asList(new Author("alice"), new Author("bob")));
+        config.setUntilDate(UNTIL_DATE);
+    }
+
+    @After
+    public void after() throws IOException {
+        FileUtil.deleteDirectory(FINGERPRINT_DIRECTORY.toString());
+    }
+
+    @Test
+    public void load_afterSave_startDateRestored() {
+        RepoFingerprint.of(config, TIP_COMMIT_HASH, false).save(FINGERPRINT_PATH, false, START_DATE);
+
+        Optional<RepoFingerprint> previousFingerprint = RepoFingerprint.load(FINGERPRINT_PATH);
+        Assert.assertTrue(previousFingerprint.isPresent());
+        Assert.assertEquals(Optional.of(START_DATE), previousFingerprint.get().getStartDate());
+        Assert.assertTrue(RepoFingerprint.of(config, TIP_COMMIT_HASH, false)
+                .isReportReusable(previousFingerprint.get()));
+    }
+
+    @Test
+    public void load_noFingerprint_empty() {
+        Assert.assertEquals(Optional.empty(), RepoFingerprint.load(FINGERPRINT_PATH));
+    }
+
+    @Test
+    public void isReportReusable_changedInputs_false() {
+        RepoFingerprint.of(config, TIP_COMMIT_HASH, false).save(FINGERPRINT_PATH, true, START_DATE);
+        RepoFingerprint previousFingerprint = RepoFingerprint.load(FINGERPRINT_PATH).get();
+
+        Assert.assertFalse(RepoFingerprint.of(config, "", false).isReportReusable(previousFingerprint));
+        Assert.assertFalse(RepoFingerprint.of(config, TIP_COMMIT_HASH, true).isReportReusable(previousFingerprint));
+
+        config.setAuthorList(Arrays.asList(new Author("alice")));
+        Assert.assertFalse(RepoFingerprint.of(config, TIP_COMMIT_HASH, false).isReportReusable(previousFingerprint));
+    }
+
+    @Test
+    public void isReportReusable_laterUntilDate_reusableOnlyIfAllCommittedUntil() {
+        RepoFingerprint.of(config, TIP_COMMIT_HASH, false).save(FINGERPRINT_PATH, false, START_DATE);
+        RepoFingerprint partialFingerprint = RepoFingerprint.load(FINGERPRINT_PATH).get();
+        RepoFingerprint.of(config, TIP_COMMIT_HASH, false).save(FINGERPRINT_PATH, true, START_DATE);
+        RepoFingerprint completeFingerprint = RepoFingerprint.load(FINGERPRINT_PATH).get();
+
+        config.setUntilDate(LATER_UNTIL_DATE);
+        RepoFingerprint laterFingerprint = RepoFingerprint.of(config, TIP_COMMIT_HASH, false);
+        Assert.assertFalse(laterFingerprint.isReportReusable(partialFingerprint));
+        Assert.assertTrue(laterFingerprint.isReportReusable(completeFingerprint));
+
+        // commits after an earlier until date may have been made since the previous report
+        config.setUntilDate(START_DATE);
+        Assert.assertFalse(RepoFingerprint.of(config, TIP_COMMIT_HASH, false).isReportReusable(completeFingerprint));
+    }
+}
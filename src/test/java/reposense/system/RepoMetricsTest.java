@@ -0,0 +1,109 @@
+package reposense.system;
+
+import static reposense.system.CommandRunner.runCommand;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RepoMetricsTest {
+    private static final long PHASE_MILLIS = 200;
+    private static final Path WORKING_DIRECTORY = Paths.get(".");
+    private static final List<String> GIT_VERSION_COMMAND = Arrays.asList("git", "--version");
+
+    @Test
+    public void startPhase_gitProcessRun_recordsGitProcessAndOutput() {
+        RepoMetrics repoMetrics = new RepoMetrics();
+        String output;
+        try (RepoMetrics.Scope repoScope = repoMetrics.attach();
+                RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_CLONE)) {
+            output = runCommand(WORKING_DIRECTORY, GIT_VERSION_COMMAND);
+        }
+
+        PhaseMetrics cloneMetrics = repoMetrics.getPhases().get(RepoMetrics.PHASE_CLONE);
+        Assert.assertEquals(1, repoMetrics.getPhases().size());
+        Assert.assertEquals(1, cloneMetrics.getGitProcessCount());
+        Assert.assertEquals(output.length(), cloneMetrics.getGitOutputBytes());
+        Assert.assertTrue(cloneMetrics.getSampledProcessHeapBytes() > 0);
+        Assert.assertNull(RepoMetrics.getCurrentPhase());
+    }
+
+    @Test
+    public void startPhase_streamedOutputAndRepeatedPhase_accumulatesMetrics() {
+        RepoMetrics repoMetrics = new RepoMetrics();
+        StringBuilder output = new StringBuilder();
+        try (RepoMetrics.Scope repoScope = repoMetrics.attach()) {
+            for (int i = 0; i < 2; i++) {
+                try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_FILE_ANALYSIS)) {
+                    runCommand(WORKING_DIRECTORY, GIT_VERSION_COMMAND, line -> output.append(line).append('\n'));
+                }
+            }
+        }
+
+        PhaseMetrics fileAnalysisMetrics = repoMetrics.getPhases().get(RepoMetrics.PHASE_FILE_ANALYSIS);
+        Assert.assertEquals(2, fileAnalysisMetrics.getGitProcessCount());
+        Assert.assertEquals(output.length(), fileAnalysisMetrics.getGitOutputBytes());
+    }
+
+    @Test
+    public void startPhase_notAttachedToRepo_recordsNothing() {
+        try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_CLONE)) {
+            runCommand(WORKING_DIRECTORY, GIT_VERSION_COMMAND);
+            Assert.assertNull(RepoMetrics.getCurrentPhase());
+        }
+    }
+
+    @Test
+    public void propagate_runOnAnotherThread_recordsUnderPhaseOfCallingThread() {
+        RepoMetrics repoMetrics = new RepoMetrics();
+        try (RepoMetrics.Scope repoScope = repoMetrics.attach();
+                RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_FILE_ANALYSIS)) {
+            CompletableFuture.supplyAsync(RepoMetrics.propagate(() ->
+                    runCommand(WORKING_DIRECTORY, GIT_VERSION_COMMAND))).join();
+        }
+
+        Assert.assertEquals(1,
+                repoMetrics.getPhases().get(RepoMetrics.PHASE_FILE_ANALYSIS).getGitProcessCount());
+    }
+
+    @Test
+    public void getWallTimeMillis_overlappingPhasesAndWaitBetweenPhases_countedOnce() throws Exception {
+        RepoMetrics repoMetrics = new RepoMetrics();
+        try (RepoMetrics.Scope repoScope = repoMetrics.attach()) {
+            try (RepoMetrics.Scope phase = RepoMetrics.startPhase(RepoMetrics.PHASE_FILE_ANALYSIS)) {
+                CompletableFuture<Void> commitAnalysis = CompletableFuture.runAsync(() -> {
+                    try (RepoMetrics.Scope scope = repoMetrics.attach();
+                            RepoMetrics.Scope commitPhase = RepoMetrics.startPhase(RepoMetrics.PHASE_COMMIT_ANALYSIS)) {
+                        sleep(PHASE_MILLIS);
+                    }
+                });
+                sleep(PHASE_MILLIS);
+                commitAnalysis.join();
+            }
+            // waiting for other repos is not part of any phase of this repo
+            sleep(PHASE_MILLIS);
+        }
+
+        long fileAnalysisMillis = repoMetrics.getPhases().get(RepoMetrics.PHASE_FILE_ANALYSIS).getWallTimeMillis();
+        long commitAnalysisMillis =
+                repoMetrics.getPhases().get(RepoMetrics.PHASE_COMMIT_ANALYSIS).getWallTimeMillis();
+        Assert.assertTrue(repoMetrics.getWallTimeMillis() >= Math.max(fileAnalysisMillis, commitAnalysisMillis));
+        Assert.assertTrue(repoMetrics.getWallTimeMillis() < fileAnalysisMillis + commitAnalysisMillis);
+    }
+
+    /**
+     * Sleeps for {@code millis} milliseconds, restoring the interrupt status of the thread if it is interrupted.
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package reposense.system;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamGobblerTest {
+    private static final int READ_SIZE = 1 << 13;
+
+    @Test
+    public void run_multiByteCharactersAcrossReads_decodedIntact() throws Exception {
+        char[] padding = new char[READ_SIZE - 1];
+        Arrays.fill(padding, 'a');
+        String output = new String(padding) + "é€\n" + new String(padding) + "é€";
+        byte[] outputBytes = output.getBytes();
+
+        StreamGobbler gobbler = new StreamGobbler(new ByteArrayInputStream(outputBytes));
+        gobbler.start();
+        gobbler.join();
+
+        // decoding all the bytes at once is unaffected by how they are split across reads
+        Assert.assertEquals(new String(outputBytes), gobbler.getValue());
+        Assert.assertEquals(outputBytes.length, gobbler.getByteCount());
+    }
+
+    @Test
+    public void run_emptyStream_emptyValue() throws Exception {
+        StreamGobbler gobbler = new StreamGobbler(new ByteArrayInputStream(new byte[0]));
+        gobbler.start();
+        gobbler.join();
+
+        Assert.assertEquals("", gobbler.getValue());
+        Assert.assertEquals(0, gobbler.getByteCount());
+    }
+}
@@ -1,6 +1,7 @@
 package reposense.template;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -15,6 +16,7 @@ import reposense.authorship.FileInfoExtractor;
 import reposense.authorship.model.FileInfo;
 import reposense.authorship.model.FileResult;
 import reposense.authorship.model.LineInfo;
+import reposense.git.GitCatFile;
 import reposense.git.GitCheckout;
 import reposense.git.GitClone;
 import reposense.git.exception.GitCloneException;
@@ -91,7 +93,11 @@ public class GitTestTemplate {
      * Generates the information for test file.
      */
     public FileInfo generateTestFileInfo(String relativePath) {
-        FileInfo fileInfo = FileInfoExtractor.generateFileInfo(config.getRepoRoot(), relativePath);
+        FileInfo fileInfo;
+        try (GitCatFile gitCatFile = new GitCatFile(Paths.get(config.getRepoRoot()))) {
+            fileInfo = FileInfoExtractor.generateFileInfo(
+                    gitCatFile, GitCheckout.CHECKED_OUT_COMMIT_REFERENCE, relativePath);
+        }
 
         config.getAuthorEmailsAndAliasesMap().put(MAIN_AUTHOR_NAME, new Author(MAIN_AUTHOR_NAME));
         config.getAuthorEmailsAndAliasesMap().put(FAKE_AUTHOR_NAME, new Author(FAKE_AUTHOR_NAME));
@@ -1,5 +1,6 @@
 package reposense.util;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -8,6 +9,9 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -33,6 +37,7 @@ public class FileUtilTest {
             Paths.get(REPO_REPORT_DIRECTORY_PATH.toString(),
             SummaryJson.SUMMARY_JSON_FILE_NAME).toAbsolutePath()
     );
+    private static final Path GZIP_FILE_PATH = Paths.get(FILE_UTIL_TEST_DIRECTORY.toString(), "test.gz");
     private static final Path EXPECTED_RELEVANT_FOLDER_PATH = Paths.get(FILE_UTIL_TEST_DIRECTORY.toString(),
             "expectedRelevantUnzippedFiles");
 
@@ -77,11 +82,54 @@ public class FileUtilTest {
         Assert.assertFalse(Files.exists(Paths.get(FILE_UTIL_TEST_DIRECTORY.toString(), "test")));
     }
 
+    @Test
+    public void writeGzipFileAtomically_existingFile_replaced() throws IOException {
+        FileUtil.writeGzipFileAtomically(GZIP_FILE_PATH, out -> out.writeUTF("first"));
+        FileUtil.writeGzipFileAtomically(GZIP_FILE_PATH, out -> out.writeUTF("second"));
+
+        Assert.assertEquals("second", readGzipFile(GZIP_FILE_PATH));
+        Assert.assertEquals(Collections.singletonList(GZIP_FILE_PATH), listGzipFileDirectory());
+    }
+
+    @Test
+    public void writeGzipFileAtomically_writeFails_existingFileKeptAndTemporaryFileDeleted() throws IOException {
+        FileUtil.writeGzipFileAtomically(GZIP_FILE_PATH, out -> out.writeUTF("first"));
+        try {
+            FileUtil.writeGzipFileAtomically(GZIP_FILE_PATH, out -> {
+                out.writeUTF("second");
+                throw new IOException("Write failed.");
+            });
+            Assert.fail();
+        } catch (IOException ioe) {
+            Assert.assertEquals("Write failed.", ioe.getMessage());
+        }
+
+        Assert.assertEquals("first", readGzipFile(GZIP_FILE_PATH));
+        Assert.assertEquals(Collections.singletonList(GZIP_FILE_PATH), listGzipFileDirectory());
+    }
+
     @After
     public void after() throws IOException, NullPointerException {
         Files.deleteIfExists(ARCHIVE_ZIP_PATH);
+        Files.deleteIfExists(GZIP_FILE_PATH);
         if (Files.exists(UNZIPPED_DIRECTORY_PATH)) {
             FileUtil.deleteDirectory(UNZIPPED_DIRECTORY_PATH.toString());
         }
     }
+
+    private static String readGzipFile(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(path)))) {
+            return in.readUTF();
+        }
+    }
+
+    /**
+     * Returns the files written next to {@code GZIP_FILE_PATH}, including any temporary file left behind.
+     */
+    private static List<Path> listGzipFileDirectory() throws IOException {
+        try (Stream<Path> paths = Files.list(GZIP_FILE_PATH.getParent())) {
+            return paths.filter(path -> path.getFileName().toString().matches(".*\\.(gz|tmp)"))
+                    .collect(Collectors.toList());
+        }
+    }
 }
@@ -141,6 +141,78 @@ public class InputBuilder {
         return this;
     }
 
+    /**
+     * Adds the threads flag with the {@code numThreads} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addThreads(String numThreads) {
+        input.append(ArgsParser.THREADS_FLAGS[0] + WHITESPACE + numThreads + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the clone threads flag with the {@code numThreads} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addCloneThreads(String numThreads) {
+        input.append(ArgsParser.CLONE_THREADS_FLAGS[0] + WHITESPACE + numThreads + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the analysis threads flag with the {@code numThreads} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addAnalysisThreads(String numThreads) {
+        input.append(ArgsParser.ANALYSIS_THREADS_FLAGS[0] + WHITESPACE + numThreads + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the flag to write compact JSON files.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addCompactJson() {
+        input.append(ArgsParser.COMPACT_JSON_FLAGS[0] + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the clone cache flag with the {@code cloneCachePath} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addCloneCache(Path cloneCachePath) {
+        input.append(ArgsParser.CLONE_CACHE_FLAGS[0] + WHITESPACE + cloneCachePath + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the clone cache limit flag with the {@code megabytes} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addCloneCacheLimit(String megabytes) {
+        input.append(ArgsParser.CLONE_CACHE_LIMIT_FLAGS[0] + WHITESPACE + megabytes + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the blame cache flag with the {@code blameCachePath} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addBlameCache(Path blameCachePath) {
+        input.append(ArgsParser.BLAME_CACHE_FLAGS[0] + WHITESPACE + blameCachePath + WHITESPACE);
+        return this;
+    }
+
+    /**
+     * Adds the blame cache limit flag with the {@code megabytes} as argument to the input.
+     * This method should only be called once in one build.
+     */
+    public InputBuilder addBlameCacheLimit(String megabytes) {
+        input.append(ArgsParser.BLAME_CACHE_LIMIT_FLAGS[0] + WHITESPACE + megabytes + WHITESPACE);
+        return this;
+    }
+
     /**
      * Adds {@code content} to the input.
      */